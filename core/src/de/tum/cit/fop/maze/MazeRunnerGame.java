@@ -7,6 +7,10 @@
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.scenes.scene2d.ui.Skin;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import de.tum.cit.fop.maze.ai.PathRequestScheduler;
+import de.tum.cit.fop.maze.ai.PathService;
+import de.tum.cit.fop.maze.map.LevelLoader;
 import de.tum.cit.fop.maze.screen.*;
 import de.tum.cit.fop.maze.system.*;
 import de.tum.cit.fop.maze.screen.AchievementPopupScreen;
@@ -18,6 +22,8 @@
  */
 
 public class MazeRunnerGame extends Game {
+    /** Milliseconds per frame spent uploading a prefetched level's textures. */
+    private static final long PREFETCH_UPLOAD_BUDGET_MILLIS = 2;
     /** Manages configuration and key bindings. */
     private final ConfigManager configManager;
     /** Tracks input bindings and key state. */
@@ -30,6 +36,8 @@ public class MazeRunnerGame extends Game {
     private AchievementPopupScreen achievementPopupScreen;
     /** Main menu screen. */
     private MenuScreen menuScreen;
+    /** Loading screen of the level being loaded, {@code null} when no load is showing. */
+    private LoadingScreen loadingScreen;
     /** Main game screen. */
     private GameScreen gameScreen;
     /** Endless/survival mode screen. */
@@ -64,6 +72,10 @@ public class MazeRunnerGame extends Game {
     private Screen continueReturnScreen;
     /** Whether the developer console is enabled globally. */
     private boolean devConsoleEnabled = false;
+    /** Worker thread running the CPU stage of level loads. */
+    private final AsyncExecutor levelLoadExecutor = new AsyncExecutor(1, "level-loader");
+    /** Loads the next campaign level while its cutscene is showing. */
+    private final LevelPrefetchService levelPrefetchService = new LevelPrefetchService(levelLoadExecutor);
 
 
     /**
@@ -105,6 +117,10 @@ public void create() {
         audioManager.playMusic("True_love.mp3", 1f, true);
         graphicsManager.load();
         graphicsManager.applySettings();
+        int pathThreads = PathService.defaultThreadCount();
+        if (pathThreads > 0) {
+            PathRequestScheduler.getShared().setService(new PathService(pathThreads));
+        }
         goToMenu(); // Navigate to the menu screen
     }
 
@@ -113,6 +129,7 @@ public void create() {
      * Switches to the menu screen.
      */
     public void goToMenu() {
+        levelPrefetchService.cancel();
         if (gameScreen != null) {
             SaveManager.saveGame(gameScreen.getGameState());
             SaveManager.saveInfo(false, 0);
@@ -148,19 +165,21 @@ public void goToGame() {
         audioManager.stopMusic();
         playDefaultPlaylist();
 
-        if (menuScreen != null) {
-            menuScreen.dispose();
-            menuScreen = null;
-        }
         if (survivalScreen != null) {
             survivalScreen.dispose();
             survivalScreen = null;
         }
+        this.selectedScreen = false;
         if (gameScreen == null) {
-            gameScreen = new GameScreen(this, Math.max(currentLevelNumber, 1));
+            int levelNumber = Math.max(currentLevelNumber, 1);
+            loadLevel(LevelLoader.propertiesPathFor(levelNumber), LevelLoader.DEFAULT_MAP_PATH, level -> {
+                gameScreen = new GameScreen(this, levelNumber, level);
+                this.setScreen(gameScreen);
+            });
+            return;
         }
+        disposeMenuScreen();
         audioManager.stopAllSounds();
-        this.selectedScreen = false;
         this.setScreen(gameScreen);
     }
 
@@ -171,19 +190,20 @@ public void goToEndless() {
         audioManager.stopAllSounds();
         audioManager.stopMusic();
         playDefaultPlaylist();
-        if (menuScreen != null) {
-            menuScreen.dispose();
-            menuScreen = null;
-        }
         if (gameScreen != null) {
             gameScreen.dispose();
             gameScreen = null;
         }
+        this.selectedScreen = true;
         if (survivalScreen == null) {
             currentLevelNumber = 0;
-            survivalScreen = new SurvivalScreen(this);
+            loadLevel(LevelLoader.propertiesPathFor(0), LevelLoader.DEFAULT_MAP_PATH, level -> {
+                survivalScreen = new SurvivalScreen(this, level);
+                this.setScreen(survivalScreen);
+            });
+            return;
         }
-        this.selectedScreen = true;
+        disposeMenuScreen();
         this.setScreen(survivalScreen);
     }
 
@@ -201,10 +221,6 @@ public void goToEndless(GameState gameState) {
             return;
         }
         loadProgressionFromGameState(gameState);
-        if (menuScreen != null) {
-            menuScreen.dispose();
-            menuScreen = null;
-        }
         if (gameScreen != null) {
             gameScreen.dispose();
             gameScreen = null;
@@ -216,8 +232,10 @@ public void goToEndless(GameState gameState) {
 
         this.selectedScreen = true;
         currentLevelNumber = gameState.getLevel();
-        survivalScreen = new SurvivalScreen(this, gameState);
-        this.setScreen(survivalScreen);
+        loadLevel(LevelLoader.propertiesPathFor(currentLevelNumber), LevelLoader.mapPathFor(gameState), level -> {
+            survivalScreen = new SurvivalScreen(this, gameState, level);
+            this.setScreen(survivalScreen);
+        });
     }
 
     /**
@@ -231,10 +249,6 @@ public void goToGame(int levelNumber) {
         audioManager.stopAllSounds();
         audioManager.stopMusic();
         playDefaultPlaylist();
-        if (menuScreen != null) {
-            menuScreen.dispose();
-            menuScreen = null;
-        }
         if (gameScreen != null) {
             gameScreen.dispose();
             gameScreen = null;
@@ -245,8 +259,10 @@ public void goToGame(int levelNumber) {
         }
         this.selectedScreen = false;
         currentLevelNumber = levelNumber;
-        gameScreen = new GameScreen(this, currentLevelNumber);
-        this.setScreen(gameScreen);
+        loadLevel(LevelLoader.propertiesPathFor(levelNumber), LevelLoader.DEFAULT_MAP_PATH, level -> {
+            gameScreen = new GameScreen(this, levelNumber, level);
+            this.setScreen(gameScreen);
+        });
     }
 
     /**
@@ -263,10 +279,6 @@ public void goToGame(GameState gameState) {
             return;
         }
         loadProgressionFromGameState(gameState);
-        if (menuScreen != null) {
-            menuScreen.dispose();
-            menuScreen = null;
-        }
         if (gameScreen != null) {
             gameScreen.dispose();
             gameScreen = null;
@@ -277,8 +289,62 @@ public void goToGame(GameState gameState) {
         }
         this.selectedScreen = false;
         currentLevelNumber = gameState.getLevel();
-        gameScreen = new GameScreen(this, gameState);
-        this.setScreen(gameScreen);
+        loadLevel(LevelLoader.propertiesPathFor(currentLevelNumber), LevelLoader.mapPathFor(gameState), level -> {
+            gameScreen = new GameScreen(this, gameState, level);
+            this.setScreen(gameScreen);
+        });
+    }
+
+    /**
+     * Shows the loading screen while a level loads in the background.
+     * A level prefetched during a cutscene is adopted directly once its CPU stage is done,
+     * otherwise the loading screen picks up where the prefetch is.
+     * The menu screen keeps rendering the background until the level is ready.
+     *
+     * @param propertiesPath path of the level properties file
+     * @param mapPath path of the TMX template
+     * @param loadedListener callback creating and showing the screen for the loaded level
+     */
+    private void loadLevel(String propertiesPath, String mapPath, LoadingScreen.LoadedListener loadedListener) {
+        disposeLoadingScreen();
+        LevelLoader loader = levelPrefetchService.take(propertiesPath, mapPath);
+        if (loader == null) {
+            loader = new LevelLoader(propertiesPath, mapPath);
+            loader.start(levelLoadExecutor);
+        } else if (loader.isPrepared()) {
+            // Only texture uploads can be left, finishing them now is cheaper than a loading screen.
+            loader.update(Long.MAX_VALUE);
+            disposeMenuScreen();
+            loadedListener.onLoaded(loader.getLevel());
+            return;
+        }
+        loadingScreen = new LoadingScreen(this, loader, level -> {
+            // The loading screen disposes itself once the listener has switched screens.
+            loadingScreen = null;
+            disposeMenuScreen();
+            loadedListener.onLoaded(level);
+        });
+        this.setScreen(loadingScreen);
+    }
+
+    /**
+     * Disposes the loading screen of an unfinished load if it exists, cancelling the load.
+     */
+    private void disposeLoadingScreen() {
+        if (loadingScreen != null) {
+            loadingScreen.dispose();
+            loadingScreen = null;
+        }
+    }
+
+    /**
+     * Disposes the menu screen if it exists.
+     */
+    private void disposeMenuScreen() {
+        if (menuScreen != null) {
+            menuScreen.dispose();
+            menuScreen = null;
+        }
     }
 
 
@@ -307,6 +373,9 @@ public void goToCutsceneScreen() {
     public void goToSecondCutsceneScreen(int targetLevel) {
         audioManager.stopAllSounds();
         audioManager.stopPlaylist();
+        // The ending cutscene leads to endless mode, which plays on level 0.
+        int nextLevel = targetLevel == 6 ? 0 : targetLevel;
+        levelPrefetchService.prefetch(LevelLoader.propertiesPathFor(nextLevel), LevelLoader.DEFAULT_MAP_PATH);
         this.setScreen(new SecondCutsceneScreen(this, targetLevel));
     }
 
@@ -583,6 +652,13 @@ public void dispose() {
         spriteBatch.dispose(); // Dispose the spriteBatch
         skin.dispose(); // Dispose of the skin
         audioManager.dispose();
+        levelPrefetchService.dispose();
+        levelLoadExecutor.dispose();
+        PathService pathService = PathRequestScheduler.getShared().getService();
+        PathRequestScheduler.getShared().setService(null);
+        if (pathService != null) {
+            pathService.dispose();
+        }
         if (achievementPopupScreen != null) {
             achievementPopupScreen.dispose();
         }
@@ -603,6 +679,7 @@ public void render() {
             }
             menuScreen.renderBackground(Gdx.graphics.getDeltaTime());
         }
+        levelPrefetchService.update(PREFETCH_UPLOAD_BUDGET_MILLIS);
         super.render();
 
         // So its not tied to a screen
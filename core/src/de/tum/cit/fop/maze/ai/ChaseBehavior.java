@@ -1,6 +1,6 @@
 package de.tum.cit.fop.maze.ai;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 
 /**
  * AI behavior for chasing the player and deciding when to retreat.
@@ -14,12 +14,10 @@ public class ChaseBehavior extends AIBehaviour {
     /**
      * Creates a chase behavior.
      *
-     * @param width map width in tiles
-     * @param height map height in tiles
-     * @param collisionLayer collision layer
+     * @param walkabilityGrid walkability grid
      */
-    public ChaseBehavior(int width, int height, TiledMapTileLayer collisionLayer) {
-        super(width, height, collisionLayer);
+    public ChaseBehavior(WalkabilityGrid walkabilityGrid) {
+        super(walkabilityGrid);
     }
 
     /**
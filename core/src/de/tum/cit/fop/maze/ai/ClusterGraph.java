@@ -0,0 +1,504 @@
+package de.tum.cit.fop.maze.ai;
+
+import com.badlogic.gdx.utils.IntArray;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.Arrays;
+
+/**
+ * Abstract graph for hierarchical pathfinding (HPA*).
+ * <p>
+ * The grid is cut into square clusters. Wherever walkable tiles on both sides of a cluster border touch,
+ * the border run gets one or two entrances: a node on each side, joined by an edge in each direction
+ * costing the step onto the other side. Inside each cluster, every pair of its nodes that can reach each
+ * other without leaving the cluster is joined by an edge carrying the travel cost between them. Costs are
+ * those the police use, with traps at {@link TileCost#TRAP_STEP_COST}. Edges are stored in flat adjacency
+ * arrays. Traps placed later only change costs, never which tiles connect, so {@link #refreshCosts()}
+ * recomputes the costs once the grid's version moves on.
+ */
+public final class ClusterGraph {
+    /** Cluster side length in tiles. */
+    public static final int CLUSTER_SIZE = 16;
+    /** Border runs at least this long get an entrance at each end instead of one in the middle. */
+    private static final int LONG_ENTRANCE = 6;
+    /** X offsets for cardinal movement. */
+    private static final int[] DIR_X = {1, -1, 0, 0};
+    /** Y offsets for cardinal movement. */
+    private static final int[] DIR_Y = {0, 0, 1, -1};
+    /** Graph of each grid, stored on the grid. */
+    private static final GridCache<ClusterGraph> CACHE = new GridCache<>(ClusterGraph::new);
+
+    /** Grid the graph abstracts. */
+    private final WalkabilityGrid walkabilityGrid;
+    /** Number of clusters per row. */
+    private final int clustersX;
+    /** Node id per cell, -1 for cells that are not nodes. */
+    private final int[] nodeOfCell;
+    /** Cell index per node. */
+    private final int[] nodeCells;
+    /** First node slot per cluster in {@link #clusterNodes}, with one extra entry at the end. */
+    private final int[] clusterNodeStart;
+    /** Node ids grouped by cluster. */
+    private final int[] clusterNodes;
+    /** First edge slot per node in {@link #edgeTargets}, with one extra entry at the end. */
+    private final int[] edgeStart;
+    /** Target node per edge. */
+    private final int[] edgeTargets;
+    /** Travel cost per edge, replaced as a whole when traps change. */
+    private volatile int[] edgeCosts;
+    /** Grid layer version the edge costs belong to. */
+    private volatile int costVersion;
+
+    /**
+     * Builds the graph for a grid.
+     *
+     * @param walkabilityGrid walkability grid
+     */
+    private ClusterGraph(WalkabilityGrid walkabilityGrid) {
+        this.walkabilityGrid = walkabilityGrid;
+        // Read first, so a trap placed during the build triggers a refresh
+        costVersion = walkabilityGrid.getVersion();
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        clustersX = (width + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        int clustersY = (height + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        nodeOfCell = new int[width * height];
+        Arrays.fill(nodeOfCell, -1);
+
+        IntArray cells = new IntArray();
+        IntArray edgeFrom = new IntArray();
+        IntArray edgeTo = new IntArray();
+        IntArray edgeCost = new IntArray();
+        findEntrances(cells, edgeFrom, edgeTo, edgeCost);
+        nodeCells = cells.toArray();
+
+        int clusterCount = clustersX * clustersY;
+        clusterNodeStart = new int[clusterCount + 1];
+        for (int cell : nodeCells) {
+            clusterNodeStart[clusterOfCell(cell) + 1]++;
+        }
+        for (int i = 0; i < clusterCount; i++) {
+            clusterNodeStart[i + 1] += clusterNodeStart[i];
+        }
+        clusterNodes = new int[nodeCells.length];
+        int[] fill = Arrays.copyOf(clusterNodeStart, clusterCount);
+        for (int node = 0; node < nodeCells.length; node++) {
+            clusterNodes[fill[clusterOfCell(nodeCells[node])]++] = node;
+        }
+
+        connectClusters(edgeFrom, edgeTo, edgeCost);
+
+        edgeStart = new int[nodeCells.length + 1];
+        for (int i = 0; i < edgeFrom.size; i++) {
+            edgeStart[edgeFrom.get(i) + 1]++;
+        }
+        for (int i = 0; i < nodeCells.length; i++) {
+            edgeStart[i + 1] += edgeStart[i];
+        }
+        edgeTargets = new int[edgeFrom.size];
+        int[] costs = new int[edgeFrom.size];
+        fill = Arrays.copyOf(edgeStart, nodeCells.length);
+        for (int i = 0; i < edgeFrom.size; i++) {
+            int slot = fill[edgeFrom.get(i)]++;
+            edgeTargets[slot] = edgeTo.get(i);
+            costs[slot] = edgeCost.get(i);
+        }
+        edgeCosts = costs;
+    }
+
+    /**
+     * Recomputes the edge costs if traps were placed since they were computed. Searches running meanwhile
+     * keep using the old or the new costs, never a mix within one edge.
+     */
+    public void refreshCosts() {
+        if (costVersion == walkabilityGrid.getVersion()) {
+            return;
+        }
+        synchronized (this) {
+            int version = walkabilityGrid.getVersion();
+            if (version == costVersion) {
+                return;
+            }
+            int[] costs = new int[edgeTargets.length];
+            int[] distances = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+            IntBucketQueue queue = new IntBucketQueue(TileCost.TRAP_STEP_COST);
+            for (int from = 0; from < nodeCells.length; from++) {
+                int fromCluster = clusterOfCell(nodeCells[from]);
+                boolean scanned = false;
+                for (int edge = edgeStart[from]; edge < edgeStart[from + 1]; edge++) {
+                    int toCell = nodeCells[edgeTargets[edge]];
+                    if (clusterOfCell(toCell) != fromCluster) {
+                        costs[edge] = stepCost(toCell);
+                        continue;
+                    }
+                    if (!scanned) {
+                        distancesInCluster(nodeCells[from], distances, queue);
+                        scanned = true;
+                    }
+                    costs[edge] = distances[localIndex(toCell)];
+                }
+            }
+            edgeCosts = costs;
+            costVersion = version;
+        }
+    }
+
+    /**
+     * Returns the graph for a grid, building it on first use.
+     *
+     * @param walkabilityGrid walkability grid
+     * @return cluster graph
+     */
+    public static ClusterGraph forGrid(WalkabilityGrid walkabilityGrid) {
+        return CACHE.get(walkabilityGrid);
+    }
+
+    /**
+     * Returns the grid this graph abstracts.
+     *
+     * @return walkability grid
+     */
+    public WalkabilityGrid getWalkabilityGrid() {
+        return walkabilityGrid;
+    }
+
+    /**
+     * Returns the number of nodes.
+     *
+     * @return node count
+     */
+    public int getNodeCount() {
+        return nodeCells.length;
+    }
+
+    /**
+     * Returns the cell of a node.
+     *
+     * @param node node id
+     * @return cell index
+     */
+    public int getNodeCell(int node) {
+        return nodeCells[node];
+    }
+
+    /**
+     * Returns the node placed on a cell.
+     *
+     * @param cell cell index
+     * @return node id, or -1 if the cell is not a node
+     */
+    public int getNodeAt(int cell) {
+        return nodeOfCell[cell];
+    }
+
+    /**
+     * Returns the cluster containing a cell.
+     *
+     * @param cell cell index
+     * @return cluster index
+     */
+    public int clusterOfCell(int cell) {
+        int width = walkabilityGrid.getWidth();
+        return (cell / width / CLUSTER_SIZE) * clustersX + (cell % width) / CLUSTER_SIZE;
+    }
+
+    /**
+     * Returns the first slot of a cluster's nodes, see {@link #getClusterNode(int)}.
+     *
+     * @param cluster cluster index
+     * @return first slot
+     */
+    public int getClusterNodeStart(int cluster) {
+        return clusterNodeStart[cluster];
+    }
+
+    /**
+     * Returns the slot after the last one of a cluster's nodes.
+     *
+     * @param cluster cluster index
+     * @return end slot, exclusive
+     */
+    public int getClusterNodeEnd(int cluster) {
+        return clusterNodeStart[cluster + 1];
+    }
+
+    /**
+     * Returns the node stored in a cluster slot.
+     *
+     * @param slot slot between {@link #getClusterNodeStart(int)} and {@link #getClusterNodeEnd(int)}
+     * @return node id
+     */
+    public int getClusterNode(int slot) {
+        return clusterNodes[slot];
+    }
+
+    /**
+     * Returns the first edge slot of a node.
+     *
+     * @param node node id
+     * @return first edge slot
+     */
+    public int getEdgeStart(int node) {
+        return edgeStart[node];
+    }
+
+    /**
+     * Returns the slot after the last edge of a node.
+     *
+     * @param node node id
+     * @return end slot, exclusive
+     */
+    public int getEdgeEnd(int node) {
+        return edgeStart[node + 1];
+    }
+
+    /**
+     * Returns the target node of an edge.
+     *
+     * @param edge edge slot
+     * @return target node id
+     */
+    public int getEdgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    /**
+     * Returns the travel cost of an edge.
+     *
+     * @param edge edge slot
+     * @return sum of the step costs along the edge
+     */
+    public int getEdgeCost(int edge) {
+        return edgeCosts[edge];
+    }
+
+    /**
+     * Computes travel costs from a cell to every cell of its cluster without leaving the cluster.
+     *
+     * @param cell start cell, must be walkable
+     * @param distances receives costs indexed by {@link #localIndex(int)}, -1 where unreachable;
+     *                  at least {@code CLUSTER_SIZE * CLUSTER_SIZE} long
+     * @param queue scratch queue allowing steps of {@link TileCost#TRAP_STEP_COST}
+     */
+    public void distancesInCluster(int cell, int[] distances, IntBucketQueue queue) {
+        scanCluster(cell, distances, queue, false);
+    }
+
+    /**
+     * Computes travel costs from every cell of a cell's cluster to that cell without leaving the cluster.
+     *
+     * @param cell target cell, must be walkable
+     * @param distances receives costs indexed by {@link #localIndex(int)}, -1 where unreachable;
+     *                  at least {@code CLUSTER_SIZE * CLUSTER_SIZE} long
+     * @param queue scratch queue allowing steps of {@link TileCost#TRAP_STEP_COST}
+     */
+    public void distancesToCellInCluster(int cell, int[] distances, IntBucketQueue queue) {
+        scanCluster(cell, distances, queue, true);
+    }
+
+    /**
+     * Runs Dijkstra from a cell over the walkable cells of its cluster.
+     *
+     * @param cell start cell
+     * @param distances receives costs indexed by {@link #localIndex(int)}, -1 where unreachable
+     * @param queue scratch queue
+     * @param inbound {@code true} for costs of walking to the cell, {@code false} for walking away from it
+     */
+    private void scanCluster(int cell, int[] distances, IntBucketQueue queue, boolean inbound) {
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        int minX = (cell % width) / CLUSTER_SIZE * CLUSTER_SIZE;
+        int minY = (cell / width) / CLUSTER_SIZE * CLUSTER_SIZE;
+        int maxX = Math.min(minX + CLUSTER_SIZE, width);
+        int maxY = Math.min(minY + CLUSTER_SIZE, height);
+        Arrays.fill(distances, 0, CLUSTER_SIZE * CLUSTER_SIZE, -1);
+
+        queue.clear();
+        distances[localIndex(cell)] = 0;
+        queue.push(cell, 0);
+        while (!queue.isEmpty()) {
+            int current = queue.pop();
+            int currentDistance = distances[localIndex(current)];
+            if (currentDistance != queue.getCurrentKey()) {
+                continue;
+            }
+            int x = current % width;
+            int y = current / width;
+            for (int i = 0; i < 4; i++) {
+                int nx = x + DIR_X[i];
+                int ny = y + DIR_Y[i];
+                if (nx < minX || ny < minY || nx >= maxX || ny >= maxY || !walkabilityGrid.isWalkable(nx, ny)) {
+                    continue;
+                }
+                int neighbour = ny * width + nx;
+                // Walking to the cell, the neighbour steps onto the current tile; walking away, the reverse
+                int next = currentDistance + stepCost(inbound ? current : neighbour);
+                int local = localIndex(neighbour);
+                if (distances[local] < 0 || next < distances[local]) {
+                    distances[local] = next;
+                    queue.push(neighbour, next);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the cost of stepping onto a cell.
+     *
+     * @param cell cell index
+     * @return {@link TileCost#TRAP_STEP_COST} for a trap, otherwise 1
+     */
+    private int stepCost(int cell) {
+        return walkabilityGrid.isTrapIndex(cell) ? TileCost.TRAP_STEP_COST : 1;
+    }
+
+    /**
+     * Returns the index of a cell within its cluster, as used by {@link #distancesInCluster}.
+     *
+     * @param cell cell index
+     * @return local index between 0 and {@code CLUSTER_SIZE * CLUSTER_SIZE}
+     */
+    public int localIndex(int cell) {
+        int width = walkabilityGrid.getWidth();
+        return (cell / width % CLUSTER_SIZE) * CLUSTER_SIZE + (cell % width) % CLUSTER_SIZE;
+    }
+
+    /**
+     * Places entrance nodes on all cluster borders and records the edges crossing them.
+     *
+     * @param cells receives node cells
+     * @param edgeFrom receives edge sources
+     * @param edgeTo receives edge targets
+     * @param edgeCost receives edge costs
+     */
+    private void findEntrances(IntArray cells, IntArray edgeFrom, IntArray edgeTo, IntArray edgeCost) {
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        // Vertical borders between a column x and x + 1.
+        for (int x = CLUSTER_SIZE - 1; x + 1 < width; x += CLUSTER_SIZE) {
+            for (int minY = 0; minY < height; minY += CLUSTER_SIZE) {
+                int maxY = Math.min(minY + CLUSTER_SIZE, height);
+                int runStart = -1;
+                for (int y = minY; y <= maxY; y++) {
+                    boolean open = y < maxY && walkabilityGrid.isWalkable(x, y) && walkabilityGrid.isWalkable(x + 1, y);
+                    if (open && runStart < 0) {
+                        runStart = y;
+                    } else if (!open && runStart >= 0) {
+                        for (int entranceY : entrancePositions(runStart, y - runStart)) {
+                            link(cellAt(x, entranceY, width), cellAt(x + 1, entranceY, width), cells, edgeFrom, edgeTo, edgeCost);
+                        }
+                        runStart = -1;
+                    }
+                }
+            }
+        }
+        // Horizontal borders between a row y and y + 1.
+        for (int y = CLUSTER_SIZE - 1; y + 1 < height; y += CLUSTER_SIZE) {
+            for (int minX = 0; minX < width; minX += CLUSTER_SIZE) {
+                int maxX = Math.min(minX + CLUSTER_SIZE, width);
+                int runStart = -1;
+                for (int x = minX; x <= maxX; x++) {
+                    boolean open = x < maxX && walkabilityGrid.isWalkable(x, y) && walkabilityGrid.isWalkable(x, y + 1);
+                    if (open && runStart < 0) {
+                        runStart = x;
+                    } else if (!open && runStart >= 0) {
+                        for (int entranceX : entrancePositions(runStart, x - runStart)) {
+                            link(cellAt(entranceX, y, width), cellAt(entranceX, y + 1, width), cells, edgeFrom, edgeTo, edgeCost);
+                        }
+                        runStart = -1;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns where entrances go along an open border run.
+     *
+     * @param start first coordinate of the run
+     * @param length run length
+     * @return entrance coordinates
+     */
+    private static int[] entrancePositions(int start, int length) {
+        if (length < LONG_ENTRANCE) {
+            return new int[]{start + length / 2};
+        }
+        return new int[]{start, start + length - 1};
+    }
+
+    /**
+     * Returns the cell index of a tile.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @param width grid width
+     * @return cell index
+     */
+    private static int cellAt(int x, int y, int width) {
+        return y * width + x;
+    }
+
+    /**
+     * Adds an entrance: a node on both sides of a border and an edge in each direction.
+     *
+     * @param cellA cell on one side
+     * @param cellB adjacent cell on the other side
+     * @param cells receives node cells
+     * @param edgeFrom receives edge sources
+     * @param edgeTo receives edge targets
+     * @param edgeCost receives edge costs
+     */
+    private void link(int cellA, int cellB, IntArray cells, IntArray edgeFrom, IntArray edgeTo, IntArray edgeCost) {
+        int a = nodeFor(cellA, cells);
+        int b = nodeFor(cellB, cells);
+        edgeFrom.add(a);
+        edgeTo.add(b);
+        edgeCost.add(stepCost(cellB));
+        edgeFrom.add(b);
+        edgeTo.add(a);
+        edgeCost.add(stepCost(cellA));
+    }
+
+    /**
+     * Returns the node on a cell, creating it if needed.
+     *
+     * @param cell cell index
+     * @param cells node cells, extended for new nodes
+     * @return node id
+     */
+    private int nodeFor(int cell, IntArray cells) {
+        if (nodeOfCell[cell] < 0) {
+            nodeOfCell[cell] = cells.size;
+            cells.add(cell);
+        }
+        return nodeOfCell[cell];
+    }
+
+    /**
+     * Adds edges between all nodes of each cluster that can reach each other inside it.
+     *
+     * @param edgeFrom receives edge sources
+     * @param edgeTo receives edge targets
+     * @param edgeCost receives edge costs
+     */
+    private void connectClusters(IntArray edgeFrom, IntArray edgeTo, IntArray edgeCost) {
+        int[] distances = new int[CLUSTER_SIZE * CLUSTER_SIZE];
+        IntBucketQueue queue = new IntBucketQueue(TileCost.TRAP_STEP_COST);
+        for (int cluster = 0; cluster + 1 < clusterNodeStart.length; cluster++) {
+            int start = clusterNodeStart[cluster];
+            int end = clusterNodeStart[cluster + 1];
+            for (int i = start; i < end; i++) {
+                int from = clusterNodes[i];
+                distancesInCluster(nodeCells[from], distances, queue);
+                for (int j = start; j < end; j++) {
+                    int to = clusterNodes[j];
+                    int d = distances[localIndex(nodeCells[to])];
+                    if (to != from && d > 0) {
+                        edgeFrom.add(from);
+                        edgeTo.add(to);
+                        edgeCost.add(d);
+                    }
+                }
+            }
+        }
+    }
+}
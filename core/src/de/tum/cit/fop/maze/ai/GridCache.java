@@ -0,0 +1,37 @@
+package de.tum.cit.fop.maze.ai;
+
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.function.Function;
+
+/**
+ * One kind of per-level navigation data, stored on the walkability grid it was built for.
+ * <p>
+ * The data lives exactly as long as its grid, so a finished level frees it and nothing outlives a level
+ * change. Each loaded level builds its own grid, and trap costs are read from that grid, so the data is
+ * never shared between grids. Safe to use from the loader worker and the render thread.
+ *
+ * @param <T> cached data type
+ */
+final class GridCache<T> {
+    /** Builds the data for a grid. */
+    private final Function<WalkabilityGrid, T> builder;
+
+    /**
+     * Creates a cache.
+     *
+     * @param builder builds the data for a grid
+     */
+    GridCache(Function<WalkabilityGrid, T> builder) {
+        this.builder = builder;
+    }
+
+    /**
+     * Returns the data for a grid, building it on first use.
+     *
+     * @param walkabilityGrid walkability grid
+     * @return cached or newly built data
+     */
+    T get(WalkabilityGrid walkabilityGrid) {
+        return walkabilityGrid.getDerived(this, builder);
+    }
+}
@@ -0,0 +1,161 @@
+package de.tum.cit.fop.maze.ai;
+
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+
+/**
+ * Long-range pathfinding on a {@link ClusterGraph} (HPA*).
+ * <p>
+ * A query first plans a route of waypoints over the small abstract graph. Only the leg to the next
+ * waypoint is turned into tiles, via {@link #nextSegment(int, int, PathBuffer)}, once the previous leg has
+ * been walked. Short queries skip the abstraction and use plain A*.
+ */
+public class HierarchicalPathfinder extends WaypointPathfinder {
+    /** Queries spanning fewer steps than this are answered by plain A*. */
+    private static final int DIRECT_RANGE = 2 * ClusterGraph.CLUSTER_SIZE;
+    /** Cells per cluster. */
+    private static final int CLUSTER_CELLS = ClusterGraph.CLUSTER_SIZE * ClusterGraph.CLUSTER_SIZE;
+
+    /** Abstract graph of the grid. */
+    private final ClusterGraph graph;
+    /** Travel costs from the start inside its cluster. */
+    private final int[] startDistances = new int[CLUSTER_CELLS];
+    /** Travel costs to the goal inside its cluster. */
+    private final int[] goalDistances = new int[CLUSTER_CELLS];
+    /** Scratch queue for in-cluster scans. */
+    private final IntBucketQueue queue = new IntBucketQueue(TileCost.TRAP_STEP_COST);
+
+    /**
+     * Creates a hierarchical pathfinder.
+     *
+     * @param walkabilityGrid walkability grid
+     * @param pathfinder tile-level pathfinder on the same grid, weighting traps like the {@link ClusterGraph}
+     */
+    public HierarchicalPathfinder(WalkabilityGrid walkabilityGrid, Pathfinder pathfinder) {
+        super(pathfinder);
+        this.graph = ClusterGraph.forGrid(walkabilityGrid);
+    }
+
+    /**
+     * Plans a route over the cluster graph and writes its first leg.
+     *
+     * @param startX start tile x
+     * @param startY start tile y
+     * @param goalX goal tile x
+     * @param goalY goal tile y
+     * @param out buffer receiving the first leg, left empty if there is no path
+     * @return {@code true} if a non-empty leg was written
+     */
+    @Override
+    public boolean findPath(int startX, int startY, int goalX, int goalY, PathBuffer out) {
+        WalkabilityGrid grid = graph.getWalkabilityGrid();
+        int width = grid.getWidth();
+        clear();
+        graph.refreshCosts();
+        if (Math.abs(goalX - startX) + Math.abs(goalY - startY) < DIRECT_RANGE
+                || !grid.isWalkable(startX, startY) || !grid.isWalkable(goalX, goalY)) {
+            return pathfinder.findPath(startX, startY, goalX, goalY, out);
+        }
+        int start = startY * width + startX;
+        int goal = goalY * width + goalX;
+        graph.distancesInCluster(start, startDistances, queue);
+        graph.distancesToCellInCluster(goal, goalDistances, queue);
+        if (graph.clusterOfCell(start) == graph.clusterOfCell(goal) && startDistances[graph.localIndex(goal)] >= 0) {
+            return pathfinder.findPath(startX, startY, goalX, goalY, out);
+        }
+        if (!planRoute(start, goal)) {
+            out.begin(width);
+            return false;
+        }
+        return nextSegment(startX, startY, out);
+    }
+
+    /**
+     * Runs A* over the abstract graph. The start connects to the nodes of its cluster and the goal is a
+     * virtual node reached from the nodes of its cluster, using the in-cluster distances computed before.
+     *
+     * @param start start cell
+     * @param goal goal cell
+     * @return {@code true} if a route was found and stored in {@link #waypoints}
+     */
+    private boolean planRoute(int start, int goal) {
+        int width = graph.getWalkabilityGrid().getWidth();
+        int goalX = goal % width;
+        int goalY = goal / width;
+        int goalCluster = graph.clusterOfCell(goal);
+        int goalNode = graph.getNodeCount();
+
+        SearchContext context = SearchContext.forCurrentThread();
+        context.begin(goalNode + 1);
+        IntBinaryHeap open = context.getOpen();
+        int startCluster = graph.clusterOfCell(start);
+        for (int slot = graph.getClusterNodeStart(startCluster); slot < graph.getClusterNodeEnd(startCluster); slot++) {
+            int node = graph.getClusterNode(slot);
+            int d = startDistances[graph.localIndex(graph.getNodeCell(node))];
+            if (d >= 0) {
+                context.setG(node, d, -1);
+                open.push(node, d + heuristic(graph.getNodeCell(node), goalX, goalY, width));
+            }
+        }
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (context.isClosed(current)) {
+                continue;
+            }
+            if (current == goalNode) {
+                storeRoute(context, goalNode, goal);
+                return true;
+            }
+            context.close(current);
+            float currentG = context.getG(current);
+            int cell = graph.getNodeCell(current);
+            if (graph.clusterOfCell(cell) == goalCluster) {
+                int d = goalDistances[graph.localIndex(cell)];
+                if (d >= 0 && currentG + d < context.getG(goalNode)) {
+                    context.setG(goalNode, currentG + d, current);
+                    open.push(goalNode, currentG + d);
+                }
+            }
+            for (int edge = graph.getEdgeStart(current); edge < graph.getEdgeEnd(current); edge++) {
+                int next = graph.getEdgeTarget(edge);
+                if (context.isClosed(next)) {
+                    continue;
+                }
+                float tentativeG = currentG + graph.getEdgeCost(edge);
+                if (tentativeG < context.getG(next)) {
+                    context.setG(next, tentativeG, current);
+                    open.push(next, tentativeG + heuristic(graph.getNodeCell(next), goalX, goalY, width));
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stores the waypoints of a found route, from the first node after the start to the goal.
+     *
+     * @param context search context holding the parent links
+     * @param goalNode id of the virtual goal node
+     * @param goal goal cell
+     */
+    private void storeRoute(SearchContext context, int goalNode, int goal) {
+        waypoints.add(goal);
+        for (int node = context.getParent(goalNode); node >= 0; node = context.getParent(node)) {
+            waypoints.add(graph.getNodeCell(node));
+        }
+        waypoints.reverse();
+    }
+
+    /**
+     * Manhattan distance from a cell to the goal.
+     *
+     * @param cell cell index
+     * @param goalX goal tile x
+     * @param goalY goal tile y
+     * @param width grid width
+     * @return manhattan distance
+     */
+    private static float heuristic(int cell, int goalX, int goalY, int width) {
+        return Math.abs(cell % width - goalX) + Math.abs(cell / width - goalY);
+    }
+}
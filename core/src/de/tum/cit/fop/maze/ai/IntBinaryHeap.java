@@ -0,0 +1,115 @@
+package de.tum.cit.fop.maze.ai;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of int items ordered by float keys, without boxing.
+ * <p>
+ * An item may be pushed several times with different keys. Callers skip stale entries when popping.
+ */
+public class IntBinaryHeap {
+    /** Items in heap order. */
+    private int[] items;
+    /** Keys parallel to {@link #items}. */
+    private float[] keys;
+    /** Number of entries in the heap. */
+    private int size;
+
+    /**
+     * Creates a heap with an initial capacity.
+     *
+     * @param capacity initial capacity, grows on demand
+     */
+    public IntBinaryHeap(int capacity) {
+        items = new int[Math.max(capacity, 16)];
+        keys = new float[items.length];
+    }
+
+    /**
+     * Adds an item.
+     *
+     * @param item item to add
+     * @param key ordering key, smaller keys are popped first
+     */
+    public void push(int item, float key) {
+        if (size == items.length) {
+            items = Arrays.copyOf(items, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) {
+                break;
+            }
+            items[i] = items[parent];
+            keys[i] = keys[parent];
+            i = parent;
+        }
+        items[i] = item;
+        keys[i] = key;
+    }
+
+    /**
+     * Removes the item with the smallest key.
+     *
+     * @return removed item
+     */
+    public int pop() {
+        int top = items[0];
+        int lastItem = items[--size];
+        float lastKey = keys[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && keys[right] < keys[child]) {
+                child = right;
+            }
+            if (lastKey <= keys[child]) {
+                break;
+            }
+            items[i] = items[child];
+            keys[i] = keys[child];
+            i = child;
+        }
+        items[i] = lastItem;
+        keys[i] = lastKey;
+        return top;
+    }
+
+    /**
+     * Returns the smallest key without removing it.
+     *
+     * @return smallest key
+     */
+    public float peekKey() {
+        return keys[0];
+    }
+
+    /**
+     * Checks whether the heap is empty.
+     *
+     * @return {@code true} if empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return entry count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries, keeping the capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+}
@@ -0,0 +1,94 @@
+package de.tum.cit.fop.maze.ai;
+
+import java.util.Arrays;
+
+/**
+ * Monotone priority queue of int items with small integer keys, for Dijkstra searches with integer step
+ * costs (Dial's algorithm).
+ * <p>
+ * Keys live in a ring of buckets, one per possible step cost, so pushing and popping take constant time.
+ * Every key pushed must lie between the key last popped and that key plus the largest step. An item may be
+ * pushed several times with different keys; callers skip stale entries when popping.
+ */
+public final class IntBucketQueue {
+    /** Items per bucket, used as stacks. */
+    private final int[][] buckets;
+    /** Number of items in each bucket. */
+    private final int[] bucketSizes;
+    /** Number of items in all buckets. */
+    private int size = 0;
+    /** Key of the bucket popped from last. */
+    private int currentKey = 0;
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param maxStep largest difference between a pushed key and the key last popped, at least 1
+     */
+    public IntBucketQueue(int maxStep) {
+        int count = Math.max(1, maxStep) + 1;
+        buckets = new int[count][16];
+        bucketSizes = new int[count];
+    }
+
+    /**
+     * Adds an item.
+     *
+     * @param item item to add
+     * @param key key between the key last popped and that key plus the largest step
+     */
+    public void push(int item, int key) {
+        int bucket = key % buckets.length;
+        int[] items = buckets[bucket];
+        int count = bucketSizes[bucket];
+        if (count == items.length) {
+            items = Arrays.copyOf(items, count * 2);
+            buckets[bucket] = items;
+        }
+        items[count] = item;
+        bucketSizes[bucket] = count + 1;
+        size++;
+    }
+
+    /**
+     * Removes an item with the smallest key.
+     *
+     * @return removed item
+     */
+    public int pop() {
+        int bucket = currentKey % buckets.length;
+        while (bucketSizes[bucket] == 0) {
+            currentKey++;
+            bucket = currentKey % buckets.length;
+        }
+        size--;
+        return buckets[bucket][--bucketSizes[bucket]];
+    }
+
+    /**
+     * Returns the key of the item popped last.
+     *
+     * @return key
+     */
+    public int getCurrentKey() {
+        return currentKey;
+    }
+
+    /**
+     * Checks whether the queue is empty.
+     *
+     * @return {@code true} if no items are left
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all items and restarts keys at 0.
+     */
+    public void clear() {
+        Arrays.fill(bucketSizes, 0);
+        size = 0;
+        currentKey = 0;
+    }
+}
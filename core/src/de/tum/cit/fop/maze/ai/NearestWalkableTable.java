@@ -0,0 +1,99 @@
+package de.tum.cit.fop.maze.ai;
+
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.Arrays;
+
+/**
+ * Nearest passable tile for every cell of a grid, so snapping a start or goal that lies on a wall is a
+ * single array read.
+ * <p>
+ * Built with one breadth-first pass seeded from all passable tiles at once. Passable tiles map to
+ * themselves; blocked tiles map to the passable tile fewest steps away, counting steps through walls.
+ * One table is kept for walkable tiles and one for road tiles.
+ */
+public final class NearestWalkableTable {
+    /** X offsets for cardinal movement. */
+    private static final int[] DIR_X = {1, -1, 0, 0};
+    /** Y offsets for cardinal movement. */
+    private static final int[] DIR_Y = {0, 0, 1, -1};
+    /** Walkable-tile table of each grid, stored on the grid. */
+    private static final GridCache<NearestWalkableTable> WALKABLE_CACHE =
+        new GridCache<>(grid -> new NearestWalkableTable(grid, false));
+    /** Road-tile table of each grid, stored on the grid. */
+    private static final GridCache<NearestWalkableTable> ROAD_CACHE =
+        new GridCache<>(grid -> new NearestWalkableTable(grid, true));
+
+    /** Nearest passable cell per cell, -1 if the grid has none. */
+    private final int[] nearest;
+
+    /**
+     * Builds the table for a grid.
+     *
+     * @param walkabilityGrid walkability grid
+     * @param roads whether road tiles rather than walkable tiles count as passable
+     */
+    private NearestWalkableTable(WalkabilityGrid walkabilityGrid, boolean roads) {
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        nearest = new int[width * height];
+        Arrays.fill(nearest, -1);
+        int[] queue = new int[width * height];
+        int head = 0;
+        int tail = 0;
+        for (int cell = 0; cell < nearest.length; cell++) {
+            boolean passable = roads ? walkabilityGrid.isRoadIndex(cell) : !walkabilityGrid.isBlockedIndex(cell);
+            if (passable) {
+                nearest[cell] = cell;
+                queue[tail++] = cell;
+            }
+        }
+        while (head < tail) {
+            int current = queue[head++];
+            int x = current % width;
+            int y = current / width;
+            for (int i = 0; i < 4; i++) {
+                int nx = x + DIR_X[i];
+                int ny = y + DIR_Y[i];
+                if (nx < 0 || ny < 0 || nx >= width || ny >= height) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                if (nearest[next] >= 0) {
+                    continue;
+                }
+                nearest[next] = nearest[current];
+                queue[tail++] = next;
+            }
+        }
+    }
+
+    /**
+     * Returns the walkable-tile table for a grid, building it on first use.
+     *
+     * @param walkabilityGrid walkability grid
+     * @return nearest walkable tile table
+     */
+    public static NearestWalkableTable forWalkable(WalkabilityGrid walkabilityGrid) {
+        return WALKABLE_CACHE.get(walkabilityGrid);
+    }
+
+    /**
+     * Returns the road-tile table for a grid, building it on first use.
+     *
+     * @param walkabilityGrid walkability grid with road flags
+     * @return nearest road tile table
+     */
+    public static NearestWalkableTable forRoads(WalkabilityGrid walkabilityGrid) {
+        return ROAD_CACHE.get(walkabilityGrid);
+    }
+
+    /**
+     * Returns the nearest passable tile to a cell.
+     *
+     * @param cell cell index inside the grid
+     * @return cell index of the nearest passable tile, the cell itself if passable, or -1 if there is none
+     */
+    public int nearestTo(int cell) {
+        return nearest[cell];
+    }
+}
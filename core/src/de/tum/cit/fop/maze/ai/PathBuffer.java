@@ -0,0 +1,116 @@
+package de.tum.cit.fop.maze.ai;
+
+import java.util.Arrays;
+
+/**
+ * Reusable path of tiles stored as cell indices ({@code y * width + x}), excluding the start tile.
+ * Owners keep one buffer and let the pathfinder refill it, so repathing does not allocate.
+ */
+public class PathBuffer {
+    /** Cell indices from the first step to the goal. */
+    private int[] cells = new int[64];
+    /** Number of tiles in the path. */
+    private int size;
+    /** Width of the grid the indices refer to. */
+    private int width = 1;
+
+    /**
+     * Returns the number of tiles in the path.
+     *
+     * @return path length
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the path is empty.
+     *
+     * @return {@code true} if there are no tiles
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all tiles, keeping the capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Returns the cell index of a path step.
+     *
+     * @param i step index
+     * @return cell index
+     */
+    public int getCell(int i) {
+        return cells[i];
+    }
+
+    /**
+     * Returns the tile x of a path step.
+     *
+     * @param i step index
+     * @return tile x
+     */
+    public int getX(int i) {
+        return cells[i] % width;
+    }
+
+    /**
+     * Returns the tile y of a path step.
+     *
+     * @param i step index
+     * @return tile y
+     */
+    public int getY(int i) {
+        return cells[i] / width;
+    }
+
+    /**
+     * Clears the path for refilling on a grid.
+     *
+     * @param width grid width the indices refer to
+     */
+    void begin(int width) {
+        this.width = width;
+        size = 0;
+    }
+
+    /**
+     * Appends a cell.
+     *
+     * @param cell cell index
+     */
+    void add(int cell) {
+        if (size == cells.length) {
+            cells = Arrays.copyOf(cells, size * 2);
+        }
+        cells[size++] = cell;
+    }
+
+    /**
+     * Replaces this path with a copy of another.
+     *
+     * @param other path to copy
+     */
+    void copyFrom(PathBuffer other) {
+        begin(other.width);
+        for (int i = 0; i < other.size; i++) {
+            add(other.cells[i]);
+        }
+    }
+
+    /**
+     * Reverses the path in place, used after walking parent links back from the goal.
+     */
+    void reverse() {
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            int tmp = cells[i];
+            cells[i] = cells[j];
+            cells[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package de.tum.cit.fop.maze.ai;
+
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Remembers recent {@link Pathfinder} answers, so agents travelling between the same tiles do not search
+ * again.
+ * <p>
+ * Entries are keyed by start and goal cell and dropped least recently used first. A query whose start lies
+ * on a cached path to the same goal is answered with the rest of that path, which is optimal as well.
+ * Every entry belongs to the grid's {@link WalkabilityGrid#getVersion() layer version}; when the layers are
+ * edited the whole cache is dropped. A cache may only be shared by pathfinders with the same passable tiles
+ * and tile costs. Safe to use from several path workers at once.
+ */
+public final class PathCache {
+    /** Default number of cached paths. */
+    public static final int DEFAULT_CAPACITY = 256;
+    /** Largest number of paths to one goal scanned for a suffix. */
+    private static final int MAX_SUFFIX_CANDIDATES = 8;
+
+    /** Grid whose version the entries belong to. */
+    private final WalkabilityGrid walkabilityGrid;
+    /** Number of cached paths. */
+    private final int capacity;
+    /** Cached paths without their start cell, least recently used first; empty if there is no path. */
+    private final LinkedHashMap<Long, int[]> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /** Keys of the cached paths per goal cell, for suffix lookups. */
+    private final HashMap<Integer, ArrayList<Long>> keysByGoal = new HashMap<>();
+    /** Layer version the entries belong to. */
+    private int version;
+    /** Queries answered by a cached path. */
+    private long hits = 0;
+    /** Queries answered by the suffix of a cached path. */
+    private long suffixHits = 0;
+    /** Queries that had to search. */
+    private long misses = 0;
+    /** Times the cache was dropped because the layers changed. */
+    private long invalidations = 0;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param walkabilityGrid grid the cached paths run on
+     * @param capacity number of cached paths, at least 1
+     */
+    public PathCache(WalkabilityGrid walkabilityGrid, int capacity) {
+        this.walkabilityGrid = walkabilityGrid;
+        this.capacity = Math.max(1, capacity);
+        this.version = walkabilityGrid.getVersion();
+    }
+
+    /**
+     * Returns the grid the cached paths run on.
+     *
+     * @return walkability grid
+     */
+    public WalkabilityGrid getWalkabilityGrid() {
+        return walkabilityGrid;
+    }
+
+    /**
+     * Copies a cached answer into a buffer.
+     *
+     * @param start start cell
+     * @param goal goal cell
+     * @param layerVersion grid version the query runs against
+     * @param out buffer receiving the path without the start cell, already begun
+     * @return {@code true} if the query was answered, possibly with an empty path
+     */
+    synchronized boolean lookup(int start, int goal, int layerVersion, PathBuffer out) {
+        validate(layerVersion);
+        int[] path = entries.get(key(start, goal));
+        if (path != null) {
+            hits++;
+            copy(path, 0, out);
+            return true;
+        }
+        ArrayList<Long> keys = keysByGoal.get(goal);
+        if (keys != null) {
+            for (int i = keys.size() - 1, scanned = 0; i >= 0 && scanned < MAX_SUFFIX_CANDIDATES; i--, scanned++) {
+                int[] candidate = entries.get(keys.get(i));
+                for (int j = 0; j < candidate.length - 1; j++) {
+                    if (candidate[j] == start) {
+                        suffixHits++;
+                        copy(candidate, j + 1, out);
+                        return true;
+                    }
+                }
+            }
+        }
+        misses++;
+        return false;
+    }
+
+    /**
+     * Stores a searched answer. Answers searched against an older layer version are ignored.
+     *
+     * @param start start cell
+     * @param goal goal cell
+     * @param layerVersion grid version the search ran against
+     * @param path path without the start cell, empty if there is none
+     */
+    synchronized void store(int start, int goal, int layerVersion, PathBuffer path) {
+        validate(layerVersion);
+        if (layerVersion != version) {
+            return;
+        }
+        int[] cells = new int[path.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = path.getCell(i);
+        }
+        long key = key(start, goal);
+        if (entries.put(key, cells) == null) {
+            keysByGoal.computeIfAbsent(goal, g -> new ArrayList<>()).add(key);
+        }
+        if (entries.size() > capacity) {
+            Iterator<Map.Entry<Long, int[]>> eldest = entries.entrySet().iterator();
+            long evicted = eldest.next().getKey();
+            eldest.remove();
+            int evictedGoal = (int) evicted;
+            ArrayList<Long> keys = keysByGoal.get(evictedGoal);
+            keys.remove(Long.valueOf(evicted));
+            if (keys.isEmpty()) {
+                keysByGoal.remove(evictedGoal);
+            }
+        }
+    }
+
+    /**
+     * Drops all entries if the grid's layers have changed since they were stored.
+     *
+     * @param layerVersion current grid version
+     */
+    private void validate(int layerVersion) {
+        if (layerVersion > version) {
+            entries.clear();
+            keysByGoal.clear();
+            version = layerVersion;
+            invalidations++;
+        }
+    }
+
+    /**
+     * Copies cells from a position to the end of a cached path into a buffer.
+     *
+     * @param path cached path
+     * @param from first cell to copy
+     * @param out buffer receiving the cells
+     */
+    private static void copy(int[] path, int from, PathBuffer out) {
+        for (int i = from; i < path.length; i++) {
+            out.add(path[i]);
+        }
+    }
+
+    /**
+     * Packs start and goal cell into a key.
+     *
+     * @param start start cell
+     * @param goal goal cell
+     * @return key, with the goal in the low half
+     */
+    private static long key(int start, int goal) {
+        return ((long) start << 32) | (goal & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the number of cached paths.
+     *
+     * @return entry count
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of queries answered by a cached path.
+     *
+     * @return exact hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of queries answered by the rest of a cached path.
+     *
+     * @return suffix hits
+     */
+    public synchronized long getSuffixHits() {
+        return suffixHits;
+    }
+
+    /**
+     * Returns the number of queries that had to search.
+     *
+     * @return misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns how often the cache was dropped because the layers changed.
+     *
+     * @return invalidation count
+     */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Resets the hit, miss and invalidation counters.
+     */
+    public synchronized void resetCounters() {
+        hits = 0;
+        suffixHits = 0;
+        misses = 0;
+        invalidations = 0;
+    }
+
+    /**
+     * Describes the cache for the developer console.
+     *
+     * @return one-line summary
+     */
+    @Override
+    public synchronized String toString() {
+        long queries = hits + suffixHits + misses;
+        return String.format("%d paths, %d hits, %d suffix hits, %d misses (%.0f%% hit rate), %d invalidations",
+            entries.size(), hits, suffixHits, misses, queries == 0 ? 0.0 : 100.0 * (hits + suffixHits) / queries,
+            invalidations);
+    }
+}
@@ -0,0 +1,13 @@
+package de.tum.cit.fop.maze.ai;
+
+/**
+ * Urgency of a {@link PathRequest}. The scheduler serves all waiting requests of a higher priority first.
+ */
+public enum PathPriority {
+    /** Agents reacting to the player, such as police pursuing or fleeing. */
+    HIGH,
+    /** Routine movement, such as patrols. */
+    NORMAL,
+    /** Background traffic. */
+    LOW
+}
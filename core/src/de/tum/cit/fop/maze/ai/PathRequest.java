@@ -0,0 +1,192 @@
+package de.tum.cit.fop.maze.ai;
+
+/**
+ * A path query owned by one agent and answered by a {@link PathRequestScheduler}.
+ * <p>
+ * The agent keeps one request and resubmits it whenever it needs a new path. Until the answer is ready it
+ * keeps following its old path, then takes the result with {@link #takeResult(int, int, PathBuffer)}.
+ * <p>
+ * While a {@link PathService} worker is searching, the request is in flight and owns its pathfinder: the
+ * agent must not read legs from it or resubmit until the answer has been published.
+ */
+public final class PathRequest {
+    /** Lifecycle of a request. */
+    private enum State {IDLE, QUEUED, RUNNING, READY}
+
+    /** Pathfinder answering the query; keeps the planned route for later legs. */
+    private final WaypointPathfinder pathfinder;
+    /** First leg of the answer. */
+    private final PathBuffer result = new PathBuffer();
+    /** Current lifecycle state. */
+    private State state = State.IDLE;
+    /** Whether the query was cancelled while in flight, so its answer is dropped when published. */
+    private boolean cancelled = false;
+    /** Whether the request currently sits in a scheduler queue, possibly cancelled. */
+    private boolean enqueued = false;
+    /** Start tile x. */
+    private int startX;
+    /** Start tile y. */
+    private int startY;
+    /** Goal tile x. */
+    private int goalX;
+    /** Goal tile y. */
+    private int goalY;
+
+    /**
+     * Creates a request answered by a pathfinder.
+     *
+     * @param pathfinder pathfinder planning the route
+     */
+    public PathRequest(WaypointPathfinder pathfinder) {
+        this.pathfinder = pathfinder;
+    }
+
+    /**
+     * Checks whether the request is neither waiting nor holding an untaken answer.
+     *
+     * @return {@code true} if idle
+     */
+    public boolean isIdle() {
+        return state == State.IDLE;
+    }
+
+    /**
+     * Checks whether the request is waiting in a scheduler queue.
+     *
+     * @return {@code true} if queued
+     */
+    public boolean isPending() {
+        return state == State.QUEUED;
+    }
+
+    /**
+     * Checks whether a worker is searching for the answer. The request's pathfinder must not be used meanwhile.
+     *
+     * @return {@code true} if in flight
+     */
+    public boolean isInFlight() {
+        return state == State.RUNNING;
+    }
+
+    /**
+     * Checks whether an answer is ready to be taken.
+     *
+     * @return {@code true} if ready
+     */
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    /**
+     * Takes the answer if the agent is still on the tile the query started from. Otherwise the answer is
+     * dropped, since its first step may no longer be adjacent.
+     *
+     * @param tileX agent's current tile x
+     * @param tileY agent's current tile y
+     * @param out buffer receiving the first leg
+     * @return {@code true} if the answer was copied into {@code out}
+     */
+    public boolean takeResult(int tileX, int tileY, PathBuffer out) {
+        if (state != State.READY) {
+            return false;
+        }
+        state = State.IDLE;
+        if (tileX != startX || tileY != startY) {
+            return false;
+        }
+        out.copyFrom(result);
+        return true;
+    }
+
+    /**
+     * Drops the query, its answer and the route planned for it. A queued request is skipped when the
+     * scheduler reaches it; a request in flight stays busy until its answer is published, then is dropped.
+     */
+    public void cancel() {
+        if (state == State.RUNNING) {
+            cancelled = true;
+            return;
+        }
+        state = State.IDLE;
+        pathfinder.clear();
+    }
+
+    /**
+     * Checks whether the request sits in a scheduler queue, possibly cancelled.
+     *
+     * @return {@code true} if enqueued
+     */
+    boolean isEnqueued() {
+        return enqueued;
+    }
+
+    /**
+     * Records whether the request sits in a scheduler queue.
+     *
+     * @param enqueued {@code true} if enqueued
+     */
+    void setEnqueued(boolean enqueued) {
+        this.enqueued = enqueued;
+    }
+
+    /**
+     * Stores the query and marks the request as queued.
+     *
+     * @param startX start tile x
+     * @param startY start tile y
+     * @param goalX goal tile x
+     * @param goalY goal tile y
+     */
+    void prepare(int startX, int startY, int goalX, int goalY) {
+        if (state == State.RUNNING) {
+            throw new IllegalStateException("Path request resubmitted while in flight");
+        }
+        this.startX = startX;
+        this.startY = startY;
+        this.goalX = goalX;
+        this.goalY = goalY;
+        state = State.QUEUED;
+    }
+
+    /**
+     * Answers the query if it is still queued.
+     */
+    void run() {
+        if (state != State.QUEUED) {
+            return;
+        }
+        start();
+        search();
+        publish();
+    }
+
+    /**
+     * Hands the queued query to a worker. Called on the render thread.
+     */
+    void start() {
+        state = State.RUNNING;
+        cancelled = false;
+    }
+
+    /**
+     * Runs the search. Called on a worker thread while the request is in flight; touches nothing but the
+     * request's own pathfinder and result buffer.
+     */
+    void search() {
+        pathfinder.findPath(startX, startY, goalX, goalY, result);
+    }
+
+    /**
+     * Makes the answer of a finished search available, or drops it if the request was cancelled meanwhile.
+     * Called on the render thread.
+     */
+    void publish() {
+        if (cancelled) {
+            cancelled = false;
+            state = State.IDLE;
+            pathfinder.clear();
+            return;
+        }
+        state = State.READY;
+    }
+}
@@ -0,0 +1,215 @@
+package de.tum.cit.fop.maze.ai;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Answers agents' path requests a few at a time, so many agents repathing on the same frame do not cause a
+ * frame spike.
+ * <p>
+ * Screens call {@link #update()} once per frame before acting their stage. Requests are served by
+ * priority, oldest first, until the frame's time budget is used up; at least one is served every frame so
+ * nothing starves. Agents spread their periodic repaths with {@link #nextPhaseOffset(float)}.
+ * <p>
+ * With a {@link PathService} attached, requests are searched on worker threads instead: each update first
+ * publishes the answers of searches that have finished, then hands waiting requests to the workers in
+ * priority order until the service's in-flight cap is reached. The rest keep their place in line for a
+ * later frame. The frame budget does not apply then, since the render thread only queues and publishes.
+ */
+public final class PathRequestScheduler {
+    /** Default time budget per frame in microseconds. */
+    public static final long DEFAULT_BUDGET_MICROS = 1500;
+    /** Golden-ratio step spreading successive phase offsets evenly over an interval. */
+    private static final float PHASE_STEP = 0.618034f;
+    /** Scheduler shared by all agents on the render thread. */
+    private static final PathRequestScheduler SHARED = new PathRequestScheduler();
+
+    /** Waiting requests per priority, in {@link PathPriority} order. */
+    private final List<ArrayDeque<PathRequest>> queues = new ArrayList<>();
+    /** Time budget per frame in nanoseconds. */
+    private long budgetNanos = DEFAULT_BUDGET_MICROS * 1000L;
+    /** Worker pool searching requests, or {@code null} to search on the render thread. */
+    private PathService service;
+    /** Fraction of the interval handed out by the last phase offset. */
+    private float phase = 0f;
+
+    /**
+     * Creates an empty scheduler.
+     */
+    public PathRequestScheduler() {
+        for (int i = 0; i < PathPriority.values().length; i++) {
+            queues.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Returns the scheduler shared by all agents on the render thread.
+     *
+     * @return shared scheduler
+     */
+    public static PathRequestScheduler getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Queues a request, replacing its previous query. A request already waiting keeps its place in line.
+     *
+     * @param request request to queue
+     * @param priority priority
+     * @param startX start tile x
+     * @param startY start tile y
+     * @param goalX goal tile x
+     * @param goalY goal tile y
+     */
+    public void submit(PathRequest request, PathPriority priority, int startX, int startY, int goalX, int goalY) {
+        request.prepare(startX, startY, goalX, goalY);
+        if (!request.isEnqueued()) {
+            request.setEnqueued(true);
+            queues.get(priority.ordinal()).addLast(request);
+        }
+    }
+
+    /**
+     * Attaches a worker pool, or detaches it with {@code null}. Requests in flight on the previous pool are
+     * published first.
+     *
+     * @param service worker pool, or {@code null}
+     */
+    public void setService(PathService service) {
+        if (this.service != null) {
+            this.service.publishAll();
+        }
+        this.service = service;
+    }
+
+    /**
+     * Returns the attached worker pool.
+     *
+     * @return worker pool, or {@code null} if searches run on the render thread
+     */
+    public PathService getService() {
+        return service;
+    }
+
+    /**
+     * Serves waiting requests until this frame's budget is spent, or with a worker pool attached publishes
+     * finished answers and dispatches waiting requests up to the pool's in-flight cap.
+     *
+     * @return number of requests answered
+     */
+    public int update() {
+        if (service != null) {
+            return dispatch();
+        }
+        long start = System.nanoTime();
+        int served = 0;
+        for (ArrayDeque<PathRequest> queue : queues) {
+            while (!queue.isEmpty()) {
+                if (served > 0 && System.nanoTime() - start >= budgetNanos) {
+                    return served;
+                }
+                PathRequest request = queue.pollFirst();
+                request.setEnqueued(false);
+                if (request.isPending()) {
+                    request.run();
+                    served++;
+                }
+            }
+        }
+        return served;
+    }
+
+    /**
+     * Publishes the answers of finished searches, then hands waiting requests to the worker pool until its
+     * in-flight cap is reached.
+     *
+     * @return number of requests answered
+     */
+    private int dispatch() {
+        int published = service.publishFinished();
+        int maxInFlight = service.getMaxInFlight();
+        for (ArrayDeque<PathRequest> queue : queues) {
+            while (!queue.isEmpty()) {
+                if (service.getInFlightCount() >= maxInFlight) {
+                    return published;
+                }
+                PathRequest request = queue.pollFirst();
+                request.setEnqueued(false);
+                if (request.isPending()) {
+                    service.dispatch(request);
+                }
+            }
+        }
+        return published;
+    }
+
+    /**
+     * Drops all waiting requests and restarts the phase offsets, e.g. when the stage their agents live on
+     * is replaced. Requests in flight are finished first.
+     */
+    public void clear() {
+        awaitSearches();
+        phase = 0f;
+        for (ArrayDeque<PathRequest> queue : queues) {
+            for (PathRequest request : queue) {
+                request.setEnqueued(false);
+                request.cancel();
+            }
+            queue.clear();
+        }
+    }
+
+    /**
+     * Waits for every search in flight and publishes its answer. Call on the render thread before editing
+     * data the workers read.
+     */
+    public void awaitSearches() {
+        if (service != null) {
+            service.publishAll();
+        }
+    }
+
+    /**
+     * Returns the number of waiting requests, including cancelled ones not yet skipped.
+     *
+     * @return queue length
+     */
+    public int getPendingCount() {
+        int count = 0;
+        for (ArrayDeque<PathRequest> queue : queues) {
+            count += queue.size();
+        }
+        return count;
+    }
+
+    /**
+     * Sets the time budget per frame.
+     *
+     * @param micros budget in microseconds
+     */
+    public void setBudgetMicros(long micros) {
+        budgetNanos = Math.max(0L, micros) * 1000L;
+    }
+
+    /**
+     * Returns the time budget per frame.
+     *
+     * @return budget in microseconds
+     */
+    public long getBudgetMicros() {
+        return budgetNanos / 1000L;
+    }
+
+    /**
+     * Hands out the next phase offset for a periodic repath, so agents created together do not all repath
+     * on the same frame.
+     *
+     * @param interval repath interval in seconds
+     * @return offset between 0 and {@code interval}
+     */
+    public float nextPhaseOffset(float interval) {
+        phase = (phase + PHASE_STEP) % 1f;
+        return phase * interval;
+    }
+}
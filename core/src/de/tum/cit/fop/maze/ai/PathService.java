@@ -0,0 +1,155 @@
+package de.tum.cit.fop.maze.ai;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.ArrayList;
+
+/**
+ * Runs path searches on a small pool of worker threads, off the frame's critical path.
+ * <p>
+ * Requests handed out during a frame are searched while the frame renders. At the start of each frame the
+ * searches that have finished are published in the order they were handed out, stopping at the first one
+ * still running, so the render thread never waits for a worker; the rest are published on a later frame.
+ * At most {@link #getMaxInFlight()} requests are in flight, so a burst of requests queues in the scheduler
+ * by priority instead of piling up on the workers. A request cancelled while in flight is dropped when
+ * published.
+ * <p>
+ * Workers read the level's walkability grid while the render thread runs. Blocking and road bits never
+ * change; {@link WalkabilityGrid#markTrap(int, int)} waits for all searches in flight with
+ * {@link PathRequestScheduler#awaitSearches()} before it edits the trap bits, so no search sees a
+ * half-applied edit. Which frame an answer arrives on depends on the workers' timing, so replays run
+ * without a service (see {@code SimulationWorld}).
+ */
+public final class PathService implements Disposable {
+    /** Largest number of worker threads used by default. */
+    private static final int MAX_DEFAULT_THREADS = 4;
+    /** Requests in flight per worker thread before further requests wait in the scheduler. */
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+
+    /** Worker pool. */
+    private final AsyncExecutor executor;
+    /** Requests in flight, in the order they were handed out. */
+    private final ArrayList<PathRequest> inFlight = new ArrayList<>();
+    /** Pending searches parallel to {@link #inFlight}. */
+    private final ArrayList<AsyncResult<Void>> searches = new ArrayList<>();
+    /** Number of worker threads. */
+    private final int threadCount;
+
+    /**
+     * Creates a service with its own worker pool.
+     *
+     * @param threadCount number of worker threads, at least 1
+     */
+    public PathService(int threadCount) {
+        this.threadCount = Math.max(1, threadCount);
+        this.executor = new AsyncExecutor(this.threadCount, "path-worker");
+    }
+
+    /**
+     * Returns the number of worker threads worth using on this machine: one per core, keeping one core for
+     * the render thread.
+     *
+     * @return thread count, 0 if the machine has too few cores to gain anything
+     */
+    public static int defaultThreadCount() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        return Math.min(MAX_DEFAULT_THREADS, cores - 1);
+    }
+
+    /**
+     * Starts searching for a request on a worker. Called on the render thread.
+     *
+     * @param request queued request
+     */
+    void dispatch(PathRequest request) {
+        request.start();
+        inFlight.add(request);
+        searches.add(executor.submit(() -> {
+            request.search();
+            return null;
+        }));
+    }
+
+    /**
+     * Publishes the finished requests at the front of the dispatch order, up to the first search still
+     * running. Never waits. Called on the render thread.
+     *
+     * @return number of requests published
+     */
+    int publishFinished() {
+        int count = 0;
+        while (count < searches.size() && searches.get(count).isDone()) {
+            count++;
+        }
+        return publish(count);
+    }
+
+    /**
+     * Publishes every request in flight, in dispatch order, waiting for searches that are still running.
+     * Called on the render thread.
+     *
+     * @return number of requests published
+     */
+    int publishAll() {
+        return publish(inFlight.size());
+    }
+
+    /**
+     * Publishes the first requests in dispatch order, waiting for their searches to finish.
+     *
+     * @param count number of requests to publish
+     * @return number of requests published
+     */
+    private int publish(int count) {
+        for (int i = 0; i < count; i++) {
+            try {
+                searches.get(i).get();
+            } catch (RuntimeException ex) {
+                System.err.println("Path search failed: " + ex.getMessage());
+                inFlight.get(i).cancel();
+            }
+            inFlight.get(i).publish();
+        }
+        inFlight.subList(0, count).clear();
+        searches.subList(0, count).clear();
+        return count;
+    }
+
+    /**
+     * Returns the number of requests in flight.
+     *
+     * @return in-flight count
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Returns the largest number of requests in flight at once.
+     *
+     * @return in-flight cap
+     */
+    public int getMaxInFlight() {
+        return threadCount * IN_FLIGHT_PER_THREAD;
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return thread count
+     */
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    /**
+     * Waits for running searches and stops the workers.
+     */
+    @Override
+    public void dispose() {
+        publishAll();
+        executor.dispose();
+    }
+}
@@ -1,97 +1,350 @@
 package de.tum.cit.fop.maze.ai;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.math.GridPoint2;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.PriorityQueue;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 
 /**
- * A* pathfinding on a tiled collision layer.
+ * A* pathfinding on the walkable tiles of a walkability grid.
+ * <p>
+ * This is the one search engine for all agents: subclasses change which tiles are passable and how the
+ * remaining distance is estimated, and {@link #setTileCost(TileCost)} weights individual tiles.
  */
 public class Pathfinder {
     /** X offsets for cardinal movement. */
     private static final int[] DIR_X = {1, -1, 0, 0};
     /** Y offsets for cardinal movement. */
     private static final int[] DIR_Y = {0, 0, 1, -1};
-    /** Collision layer used to check walkability. */
-    private final TiledMapTileLayer collisionLayer;
+    /** Grid used to check walkability. */
+    protected final WalkabilityGrid walkabilityGrid;
+    /** Snaps starts and goals on blocked tiles to the nearest tile this pathfinder may enter. */
+    private final NearestWalkableTable nearestWalkable;
+    /** Algorithm used when a call does not name one. */
+    private SearchMode searchMode = SearchMode.ASTAR;
+    /** Cost of stepping onto each tile. */
+    private TileCost tileCost = TileCost.UNIFORM;
+    /** Recent answers shared with pathfinders of the same kind, or {@code null} to always search. */
+    private PathCache pathCache;
 
     /**
-     * Creates a pathfinder for a collision layer.
+     * Creates a pathfinder for a walkability grid.
      *
-     * @param collisionLayer collision layer
+     * @param walkabilityGrid walkability grid
      */
-    public Pathfinder(TiledMapTileLayer collisionLayer) {
-        this.collisionLayer = collisionLayer;
+    public Pathfinder(WalkabilityGrid walkabilityGrid) {
+        this(walkabilityGrid, NearestWalkableTable.forWalkable(walkabilityGrid));
     }
 
     /**
-     * Finds a path between start and goal coordinates.
+     * Creates a pathfinder whose passable tiles differ from the walkable ones.
+     *
+     * @param walkabilityGrid walkability grid
+     * @param nearestWalkable nearest-tile table matching {@link #isWalkable(int, int)}
+     */
+    protected Pathfinder(WalkabilityGrid walkabilityGrid, NearestWalkableTable nearestWalkable) {
+        this.walkabilityGrid = walkabilityGrid;
+        this.nearestWalkable = nearestWalkable;
+    }
+
+    /**
+     * Sets the algorithm used when a call does not name one.
+     *
+     * @param searchMode search algorithm
+     */
+    public void setSearchMode(SearchMode searchMode) {
+        this.searchMode = searchMode;
+    }
+
+    /**
+     * Returns the algorithm used when a call does not name one.
+     *
+     * @return search algorithm
+     */
+    public SearchMode getSearchMode() {
+        return searchMode;
+    }
+
+    /**
+     * Sets the cost of stepping onto each tile. Jump Point Search needs uniform costs, so weighted searches
+     * always run plain A*.
+     *
+     * @param tileCost tile costs, {@link TileCost#UNIFORM} for plain step counts
+     */
+    public void setTileCost(TileCost tileCost) {
+        this.tileCost = tileCost;
+    }
+
+    /**
+     * Returns the cost of stepping onto each tile.
+     *
+     * @return tile costs
+     */
+    public TileCost getTileCost() {
+        return tileCost;
+    }
+
+    /**
+     * Sets the cache consulted before searching. It must only be shared with pathfinders that have the
+     * same passable tiles and tile costs.
+     *
+     * @param pathCache cache of recent answers, or {@code null} to always search
+     */
+    public void setPathCache(PathCache pathCache) {
+        this.pathCache = pathCache;
+    }
+
+    /**
+     * Returns the cache consulted before searching.
+     *
+     * @return cache of recent answers, or {@code null}
+     */
+    public PathCache getPathCache() {
+        return pathCache;
+    }
+
+    /**
+     * Finds a path between start and goal coordinates with this pathfinder's search mode.
+     *
+     * @param startX start tile x
+     * @param startY start tile y
+     * @param goalX goal tile x
+     * @param goalY goal tile y
+     * @param out buffer receiving the path without the start tile, left empty if there is none
+     * @return {@code true} if a non-empty path was found
+     */
+    public boolean findPath(int startX, int startY, int goalX, int goalY, PathBuffer out) {
+        return findPath(startX, startY, goalX, goalY, out, searchMode);
+    }
+
+    /**
+     * Finds a path between start and goal coordinates, answering from the {@link PathCache} if possible.
      *
      * @param startX start tile x
      * @param startY start tile y
      * @param goalX goal tile x
      * @param goalY goal tile y
-     * @return list of path points, empty if none
+     * @param out buffer receiving the path without the start tile, left empty if there is none
+     * @param mode search algorithm
+     * @return {@code true} if a non-empty path was found
      */
-    public ArrayList<GridPoint2> findPath(int startX, int startY, int goalX, int goalY) {
-        int width = collisionLayer.getWidth();
-        int height = collisionLayer.getHeight();
+    public boolean findPath(int startX, int startY, int goalX, int goalY, PathBuffer out, SearchMode mode) {
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        out.begin(width);
 
         startX = clampCoord(startX, width);
         startY = clampCoord(startY, height);
         goalX = clampCoord(goalX, width);
         goalY = clampCoord(goalY, height);
 
-        GridPoint2 start = findClosestWalkable(startX, startY);
-        GridPoint2 goal = findClosestWalkable(goalX, goalY);
-        if (start == null || goal == null) {
-            return new ArrayList<>();
+        int start = nearestWalkable.nearestTo(startY * width + startX);
+        int goal = nearestWalkable.nearestTo(goalY * width + goalX);
+        if (start < 0 || goal < 0 || start == goal) {
+            return false;
         }
-        if (start.equals(goal)) {
-            return new ArrayList<>();
+        if (pathCache == null) {
+            return search(start, goal, out, mode);
         }
+        int version = walkabilityGrid.getVersion();
+        if (pathCache.lookup(start, goal, version, out)) {
+            return !out.isEmpty();
+        }
+        boolean found = search(start, goal, out, mode);
+        pathCache.store(start, goal, version, out);
+        return found;
+    }
 
-        float[][] gScore = new float[width][height];
-        boolean[][] closed = new boolean[width][height];
-        for (int x = 0; x < width; x++) {
-            Arrays.fill(gScore[x], Float.POSITIVE_INFINITY);
+    /**
+     * Searches a path between two cells this pathfinder may enter.
+     * Uses the calling thread's {@link SearchContext}, so steady-state searches do not allocate.
+     *
+     * @param start start cell
+     * @param goal goal cell, different from the start
+     * @param out buffer receiving the path without the start tile, already begun
+     * @param mode search algorithm
+     * @return {@code true} if a path was found
+     */
+    private boolean search(int start, int goal, PathBuffer out, SearchMode mode) {
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        int goalTileX = goal % width;
+        int goalTileY = goal / width;
+
+        SearchContext context = SearchContext.forCurrentThread();
+        context.begin(width * height);
+        if (mode == SearchMode.JUMP_POINT && tileCost == TileCost.UNIFORM) {
+            return searchJumpPoints(context, start, goal, out);
         }
+        IntBinaryHeap open = context.getOpen();
+        context.setG(start, 0f, -1);
+        open.push(start, heuristic(start % width, start / width, goalTileX, goalTileY));
 
-        PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingDouble(n -> n.f));
-        Node startNode = new Node(start.x, start.y, 0f, manhattan(start.x, start.y, goal.x, goal.y), null);
-        gScore[start.x][start.y] = 0f;
-        open.add(startNode);
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (context.isClosed(current)) {
+                continue;
+            }
+            if (current == goal) {
+                reconstructPath(context, goal, out);
+                return true;
+            }
+            context.close(current);
+
+            int x = current % width;
+            int y = current / width;
+            float currentG = context.getG(current);
+            for (int i = 0; i < 4; i++) {
+                int nx = x + DIR_X[i];
+                int ny = y + DIR_Y[i];
+                if (!isWalkable(nx, ny)) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                if (context.isClosed(next)) {
+                    continue;
+                }
+                float tentativeG = currentG + tileCost.costOf(next);
+                if (tentativeG < context.getG(next)) {
+                    context.setG(next, tentativeG, current);
+                    open.push(next, tentativeG + heuristic(nx, ny, goalTileX, goalTileY));
+                }
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Runs Jump Point Search for 4-connected movement. Straight runs are skipped until a tile where the
+     * path may need to turn, so only those jump points enter the open set. Costs between jump points are
+     * their Manhattan distance, which keeps the result optimal.
+     *
+     * @param context search context, already started
+     * @param start start cell
+     * @param goal goal cell
+     * @param out buffer receiving the path without the start tile
+     * @return {@code true} if a path was found
+     */
+    private boolean searchJumpPoints(SearchContext context, int start, int goal, PathBuffer out) {
+        int width = walkabilityGrid.getWidth();
+        int goalX = goal % width;
+        int goalY = goal / width;
+        IntBinaryHeap open = context.getOpen();
+        context.setG(start, 0f, -1);
+        open.push(start, heuristic(start % width, start / width, goalX, goalY));
 
         while (!open.isEmpty()) {
-            Node current = open.poll();
-            if (closed[current.x][current.y]) {
+            int current = open.pop();
+            if (context.isClosed(current)) {
                 continue;
             }
-            if (current.x == goal.x && current.y == goal.y) {
-                return reconstructPath(current, start.x, start.y);
+            if (current == goal) {
+                reconstructJumpPath(context, goal, out);
+                return true;
             }
-            closed[current.x][current.y] = true;
+            context.close(current);
 
+            int x = current % width;
+            int y = current / width;
+            int parent = context.getParent(current);
+            float currentG = context.getG(current);
             for (int i = 0; i < 4; i++) {
-                int nx = current.x + DIR_X[i];
-                int ny = current.y + DIR_Y[i];
-                if (!isWalkable(nx, ny) || closed[nx][ny]) {
+                int dx = DIR_X[i];
+                int dy = DIR_Y[i];
+                if (parent >= 0 && !isNaturalDirection(x, y, parent % width, parent / width, dx, dy)) {
                     continue;
                 }
-                float tentativeG = current.g + 1f;
-                if (tentativeG < gScore[nx][ny]) {
-                    gScore[nx][ny] = tentativeG;
-                    float f = tentativeG + manhattan(nx, ny, goal.x, goal.y);
-                    open.add(new Node(nx, ny, tentativeG, f, current));
+                int jumpPoint = jump(x + dx, y + dy, dx, dy, goalX, goalY);
+                if (jumpPoint < 0 || context.isClosed(jumpPoint)) {
+                    continue;
+                }
+                int jx = jumpPoint % width;
+                int jy = jumpPoint / width;
+                float tentativeG = currentG + Math.abs(jx - x) + Math.abs(jy - y);
+                if (tentativeG < context.getG(jumpPoint)) {
+                    context.setG(jumpPoint, tentativeG, current);
+                    open.push(jumpPoint, tentativeG + heuristic(jx, jy, goalX, goalY));
                 }
             }
         }
+        return false;
+    }
 
-        return new ArrayList<>();
+    /**
+     * Checks whether a direction survives pruning when arriving at a tile from its parent.
+     * Going back is never useful; every other direction is kept if its first tile is walkable.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @param parentX parent tile x
+     * @param parentY parent tile y
+     * @param dx direction x
+     * @param dy direction y
+     * @return {@code true} if the direction should be explored
+     */
+    private boolean isNaturalDirection(int x, int y, int parentX, int parentY, int dx, int dy) {
+        int travelX = Integer.signum(x - parentX);
+        int travelY = Integer.signum(y - parentY);
+        if (dx == -travelX && dy == -travelY) {
+            return false;
+        }
+        return isWalkable(x + dx, y + dy);
+    }
+
+    /**
+     * Walks from a tile in one direction until reaching the goal, a tile with a forced neighbour, or a wall.
+     * While moving vertically, a tile is also a jump point if a horizontal jump from it finds one.
+     *
+     * @param x first tile x
+     * @param y first tile y
+     * @param dx direction x
+     * @param dy direction y
+     * @param goalX goal tile x
+     * @param goalY goal tile y
+     * @return cell of the jump point, or -1 if the walk hit a wall
+     */
+    private int jump(int x, int y, int dx, int dy, int goalX, int goalY) {
+        int width = walkabilityGrid.getWidth();
+        while (isWalkable(x, y)) {
+            if (x == goalX && y == goalY) {
+                return y * width + x;
+            }
+            if (dx != 0) {
+                if ((isWalkable(x, y - 1) && !isWalkable(x - dx, y - 1))
+                        || (isWalkable(x, y + 1) && !isWalkable(x - dx, y + 1))) {
+                    return y * width + x;
+                }
+            } else {
+                if ((isWalkable(x - 1, y) && !isWalkable(x - 1, y - dy))
+                        || (isWalkable(x + 1, y) && !isWalkable(x + 1, y - dy))) {
+                    return y * width + x;
+                }
+                if (jump(x + 1, y, 1, 0, goalX, goalY) >= 0 || jump(x - 1, y, -1, 0, goalX, goalY) >= 0) {
+                    return y * width + x;
+                }
+            }
+            x += dx;
+            y += dy;
+        }
+        return -1;
+    }
+
+    /**
+     * Writes the tile path through the jump points ending at a goal cell.
+     * Consecutive jump points share a row or column, so the tiles between them are filled in directly.
+     *
+     * @param context search context holding the parent links
+     * @param goal goal cell
+     * @param out buffer receiving the path without the start tile
+     */
+    private void reconstructJumpPath(SearchContext context, int goal, PathBuffer out) {
+        int width = walkabilityGrid.getWidth();
+        for (int cell = goal; context.getParent(cell) >= 0; cell = context.getParent(cell)) {
+            int parent = context.getParent(cell);
+            int step = Math.abs(parent - cell) < width ? Integer.signum(parent - cell) : Integer.signum(parent - cell) * width;
+            for (int tile = cell; tile != parent; tile += step) {
+                out.add(tile);
+            }
+        }
+        out.reverse();
     }
 
     // Sometimes due floating point precision (or the player going out of bounds),
@@ -114,35 +367,30 @@ public int clampCoord(int value, int maxExclusive) {
     }
 
     /**
-     * Reconstructs the path from a terminal node.
+     * Writes the path ending at a goal cell by following parent links back to the start.
      *
-     * @param node terminal node
-     * @param startX start tile x
-     * @param startY start tile y
-     * @return reconstructed path
-     */
-    private ArrayList<GridPoint2> reconstructPath(Node node, int startX, int startY) {
-        ArrayDeque<GridPoint2> reversed = new ArrayDeque<>();
-        Node current = node;
-        while (current != null) {
-            if (!(current.x == startX && current.y == startY)) {
-                reversed.addFirst(new GridPoint2(current.x, current.y));
-            }
-            current = current.parent;
+     * @param context search context holding the parent links
+     * @param goal goal cell
+     * @param out buffer receiving the path without the start tile
+     */
+    private void reconstructPath(SearchContext context, int goal, PathBuffer out) {
+        for (int cell = goal; context.getParent(cell) >= 0; cell = context.getParent(cell)) {
+            out.add(cell);
         }
-        return new ArrayList<>(reversed);
+        out.reverse();
     }
 
     /**
-     * Manhattan distance heuristic.
+     * Estimates the remaining cost to the goal. Must never overestimate, or paths stop being optimal.
+     * Defaults to the Manhattan distance.
      *
      * @param x current x
      * @param y current y
      * @param goalX goal x
      * @param goalY goal y
-     * @return manhattan distance
+     * @return lower bound on the remaining steps
      */
-    private float manhattan(int x, int y, int goalX, int goalY) {
+    protected float heuristic(int x, int y, int goalX, int goalY) {
         return Math.abs(goalX - x) + Math.abs(goalY - y);
     }
 
@@ -153,80 +401,7 @@ private float manhattan(int x, int y, int goalX, int goalY) {
      * @param y tile y
      * @return {@code true} if walkable
      */
-    private boolean isWalkable(int x, int y) {
-        if (x < 0 || y < 0 || x >= collisionLayer.getWidth() || y >= collisionLayer.getHeight()) {
-            return false;
-        }
-        return collisionLayer.getCell(x, y) == null;
-    }
-
-    /**
-     * Finds the closest walkable tile to a starting position.
-     *
-     * @param startX start tile x
-     * @param startY start tile y
-     * @return closest walkable tile, or {@code null} if none
-     */
-    private GridPoint2 findClosestWalkable(int startX, int startY) {
-        if (isWalkable(startX, startY)) {
-            return new GridPoint2(startX, startY);
-        }
-
-        int width = collisionLayer.getWidth();
-        int height = collisionLayer.getHeight();
-        boolean[][] visited = new boolean[width][height];
-        ArrayDeque<GridPoint2> queue = new ArrayDeque<>();
-        queue.add(new GridPoint2(startX, startY));
-        visited[startX][startY] = true;
-
-        while (!queue.isEmpty()) {
-            GridPoint2 current = queue.poll();
-            for (int i = 0; i < 4; i++) {
-                int nx = current.x + DIR_X[i];
-                int ny = current.y + DIR_Y[i];
-                if (nx < 0 || ny < 0 || nx >= width || ny >= height || visited[nx][ny]) {
-                    continue;
-                }
-                if (isWalkable(nx, ny)) {
-                    return new GridPoint2(nx, ny);
-                }
-                visited[nx][ny] = true;
-                queue.add(new GridPoint2(nx, ny));
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Node used by the A* search.
-     */
-    private static class Node {
-        /** Tile x coordinate. */
-        private final int x;
-        /** Tile y coordinate. */
-        private final int y;
-        /** Cost from start. */
-        private final float g;
-        /** Estimated total cost. */
-        private final float f;
-        /** Parent node for path reconstruction. */
-        private final Node parent;
-
-        /**
-         * Creates a node for the search.
-         *
-         * @param x tile x
-         * @param y tile y
-         * @param g cost from start
-         * @param f total estimated cost
-         * @param parent parent node
-         */
-        private Node(int x, int y, float g, float f, Node parent) {
-            this.x = x;
-            this.y = y;
-            this.g = g;
-            this.f = f;
-            this.parent = parent;
-        }
+    protected boolean isWalkable(int x, int y) {
+        return walkabilityGrid.isWalkable(x, y);
     }
 }
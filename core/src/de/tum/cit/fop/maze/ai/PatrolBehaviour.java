@@ -1,8 +1,8 @@
 package de.tum.cit.fop.maze.ai;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.GridPoint2;
 import com.badlogic.gdx.math.MathUtils;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 
 /**
  * AI behavior for patrolling between random tiles.
@@ -12,8 +12,10 @@ public class PatrolBehaviour extends AIBehaviour {
     private static final float MIN_WAIT = 0.5f;
     /** Maximum wait time at a patrol point. */
     private static final float MAX_WAIT = 2f;
-    /** Current patrol target tile. */
+    /** Current patrol target tile, {@link #patrolTile} or {@code null}. */
     private GridPoint2 patrolTarget = null;
+    /** Reused storage for the patrol target. */
+    private final GridPoint2 patrolTile = new GridPoint2();
     /** Timer for waiting at a point. */
     private float waitTimer = 0f;
     /** Current randomized wait duration. */
@@ -22,12 +24,10 @@ public class PatrolBehaviour extends AIBehaviour {
     /**
      * Creates a patrol behavior.
      *
-     * @param width map width in tiles
-     * @param height map height in tiles
-     * @param collisionLayer collision layer
+     * @param walkabilityGrid walkability grid
      */
-    public PatrolBehaviour(int width, int height, TiledMapTileLayer collisionLayer) {
-        super(width, height, collisionLayer);
+    public PatrolBehaviour(WalkabilityGrid walkabilityGrid) {
+        super(walkabilityGrid);
     }
 
     /**
@@ -43,7 +43,7 @@ public GridPoint2 getPatrolTarget() {
      * Starts patrolling to a random free tile.
      */
     public void startPatrol() {
-        patrolTarget = findRandomFreeTile();
+        patrolTarget = findRandomFreeTile(patrolTile) ? patrolTile : null;
         waitTimer = 0f;
         waitDuration = 0f;
     }
@@ -0,0 +1,197 @@
+package de.tum.cit.fop.maze.ai;
+
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.Arrays;
+
+/**
+ * Travel costs from walkable tiles to the player's tile, shared by all chasing enemies.
+ * <p>
+ * The field is a Dijkstra search from the player's tile over an {@link IntBucketQueue}. Stepping onto a trap
+ * costs {@link TileCost#TRAP_STEP_COST}, any other tile 1, so chasing police go around potholes unless the
+ * detour is longer. The search keeps its queue between calls and only expands as far as the enemies asking
+ * for directions need. Pursuers are usually close to the player, so most of the map is never touched. When
+ * the player enters a new tile or a trap is placed the search restarts; stale costs are dropped by bumping a
+ * generation counter instead of clearing the arrays. An enemy picks its next tile by looking at its four
+ * neighbours, so chasing costs the same no matter how many enemies are after the player.
+ */
+public class PlayerFlowField {
+    /** X offsets for cardinal movement, in the same order as {@link Pathfinder}. */
+    private static final int[] DIR_X = {1, -1, 0, 0};
+    /** Y offsets for cardinal movement, in the same order as {@link Pathfinder}. */
+    private static final int[] DIR_Y = {0, 0, 1, -1};
+    /** Cost of tiles the player cannot be reached from, or not reached yet. */
+    private static final int UNREACHABLE = -1;
+
+    /** Grid the field is built on. */
+    private final WalkabilityGrid walkabilityGrid;
+    /** Cost to the player's tile per cell, valid if the cell's stamp matches {@link #generation}. */
+    private final int[] distance;
+    /** Generation in which each cell's cost was set. */
+    private final int[] stamp;
+    /** Generation in which each cell's cost became final. */
+    private final int[] settledStamp;
+    /** Search queue, kept between calls. */
+    private final IntBucketQueue queue = new IntBucketQueue(TileCost.TRAP_STEP_COST);
+    /** Current search, never 0 so fresh stamps count as stale. */
+    private int generation = 0;
+    /** Tile x the field currently points to. */
+    private int targetX = Integer.MIN_VALUE;
+    /** Tile y the field currently points to. */
+    private int targetY = Integer.MIN_VALUE;
+    /** Grid layer version the current search runs against. */
+    private int gridVersion = -1;
+
+    /**
+     * Creates an empty flow field for a grid.
+     *
+     * @param walkabilityGrid walkability grid
+     */
+    public PlayerFlowField(WalkabilityGrid walkabilityGrid) {
+        this.walkabilityGrid = walkabilityGrid;
+        int cells = walkabilityGrid.getWidth() * walkabilityGrid.getHeight();
+        distance = new int[cells];
+        stamp = new int[cells];
+        settledStamp = new int[cells];
+    }
+
+    /**
+     * Points the field at the player's tile. Restarts the search only if the tile or the grid's traps changed.
+     * The target is seeded even if it is blocked, so enemies still close in on a player clipping a wall.
+     *
+     * @param tileX player tile x, inside the grid
+     * @param tileY player tile y, inside the grid
+     */
+    public void update(int tileX, int tileY) {
+        int version = walkabilityGrid.getVersion();
+        if (tileX == targetX && tileY == targetY && version == gridVersion) {
+            return;
+        }
+        targetX = tileX;
+        targetY = tileY;
+        gridVersion = version;
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(settledStamp, 0);
+            generation = 1;
+        }
+        int start = tileY * walkabilityGrid.getWidth() + tileX;
+        queue.clear();
+        reach(start, 0);
+    }
+
+    /**
+     * Writes the next tile towards the player into a path buffer.
+     *
+     * @param x current tile x
+     * @param y current tile y
+     * @param out buffer receiving a single step, left empty if already there or if the player is unreachable
+     * @return {@code true} if a step was written
+     */
+    public boolean nextStep(int x, int y, PathBuffer out) {
+        int width = walkabilityGrid.getWidth();
+        out.begin(width);
+        int current = walkabilityGrid.inBounds(x, y) ? settle(y * width + x) : UNREACHABLE;
+        if (current == 0) {
+            return false;
+        }
+        // A settled cell was reached from a settled neighbour, which is the cheapest way on. Neighbours not
+        // settled yet cost at least as much as this cell, so they never win. An unreachable cell has
+        // exhausted the search, so every neighbour is settled as well.
+        int best = -1;
+        int bestCost = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int nx = x + DIR_X[i];
+            int ny = y + DIR_Y[i];
+            if (!walkabilityGrid.inBounds(nx, ny)) {
+                continue;
+            }
+            int cell = ny * width + nx;
+            int d = distanceOf(cell);
+            if (d != UNREACHABLE && d + stepCost(cell) < bestCost) {
+                best = cell;
+                bestCost = d + stepCost(cell);
+            }
+        }
+        if (best < 0) {
+            return false;
+        }
+        out.add(best);
+        return true;
+    }
+
+    /**
+     * Returns the travel cost from a tile to the player.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return sum of the step costs of the tiles on the way, or -1 if the player cannot be reached from there
+     */
+    public int getDistance(int x, int y) {
+        return walkabilityGrid.inBounds(x, y) ? settle(y * walkabilityGrid.getWidth() + x) : UNREACHABLE;
+    }
+
+    /**
+     * Expands the search until a cell has its final cost or nothing is left to expand.
+     *
+     * @param cell cell index
+     * @return cost of the cell, or {@link #UNREACHABLE}
+     */
+    private int settle(int cell) {
+        int width = walkabilityGrid.getWidth();
+        while (settledStamp[cell] != generation && !queue.isEmpty()) {
+            int current = queue.pop();
+            if (settledStamp[current] == generation || distance[current] != queue.getCurrentKey()) {
+                continue;
+            }
+            settledStamp[current] = generation;
+            int x = current % width;
+            int y = current / width;
+            // A pursuer on a neighbour pays for stepping onto this tile
+            int next = distance[current] + stepCost(current);
+            for (int i = 0; i < 4; i++) {
+                int nx = x + DIR_X[i];
+                int ny = y + DIR_Y[i];
+                if (!walkabilityGrid.isWalkable(nx, ny)) {
+                    continue;
+                }
+                int neighbour = ny * width + nx;
+                if (stamp[neighbour] != generation || next < distance[neighbour]) {
+                    reach(neighbour, next);
+                }
+            }
+        }
+        return settledStamp[cell] == generation ? distance[cell] : UNREACHABLE;
+    }
+
+    /**
+     * Assigns a cell a cost and queues it for expansion.
+     *
+     * @param cell cell index
+     * @param cost cost to the player's tile
+     */
+    private void reach(int cell, int cost) {
+        stamp[cell] = generation;
+        distance[cell] = cost;
+        queue.push(cell, cost);
+    }
+
+    /**
+     * Returns the cost of stepping onto a cell.
+     *
+     * @param cell cell index
+     * @return {@link TileCost#TRAP_STEP_COST} for a trap, otherwise 1
+     */
+    private int stepCost(int cell) {
+        return walkabilityGrid.isTrapIndex(cell) ? TileCost.TRAP_STEP_COST : 1;
+    }
+
+    /**
+     * Returns the cost of a cell in the current search.
+     *
+     * @param cell cell index
+     * @return cost so far, or {@link #UNREACHABLE} if not reached yet
+     */
+    private int distanceOf(int cell) {
+        return stamp[cell] == generation ? distance[cell] : UNREACHABLE;
+    }
+}
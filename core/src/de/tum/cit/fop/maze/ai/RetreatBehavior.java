@@ -1,7 +1,7 @@
 package de.tum.cit.fop.maze.ai;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.GridPoint2;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 
 /**
  * AI behavior for retreating to a random safe tile.
@@ -9,20 +9,20 @@
 public class RetreatBehavior extends AIBehaviour {
     /** Duration to wait while retreating. */
     private static final float WAIT_DURATION = 3f;
-    /** Current retreat target tile. */
+    /** Current retreat target tile, {@link #retreatTile} or {@code null}. */
     private GridPoint2 retreatTarget = null;
+    /** Reused storage for the retreat target. */
+    private final GridPoint2 retreatTile = new GridPoint2();
     /** Timer for retreat waiting. */
     private float waitTimer = 0f;
 
     /**
      * Creates a retreat behavior.
      *
-     * @param width map width in tiles
-     * @param height map height in tiles
-     * @param collisionLayer collision layer
+     * @param walkabilityGrid walkability grid
      */
-    public RetreatBehavior(int width, int height, TiledMapTileLayer collisionLayer) {
-        super(width, height, collisionLayer);
+    public RetreatBehavior(WalkabilityGrid walkabilityGrid) {
+        super(walkabilityGrid);
     }
 
     /**
@@ -38,7 +38,7 @@ public GridPoint2 getRetreatTarget() {
      * Starts retreating to a random free tile.
      */
     public void startRetreat() {
-        retreatTarget = findRandomFreeTile();
+        retreatTarget = findRandomFreeTile(retreatTile) ? retreatTile : null;
         waitTimer = 0f;
     }
 
@@ -63,4 +63,12 @@ public boolean updateWait(float delta) {
         }
         return false;
     }
+
+    /**
+     * Clears retreat state.
+     */
+    public void clear() {
+        retreatTarget = null;
+        waitTimer = 0f;
+    }
 }
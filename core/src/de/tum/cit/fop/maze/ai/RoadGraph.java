@@ -0,0 +1,309 @@
+package de.tum.cit.fop.maze.ai;
+
+import com.badlogic.gdx.utils.IntArray;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Road network collapsed into a graph of corridors and intersections.
+ * <p>
+ * Roads are several lanes wide, so every road tile is classified by the length of the straight road runs
+ * through it: a tile on a short cross-section and a long run is part of a horizontal or vertical corridor,
+ * anything else is part of an intersection, bend or dead end. Connected tiles of the same kind form one
+ * region and become one node. Touching regions are joined by an edge through a portal tile on their
+ * shared border. Edges are stored in flat adjacency arrays; since regions are nearly rectangular, the
+ * Manhattan distance between portals is a good estimate of the driving distance.
+ */
+public final class RoadGraph {
+    /** Roads at most this many tiles across count as a single corridor. */
+    private static final int LANE_LIMIT = 6;
+    /** Tile kind of road tiles at intersections, bends and dead ends. */
+    private static final byte JUNCTION = 1;
+    /** Tile kind of road tiles in a horizontal corridor. */
+    private static final byte HORIZONTAL = 2;
+    /** Tile kind of road tiles in a vertical corridor. */
+    private static final byte VERTICAL = 3;
+    /** X offsets for cardinal movement. */
+    private static final int[] DIR_X = {1, -1, 0, 0};
+    /** Y offsets for cardinal movement. */
+    private static final int[] DIR_Y = {0, 0, 1, -1};
+    /** Graph of each grid, stored on the grid. */
+    private static final GridCache<RoadGraph> CACHE = new GridCache<>(RoadGraph::new);
+
+    /** Grid the graph is built on. */
+    private final WalkabilityGrid walkabilityGrid;
+    /** Region id per cell, -1 for cells off the road. */
+    private final int[] regionOfCell;
+    /** Number of regions. */
+    private final int regionCount;
+    /** First edge slot per region in {@link #edgeTargets}, with one extra entry at the end. */
+    private final int[] edgeStart;
+    /** Target region per edge. */
+    private final int[] edgeTargets;
+    /** Tile inside the target region where each edge enters it. */
+    private final int[] edgePortals;
+
+    /**
+     * Builds the graph for a grid.
+     *
+     * @param walkabilityGrid walkability grid with road flags
+     */
+    private RoadGraph(WalkabilityGrid walkabilityGrid) {
+        this.walkabilityGrid = walkabilityGrid;
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        regionOfCell = new int[width * height];
+        Arrays.fill(regionOfCell, -1);
+
+        byte[] kinds = classifyTiles();
+        regionCount = findRegions(kinds);
+
+        IntArray edgeFrom = new IntArray();
+        IntArray edgeTo = new IntArray();
+        IntArray edgePortal = new IntArray();
+        findBorders(edgeFrom, edgeTo, edgePortal);
+
+        edgeStart = new int[regionCount + 1];
+        for (int i = 0; i < edgeFrom.size; i++) {
+            edgeStart[edgeFrom.get(i) + 1]++;
+        }
+        for (int i = 0; i < regionCount; i++) {
+            edgeStart[i + 1] += edgeStart[i];
+        }
+        edgeTargets = new int[edgeFrom.size];
+        edgePortals = new int[edgeFrom.size];
+        int[] fill = Arrays.copyOf(edgeStart, regionCount);
+        for (int i = 0; i < edgeFrom.size; i++) {
+            int slot = fill[edgeFrom.get(i)]++;
+            edgeTargets[slot] = edgeTo.get(i);
+            edgePortals[slot] = edgePortal.get(i);
+        }
+    }
+
+    /**
+     * Returns the graph for a grid, building it on first use.
+     *
+     * @param walkabilityGrid walkability grid with road flags
+     * @return road graph
+     */
+    public static RoadGraph forGrid(WalkabilityGrid walkabilityGrid) {
+        return CACHE.get(walkabilityGrid);
+    }
+
+    /**
+     * Returns the grid this graph is built on.
+     *
+     * @return walkability grid
+     */
+    public WalkabilityGrid getWalkabilityGrid() {
+        return walkabilityGrid;
+    }
+
+    /**
+     * Returns the number of regions.
+     *
+     * @return region count
+     */
+    public int getRegionCount() {
+        return regionCount;
+    }
+
+    /**
+     * Returns the region containing a cell.
+     *
+     * @param cell cell index
+     * @return region id, or -1 if the cell is not a road tile
+     */
+    public int getRegionOfCell(int cell) {
+        return regionOfCell[cell];
+    }
+
+    /**
+     * Returns the first edge slot of a region.
+     *
+     * @param region region id
+     * @return first edge slot
+     */
+    public int getEdgeStart(int region) {
+        return edgeStart[region];
+    }
+
+    /**
+     * Returns the slot after the last edge of a region.
+     *
+     * @param region region id
+     * @return end slot, exclusive
+     */
+    public int getEdgeEnd(int region) {
+        return edgeStart[region + 1];
+    }
+
+    /**
+     * Returns the target region of an edge.
+     *
+     * @param edge edge slot
+     * @return target region id
+     */
+    public int getEdgeTarget(int edge) {
+        return edgeTargets[edge];
+    }
+
+    /**
+     * Returns the tile where an edge enters its target region.
+     *
+     * @param edge edge slot
+     * @return cell index
+     */
+    public int getEdgePortal(int edge) {
+        return edgePortals[edge];
+    }
+
+    /**
+     * Classifies every road tile by the straight road runs through it.
+     *
+     * @return tile kind per cell, 0 for cells off the road
+     */
+    private byte[] classifyTiles() {
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        int[] horizontalRun = new int[width * height];
+        int[] verticalRun = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            int runStart = 0;
+            for (int x = 0; x <= width; x++) {
+                if (x < width && walkabilityGrid.isRoad(x, y)) {
+                    continue;
+                }
+                for (int i = runStart; i < x; i++) {
+                    horizontalRun[y * width + i] = x - runStart;
+                }
+                runStart = x + 1;
+            }
+        }
+        for (int x = 0; x < width; x++) {
+            int runStart = 0;
+            for (int y = 0; y <= height; y++) {
+                if (y < height && walkabilityGrid.isRoad(x, y)) {
+                    continue;
+                }
+                for (int i = runStart; i < y; i++) {
+                    verticalRun[i * width + x] = y - runStart;
+                }
+                runStart = y + 1;
+            }
+        }
+
+        byte[] kinds = new byte[width * height];
+        for (int cell = 0; cell < kinds.length; cell++) {
+            int across = horizontalRun[cell];
+            int along = verticalRun[cell];
+            if (across == 0) {
+                continue;
+            }
+            if (along <= LANE_LIMIT && across > LANE_LIMIT) {
+                kinds[cell] = HORIZONTAL;
+            } else if (across <= LANE_LIMIT && along > LANE_LIMIT) {
+                kinds[cell] = VERTICAL;
+            } else {
+                kinds[cell] = JUNCTION;
+            }
+        }
+        return kinds;
+    }
+
+    /**
+     * Groups connected road tiles of the same kind into regions and fills {@link #regionOfCell}.
+     *
+     * @param kinds tile kind per cell
+     * @return number of regions
+     */
+    private int findRegions(byte[] kinds) {
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        int[] queue = new int[width * height];
+        int regions = 0;
+        for (int seed = 0; seed < kinds.length; seed++) {
+            if (kinds[seed] == 0 || regionOfCell[seed] >= 0) {
+                continue;
+            }
+            int region = regions++;
+            int head = 0;
+            int tail = 0;
+            regionOfCell[seed] = region;
+            queue[tail++] = seed;
+            while (head < tail) {
+                int current = queue[head++];
+                int x = current % width;
+                int y = current / width;
+                for (int i = 0; i < 4; i++) {
+                    int nx = x + DIR_X[i];
+                    int ny = y + DIR_Y[i];
+                    if (nx < 0 || ny < 0 || nx >= width || ny >= height) {
+                        continue;
+                    }
+                    int neighbour = ny * width + nx;
+                    if (kinds[neighbour] != kinds[seed] || regionOfCell[neighbour] >= 0) {
+                        continue;
+                    }
+                    regionOfCell[neighbour] = region;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        return regions;
+    }
+
+    /**
+     * Finds all borders between touching regions and records one edge per direction, entering the target
+     * region in the middle of the shared border.
+     *
+     * @param edgeFrom receives edge sources
+     * @param edgeTo receives edge targets
+     * @param edgePortal receives portal cells
+     */
+    private void findBorders(IntArray edgeFrom, IntArray edgeTo, IntArray edgePortal) {
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        Map<Long, IntArray> borders = new LinkedHashMap<>();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int cell = y * width + x;
+                if (regionOfCell[cell] < 0) {
+                    continue;
+                }
+                if (x + 1 < width) {
+                    addBorder(cell, cell + 1, borders);
+                }
+                if (y + 1 < height) {
+                    addBorder(cell, cell + width, borders);
+                }
+            }
+        }
+        for (Map.Entry<Long, IntArray> border : borders.entrySet()) {
+            long key = border.getKey();
+            IntArray cells = border.getValue();
+            edgeFrom.add((int) (key >>> 32));
+            edgeTo.add((int) key);
+            edgePortal.add(cells.get(cells.size / 2));
+        }
+    }
+
+    /**
+     * Records a pair of adjacent cells if they lie in different regions.
+     *
+     * @param cellA road cell
+     * @param cellB adjacent cell
+     * @param borders border cells per directed region pair, keyed by source and target region
+     */
+    private void addBorder(int cellA, int cellB, Map<Long, IntArray> borders) {
+        int regionA = regionOfCell[cellA];
+        int regionB = regionOfCell[cellB];
+        if (regionB < 0 || regionA == regionB) {
+            return;
+        }
+        borders.computeIfAbsent(((long) regionA << 32) | regionB, key -> new IntArray()).add(cellB);
+        borders.computeIfAbsent(((long) regionB << 32) | regionA, key -> new IntArray()).add(cellA);
+    }
+}
@@ -0,0 +1,192 @@
+package de.tum.cit.fop.maze.ai;
+
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.Arrays;
+
+/**
+ * Exact road distances from a few landmark tiles to every road tile, for the ALT heuristic.
+ * <p>
+ * For a landmark L and any two road tiles a and b, the triangle inequality gives
+ * {@code |d(L, b) - d(L, a)| <= d(a, b)}. The largest of these bounds is a lower bound on the road distance
+ * that, unlike Manhattan distance, accounts for blocks the road has to go around. Landmarks are picked far
+ * apart, each one the road tile furthest from those already chosen. Distances are stored per road tile,
+ * with the values of all landmarks next to each other.
+ */
+public final class RoadLandmarks {
+    /** Number of landmarks. */
+    public static final int LANDMARK_COUNT = 8;
+    /** Distance of tiles a landmark cannot reach. */
+    private static final int UNREACHABLE = -1;
+    /** X offsets for cardinal movement. */
+    private static final int[] DIR_X = {1, -1, 0, 0};
+    /** Y offsets for cardinal movement. */
+    private static final int[] DIR_Y = {0, 0, 1, -1};
+    /** Landmarks of each grid, stored on the grid. */
+    private static final GridCache<RoadLandmarks> CACHE = new GridCache<>(RoadLandmarks::new);
+
+    /** Compact index per cell, -1 for cells off the road. */
+    private final int[] roadIndex;
+    /** Landmark distances, {@link #LANDMARK_COUNT} entries per road tile. */
+    private final int[] distances;
+    /** Number of landmarks actually placed, lower than {@link #LANDMARK_COUNT} on tiny road networks. */
+    private final int landmarkCount;
+    /** Number of road tiles, an upper bound on any road distance. */
+    private final int roadCount;
+
+    /**
+     * Picks the landmarks of a grid and measures their distances.
+     *
+     * @param walkabilityGrid walkability grid with road flags
+     */
+    private RoadLandmarks(WalkabilityGrid walkabilityGrid) {
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        roadIndex = new int[width * height];
+        Arrays.fill(roadIndex, -1);
+        int roadCount = 0;
+        int firstRoad = -1;
+        for (int cell = 0; cell < roadIndex.length; cell++) {
+            if (walkabilityGrid.isRoadIndex(cell)) {
+                if (firstRoad < 0) {
+                    firstRoad = cell;
+                }
+                roadIndex[cell] = roadCount++;
+            }
+        }
+        this.roadCount = roadCount;
+        distances = new int[roadCount * LANDMARK_COUNT];
+
+        int[] field = new int[width * height];
+        int[] queue = new int[roadCount];
+        int[] closest = new int[width * height];
+        Arrays.fill(closest, Integer.MAX_VALUE);
+        int placed = 0;
+        int landmark = firstRoad < 0 ? -1 : furthestFrom(walkabilityGrid, firstRoad, field, queue);
+        while (landmark >= 0 && placed < LANDMARK_COUNT) {
+            fillDistances(walkabilityGrid, landmark, field, queue);
+            int next = -1;
+            for (int cell = 0; cell < field.length; cell++) {
+                int index = roadIndex[cell];
+                if (index < 0) {
+                    continue;
+                }
+                distances[index * LANDMARK_COUNT + placed] = field[cell];
+                if (field[cell] != UNREACHABLE) {
+                    closest[cell] = Math.min(closest[cell], field[cell]);
+                    if (closest[cell] > 0 && (next < 0 || closest[cell] > closest[next])) {
+                        next = cell;
+                    }
+                }
+            }
+            placed++;
+            landmark = next;
+        }
+        landmarkCount = placed;
+    }
+
+    /**
+     * Returns the landmarks for a grid, building them on first use.
+     *
+     * @param walkabilityGrid walkability grid with road flags
+     * @return road landmarks
+     */
+    public static RoadLandmarks forGrid(WalkabilityGrid walkabilityGrid) {
+        return CACHE.get(walkabilityGrid);
+    }
+
+    /**
+     * Returns the number of landmarks placed.
+     *
+     * @return landmark count
+     */
+    public int getLandmarkCount() {
+        return landmarkCount;
+    }
+
+    /**
+     * Returns the number of road tiles.
+     *
+     * @return road tile count
+     */
+    public int getRoadCount() {
+        return roadCount;
+    }
+
+    /**
+     * Returns a lower bound on the road distance between two tiles.
+     *
+     * @param cell cell index
+     * @param goal goal cell index
+     * @return best landmark bound, 0 if either tile is off the road or no landmark reaches both
+     */
+    public int lowerBound(int cell, int goal) {
+        int from = roadIndex[cell];
+        int to = roadIndex[goal];
+        if (from < 0 || to < 0) {
+            return 0;
+        }
+        from *= LANDMARK_COUNT;
+        to *= LANDMARK_COUNT;
+        int best = 0;
+        for (int i = 0; i < landmarkCount; i++) {
+            int a = distances[from + i];
+            int b = distances[to + i];
+            if (a != UNREACHABLE && b != UNREACHABLE) {
+                best = Math.max(best, Math.abs(a - b));
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the road tile furthest from a given one.
+     *
+     * @param walkabilityGrid walkability grid
+     * @param source source cell, a road tile
+     * @param field scratch distance field
+     * @param queue scratch queue
+     * @return furthest cell
+     */
+    private static int furthestFrom(WalkabilityGrid walkabilityGrid, int source, int[] field, int[] queue) {
+        int last = fillDistances(walkabilityGrid, source, field, queue);
+        return queue[last];
+    }
+
+    /**
+     * Measures road distances from a source tile with a breadth-first pass.
+     *
+     * @param walkabilityGrid walkability grid
+     * @param source source cell, a road tile
+     * @param field receives distances per cell, {@link #UNREACHABLE} where the road does not lead
+     * @param queue scratch queue, one slot per road tile
+     * @return queue position of the last tile reached, which is one of the furthest
+     */
+    private static int fillDistances(WalkabilityGrid walkabilityGrid, int source, int[] field, int[] queue) {
+        int width = walkabilityGrid.getWidth();
+        Arrays.fill(field, UNREACHABLE);
+        int head = 0;
+        int tail = 0;
+        field[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int current = queue[head++];
+            int x = current % width;
+            int y = current / width;
+            int next = field[current] + 1;
+            for (int i = 0; i < 4; i++) {
+                int nx = x + DIR_X[i];
+                int ny = y + DIR_Y[i];
+                if (!walkabilityGrid.isRoad(nx, ny)) {
+                    continue;
+                }
+                int neighbour = ny * width + nx;
+                if (field[neighbour] != UNREACHABLE) {
+                    continue;
+                }
+                field[neighbour] = next;
+                queue[tail++] = neighbour;
+            }
+        }
+        return tail - 1;
+    }
+}
@@ -1,147 +1,30 @@
 package de.tum.cit.fop.maze.ai;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.math.GridPoint2;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Comparator;
-import java.util.PriorityQueue;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 
 /**
  * A* pathfinding restricted to road tiles.
+ * <p>
+ * Searches are guided by {@link RoadLandmarks}, which see the blocks between roads that Manhattan distance
+ * ignores. Roads are several lanes wide, so many paths are equally short; the estimate is scaled up by less
+ * than one step over any road distance, which makes the search follow one of them instead of widening
+ * across all of them, and keeps paths optimal.
  */
-public class RoadPathfinder {
-    /** X offsets for cardinal movement. */
-    private static final int[] DIR_X = {1, -1, 0, 0};
-    /** Y offsets for cardinal movement. */
-    private static final int[] DIR_Y = {0, 0, 1, -1};
-    /** Road layer used to check walkability. */
-    private final TiledMapTileLayer roadLayer;
+public class RoadPathfinder extends Pathfinder {
+    /** Landmark distances of the grid. */
+    private final RoadLandmarks landmarks;
+    /** Factor breaking ties between equally short paths towards the one closer to the goal. */
+    private final float tieBreak;
 
     /**
      * Creates a road pathfinder.
      *
-     * @param roadLayer road layer
+     * @param walkabilityGrid walkability grid with road flags
      */
-    public RoadPathfinder(TiledMapTileLayer roadLayer) {
-        this.roadLayer = roadLayer;
-    }
-
-    /**
-     * Finds a path between start and goal coordinates on road tiles.
-     *
-     * @param startX start tile x
-     * @param startY start tile y
-     * @param goalX goal tile x
-     * @param goalY goal tile y
-     * @return list of path points, empty if none
-     */
-    public ArrayList<GridPoint2> findPath(int startX, int startY, int goalX, int goalY) {
-        int width = roadLayer.getWidth();
-        int height = roadLayer.getHeight();
-
-        startX = clampCoord(startX, width);
-        startY = clampCoord(startY, height);
-        goalX = clampCoord(goalX, width);
-        goalY = clampCoord(goalY, height);
-
-        GridPoint2 start = findClosestWalkable(startX, startY);
-        GridPoint2 goal = findClosestWalkable(goalX, goalY);
-        if (start == null || goal == null) {
-            return new ArrayList<>();
-        }
-        if (start.equals(goal)) {
-            return new ArrayList<>();
-        }
-
-        float[][] gScore = new float[width][height];
-        boolean[][] closed = new boolean[width][height];
-        for (int x = 0; x < width; x++) {
-            Arrays.fill(gScore[x], Float.POSITIVE_INFINITY);
-        }
-
-        PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingDouble(n -> n.f));
-        Node startNode = new Node(start.x, start.y, 0f, manhattan(start.x, start.y, goal.x, goal.y), null);
-        gScore[start.x][start.y] = 0f;
-        open.add(startNode);
-
-        while (!open.isEmpty()) {
-            Node current = open.poll();
-            if (closed[current.x][current.y]) {
-                continue;
-            }
-            if (current.x == goal.x && current.y == goal.y) {
-                return reconstructPath(current, start.x, start.y);
-            }
-            closed[current.x][current.y] = true;
-
-            for (int i = 0; i < 4; i++) {
-                int nx = current.x + DIR_X[i];
-                int ny = current.y + DIR_Y[i];
-                if (!isWalkable(nx, ny) || closed[nx][ny]) {
-                    continue;
-                }
-                float tentativeG = current.g + 1f;
-                if (tentativeG < gScore[nx][ny]) {
-                    gScore[nx][ny] = tentativeG;
-                    float f = tentativeG + manhattan(nx, ny, goal.x, goal.y);
-                    open.add(new Node(nx, ny, tentativeG, f, current));
-                }
-            }
-        }
-
-        return new ArrayList<>();
-    }
-
-    /**
-     * Clamps a coordinate to the valid map range.
-     *
-     * @param value coordinate value
-     * @param maxExclusive max exclusive bound
-     * @return clamped coordinate
-     */
-    public int clampCoord(int value, int maxExclusive) {
-        if (value < 0) {
-            return 0;
-        }
-        if (value >= maxExclusive) {
-            return maxExclusive - 1;
-        }
-        return value;
-    }
-
-    /**
-     * Reconstructs the path from a terminal node.
-     *
-     * @param node terminal node
-     * @param startX start tile x
-     * @param startY start tile y
-     * @return reconstructed path
-     */
-    private ArrayList<GridPoint2> reconstructPath(Node node, int startX, int startY) {
-        ArrayDeque<GridPoint2> reversed = new ArrayDeque<>();
-        Node current = node;
-        while (current != null) {
-            if (!(current.x == startX && current.y == startY)) {
-                reversed.addFirst(new GridPoint2(current.x, current.y));
-            }
-            current = current.parent;
-        }
-        return new ArrayList<>(reversed);
-    }
-
-    /**
-     * Manhattan distance heuristic.
-     *
-     * @param x current x
-     * @param y current y
-     * @param goalX goal x
-     * @param goalY goal y
-     * @return manhattan distance
-     */
-    private float manhattan(int x, int y, int goalX, int goalY) {
-        return Math.abs(goalX - x) + Math.abs(goalY - y);
+    public RoadPathfinder(WalkabilityGrid walkabilityGrid) {
+        super(walkabilityGrid, NearestWalkableTable.forRoads(walkabilityGrid));
+        this.landmarks = RoadLandmarks.forGrid(walkabilityGrid);
+        this.tieBreak = 1f + 1f / Math.max(1, landmarks.getRoadCount());
     }
 
     /**
@@ -151,80 +34,24 @@ private float manhattan(int x, int y, int goalX, int goalY) {
      * @param y tile y
      * @return {@code true} if road tile
      */
-    private boolean isWalkable(int x, int y) {
-        if (x < 0 || y < 0 || x >= roadLayer.getWidth() || y >= roadLayer.getHeight()) {
-            return false;
-        }
-        return roadLayer.getCell(x, y) != null;
+    @Override
+    protected boolean isWalkable(int x, int y) {
+        return walkabilityGrid.isRoad(x, y);
     }
 
     /**
-     * Finds the closest road tile to a starting position.
+     * Estimates the remaining road distance from the larger of the Manhattan and landmark bounds.
      *
-     * @param startX start tile x
-     * @param startY start tile y
-     * @return closest road tile, or {@code null} if none
-     */
-    private GridPoint2 findClosestWalkable(int startX, int startY) {
-        if (isWalkable(startX, startY)) {
-            return new GridPoint2(startX, startY);
-        }
-
-        int width = roadLayer.getWidth();
-        int height = roadLayer.getHeight();
-        boolean[][] visited = new boolean[width][height];
-        ArrayDeque<GridPoint2> queue = new ArrayDeque<>();
-        queue.add(new GridPoint2(startX, startY));
-        visited[startX][startY] = true;
-
-        while (!queue.isEmpty()) {
-            GridPoint2 current = queue.poll();
-            for (int i = 0; i < 4; i++) {
-                int nx = current.x + DIR_X[i];
-                int ny = current.y + DIR_Y[i];
-                if (nx < 0 || ny < 0 || nx >= width || ny >= height || visited[nx][ny]) {
-                    continue;
-                }
-                if (isWalkable(nx, ny)) {
-                    return new GridPoint2(nx, ny);
-                }
-                visited[nx][ny] = true;
-                queue.add(new GridPoint2(nx, ny));
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Node used by the A* search.
+     * @param x current x
+     * @param y current y
+     * @param goalX goal x
+     * @param goalY goal y
+     * @return lower bound on the remaining steps
      */
-    private static class Node {
-        /** Tile x coordinate. */
-        private final int x;
-        /** Tile y coordinate. */
-        private final int y;
-        /** Cost from start. */
-        private final float g;
-        /** Estimated total cost. */
-        private final float f;
-        /** Parent node for path reconstruction. */
-        private final Node parent;
-
-        /**
-         * Creates a node for the search.
-         *
-         * @param x tile x
-         * @param y tile y
-         * @param g cost from start
-         * @param f total estimated cost
-         * @param parent parent node
-         */
-        private Node(int x, int y, float g, float f, Node parent) {
-            this.x = x;
-            this.y = y;
-            this.g = g;
-            this.f = f;
-            this.parent = parent;
-        }
+    @Override
+    protected float heuristic(int x, int y, int goalX, int goalY) {
+        int width = walkabilityGrid.getWidth();
+        float bound = Math.max(super.heuristic(x, y, goalX, goalY), landmarks.lowerBound(y * width + x, goalY * width + goalX));
+        return bound * tieBreak;
     }
 }
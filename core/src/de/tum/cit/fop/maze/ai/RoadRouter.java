@@ -0,0 +1,150 @@
+package de.tum.cit.fop.maze.ai;
+
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+
+/**
+ * Road routing on a {@link RoadGraph}.
+ * <p>
+ * A query plans a route over the corridors and intersections of the road network and keeps the portal
+ * tiles between them as waypoints. Only the leg to the next portal is searched tile by tile, via
+ * {@link #nextSegment(int, int, PathBuffer)}. Short queries and queries within a single region use the
+ * road pathfinder directly.
+ */
+public class RoadRouter extends WaypointPathfinder {
+    /** Queries spanning fewer steps than this are answered by the road pathfinder directly. */
+    private static final int DIRECT_RANGE = 32;
+
+    /** Road network of the grid. */
+    private final RoadGraph graph;
+    /** Tile where the best route found so far enters each region, plus one slot for the goal. */
+    private final int[] entryCells;
+
+    /**
+     * Creates a road router.
+     *
+     * @param walkabilityGrid walkability grid with road flags
+     * @param pathfinder road pathfinder on the same grid
+     */
+    public RoadRouter(WalkabilityGrid walkabilityGrid, RoadPathfinder pathfinder) {
+        super(pathfinder);
+        this.graph = RoadGraph.forGrid(walkabilityGrid);
+        this.entryCells = new int[graph.getRegionCount() + 1];
+    }
+
+    /**
+     * Plans a route over the road graph and writes its first leg.
+     *
+     * @param startX start tile x
+     * @param startY start tile y
+     * @param goalX goal tile x
+     * @param goalY goal tile y
+     * @param out buffer receiving the first leg, left empty if there is no path
+     * @return {@code true} if a non-empty leg was written
+     */
+    @Override
+    public boolean findPath(int startX, int startY, int goalX, int goalY, PathBuffer out) {
+        WalkabilityGrid grid = graph.getWalkabilityGrid();
+        int width = grid.getWidth();
+        clear();
+        if (Math.abs(goalX - startX) + Math.abs(goalY - startY) < DIRECT_RANGE
+                || !grid.isRoad(startX, startY) || !grid.isRoad(goalX, goalY)) {
+            return pathfinder.findPath(startX, startY, goalX, goalY, out);
+        }
+        int start = startY * width + startX;
+        int goal = goalY * width + goalX;
+        if (graph.getRegionOfCell(start) == graph.getRegionOfCell(goal)) {
+            return pathfinder.findPath(startX, startY, goalX, goalY, out);
+        }
+        if (!planRoute(start, goal)) {
+            out.begin(width);
+            return false;
+        }
+        return nextSegment(startX, startY, out);
+    }
+
+    /**
+     * Runs A* over the regions of the road graph. A region is costed from the tile where the route enters
+     * it, so a route passing along a corridor pays for the stretch it drives and not for the whole region.
+     * The goal is a virtual node reached from the goal region.
+     *
+     * @param start start cell
+     * @param goal goal cell
+     * @return {@code true} if a route was found and stored in {@link #waypoints}
+     */
+    private boolean planRoute(int start, int goal) {
+        int width = graph.getWalkabilityGrid().getWidth();
+        int startRegion = graph.getRegionOfCell(start);
+        int goalRegion = graph.getRegionOfCell(goal);
+        int goalNode = graph.getRegionCount();
+        SearchContext context = SearchContext.forCurrentThread();
+        context.begin(goalNode + 1);
+        IntBinaryHeap open = context.getOpen();
+        context.setG(startRegion, 0, -1);
+        entryCells[startRegion] = start;
+        open.push(startRegion, distance(start, goal, width));
+
+        while (!open.isEmpty()) {
+            int current = open.pop();
+            if (context.isClosed(current)) {
+                continue;
+            }
+            if (current == goalNode) {
+                storeRoute(context, goalNode, goal);
+                return true;
+            }
+            context.close(current);
+            float currentG = context.getG(current);
+            int entry = entryCells[current];
+            if (current == goalRegion) {
+                float goalG = currentG + distance(entry, goal, width);
+                if (goalG < context.getG(goalNode)) {
+                    context.setG(goalNode, goalG, current);
+                    entryCells[goalNode] = goal;
+                    open.push(goalNode, goalG);
+                }
+                continue;
+            }
+            for (int edge = graph.getEdgeStart(current); edge < graph.getEdgeEnd(current); edge++) {
+                int next = graph.getEdgeTarget(edge);
+                if (context.isClosed(next)) {
+                    continue;
+                }
+                int portal = graph.getEdgePortal(edge);
+                float tentativeG = currentG + distance(entry, portal, width);
+                if (tentativeG < context.getG(next)) {
+                    context.setG(next, tentativeG, current);
+                    entryCells[next] = portal;
+                    open.push(next, tentativeG + distance(portal, goal, width));
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Stores the entry tiles of a found route, ending with the goal.
+     *
+     * @param context search context holding the parent links
+     * @param goalNode id of the virtual goal node
+     * @param goal goal cell
+     */
+    private void storeRoute(SearchContext context, int goalNode, int goal) {
+        waypoints.add(goal);
+        for (int region = context.getParent(goalNode); context.getParent(region) >= 0; region = context.getParent(region)) {
+            waypoints.add(entryCells[region]);
+        }
+        waypoints.reverse();
+    }
+
+    /**
+     * Manhattan distance between two cells.
+     *
+     * @param cellA first cell
+     * @param cellB second cell
+     * @param width grid width
+     * @return manhattan distance
+     */
+    private static float distance(int cellA, int cellB, int width) {
+        return Math.abs(cellA % width - cellB % width) + Math.abs(cellA / width - cellB / width);
+    }
+}
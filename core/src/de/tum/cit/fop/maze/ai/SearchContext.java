@@ -0,0 +1,156 @@
+package de.tum.cit.fop.maze.ai;
+
+import java.util.Arrays;
+
+/**
+ * Scratch memory for grid searches, reused across searches on the same thread.
+ * <p>
+ * Per-cell arrays are flat and indexed by {@code y * width + x}. Instead of clearing them before every
+ * search, each search bumps a generation counter: a cell's score and parent only count if its stamp
+ * equals the current generation. The arrays grow to the largest map seen and are then kept.
+ */
+public final class SearchContext {
+    /** One context per thread, so searches on worker threads never share scratch memory. */
+    private static final ThreadLocal<SearchContext> CONTEXTS = ThreadLocal.withInitial(SearchContext::new);
+
+    /** Generation in which a cell was last reached. */
+    private int[] seenStamp = new int[0];
+    /** Generation in which a cell was last closed. */
+    private int[] closedStamp = new int[0];
+    /** Cost from the start, valid if the cell was reached in this generation. */
+    private float[] gScore = new float[0];
+    /** Predecessor cell, valid if the cell was reached in this generation. */
+    private int[] parent = new int[0];
+    /** FIFO queue for breadth-first scans. */
+    private int[] queue = new int[0];
+    /** Open set of the current search. */
+    private final IntBinaryHeap open = new IntBinaryHeap(1024);
+    /** Current generation, never 0 so fresh arrays count as unvisited. */
+    private int generation = 0;
+
+    /**
+     * Creates an empty context. Use {@link #forCurrentThread()} to get the shared one.
+     */
+    private SearchContext() {
+    }
+
+    /**
+     * Returns the context of the calling thread.
+     *
+     * @return search context
+     */
+    public static SearchContext forCurrentThread() {
+        return CONTEXTS.get();
+    }
+
+    /**
+     * Starts a new search, invalidating all per-cell data of the previous one.
+     *
+     * @param cells number of cells of the grid
+     */
+    public void begin(int cells) {
+        if (seenStamp.length < cells) {
+            seenStamp = new int[cells];
+            closedStamp = new int[cells];
+            gScore = new float[cells];
+            parent = new int[cells];
+            queue = new int[cells];
+            generation = 0;
+        }
+        if (++generation == Integer.MAX_VALUE) {
+            Arrays.fill(seenStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 1;
+        }
+        open.clear();
+    }
+
+    /**
+     * Returns the open set of the current search.
+     *
+     * @return open set
+     */
+    public IntBinaryHeap getOpen() {
+        return open;
+    }
+
+    /**
+     * Returns the breadth-first queue, at least as long as the cell count passed to {@link #begin(int)}.
+     *
+     * @return queue array
+     */
+    public int[] getQueue() {
+        return queue;
+    }
+
+    /**
+     * Checks whether a cell was reached in the current search.
+     *
+     * @param cell cell index
+     * @return {@code true} if reached
+     */
+    public boolean isSeen(int cell) {
+        return seenStamp[cell] == generation;
+    }
+
+    /**
+     * Marks a cell as reached without a score, for breadth-first scans.
+     *
+     * @param cell cell index
+     */
+    public void markSeen(int cell) {
+        seenStamp[cell] = generation;
+    }
+
+    /**
+     * Returns the cost from the start of a cell.
+     *
+     * @param cell cell index
+     * @return cost, or positive infinity if not reached in the current search
+     */
+    public float getG(int cell) {
+        return seenStamp[cell] == generation ? gScore[cell] : Float.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Records a better way to reach a cell.
+     *
+     * @param cell cell index
+     * @param g cost from the start
+     * @param parentCell predecessor cell, or -1 for the start
+     */
+    public void setG(int cell, float g, int parentCell) {
+        seenStamp[cell] = generation;
+        gScore[cell] = g;
+        parent[cell] = parentCell;
+    }
+
+    /**
+     * Returns the predecessor of a reached cell.
+     *
+     * @param cell cell index
+     * @return predecessor cell, or -1 for the start
+     */
+    public int getParent(int cell) {
+        return parent[cell];
+    }
+
+    /**
+     * Checks whether a cell was closed in the current search.
+     *
+     * @param cell cell index
+     * @return {@code true} if closed
+     */
+    public boolean isClosed(int cell) {
+        return closedStamp[cell] == generation;
+    }
+
+    /**
+     * Closes a cell.
+     *
+     * @param cell cell index
+     */
+    public void close(int cell) {
+        closedStamp[cell] = generation;
+    }
+}
@@ -0,0 +1,11 @@
+package de.tum.cit.fop.maze.ai;
+
+/**
+ * Search algorithm used by a {@link Pathfinder}. Both find paths of the same, optimal length.
+ */
+public enum SearchMode {
+    /** Plain A* expanding every tile. */
+    ASTAR,
+    /** Jump Point Search, expanding only tiles where the path may turn. Fastest in open areas. */
+    JUMP_POINT
+}
@@ -0,0 +1,38 @@
+package de.tum.cit.fop.maze.ai;
+
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+
+/**
+ * Cost of stepping onto a tile, used to weight {@link Pathfinder} searches.
+ * <p>
+ * The police see traps at {@link #TRAP_STEP_COST} everywhere they plan: in A* legs, in the
+ * {@link ClusterGraph} edges of long routes and in the {@link PlayerFlowField} they chase along.
+ * <p>
+ * Costs must be at least 1, so distance heuristics never overestimate and weighted paths stay optimal.
+ */
+@FunctionalInterface
+public interface TileCost {
+    /** Every tile costs one step. */
+    TileCost UNIFORM = cell -> 1f;
+    /** Step cost of a pothole for the police, so they only cross one to save a long detour. */
+    int TRAP_STEP_COST = 8;
+
+    /**
+     * Returns the cost of stepping onto a cell.
+     *
+     * @param cell cell index {@code y * width + x}
+     * @return step cost, at least 1
+     */
+    float costOf(int cell);
+
+    /**
+     * Returns costs that make tiles with a trap more expensive to cross.
+     *
+     * @param walkabilityGrid walkability grid with trap flags
+     * @param trapCost cost of stepping onto a trap tile
+     * @return trap-weighted costs
+     */
+    static TileCost avoidingTraps(WalkabilityGrid walkabilityGrid, float trapCost) {
+        return cell -> walkabilityGrid.isTrapIndex(cell) ? trapCost : 1f;
+    }
+}
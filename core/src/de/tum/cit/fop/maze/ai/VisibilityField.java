@@ -0,0 +1,174 @@
+package de.tum.cit.fop.maze.ai;
+
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+
+/**
+ * Tiles with a clear view of the player's tile, shared by all enemies looking for the player.
+ * <p>
+ * The field is computed by recursive shadowcasting from the player's tile over a square of the given range,
+ * one octant at a time, and only when the player enters a new tile or the range changes. Blocked tiles stop
+ * the view but are lit themselves, so an enemy pushed into a wall can still look out of it. Sight checks are
+ * then a single bit test, however many enemies ask.
+ */
+public class VisibilityField {
+    /** Octant transforms as {xx, xy, yx, yy}, covering all eight octants around the origin. */
+    private static final int[][] OCTANTS = {
+        {1, 0, 0, 1}, {0, 1, 1, 0}, {0, -1, 1, 0}, {-1, 0, 0, 1},
+        {-1, 0, 0, -1}, {0, -1, -1, 0}, {0, 1, -1, 0}, {1, 0, 0, -1}
+    };
+
+    /** Grid the field is computed on. */
+    private final WalkabilityGrid walkabilityGrid;
+    /** Bits set for tiles that can see the origin, one bit per cell. */
+    private final long[] visible;
+    /** Tile x the field is computed from. */
+    private int originX = Integer.MIN_VALUE;
+    /** Tile y the field is computed from. */
+    private int originY = Integer.MIN_VALUE;
+    /** Range the field is computed for. */
+    private int range = 0;
+
+    /**
+     * Creates an empty field for a grid.
+     *
+     * @param walkabilityGrid walkability grid
+     */
+    public VisibilityField(WalkabilityGrid walkabilityGrid) {
+        this.walkabilityGrid = walkabilityGrid;
+        this.visible = new long[WalkabilityGrid.wordsFor(walkabilityGrid.getWidth() * walkabilityGrid.getHeight())];
+    }
+
+    /**
+     * Points the field at the player's tile. Recomputes it only if the tile or the range changed.
+     * A player standing on a blocked tile is seen by nobody.
+     *
+     * @param tileX player tile x, inside the grid
+     * @param tileY player tile y, inside the grid
+     * @param range largest distance along either axis at which the player can be seen
+     */
+    public void update(int tileX, int tileY, int range) {
+        if (tileX == originX && tileY == originY && range == this.range) {
+            return;
+        }
+        clearSquare();
+        originX = tileX;
+        originY = tileY;
+        this.range = range;
+        if (!walkabilityGrid.isWalkable(tileX, tileY)) {
+            return;
+        }
+        mark(tileX, tileY);
+        for (int[] octant : OCTANTS) {
+            castLight(1, 1f, 0f, octant[0], octant[1], octant[2], octant[3]);
+        }
+    }
+
+    /**
+     * Checks whether a tile can see the player.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return {@code true} if the tile is inside the grid and has a clear view
+     */
+    public boolean isVisible(int x, int y) {
+        if (!walkabilityGrid.inBounds(x, y)) {
+            return false;
+        }
+        int cell = y * walkabilityGrid.getWidth() + x;
+        return (visible[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * Returns the range the field was last computed for.
+     *
+     * @return range in tiles
+     */
+    public int getRange() {
+        return range;
+    }
+
+    /**
+     * Lights one octant from a row outwards, between two slopes. A run of blocked tiles splits the view:
+     * the part before it is scanned recursively and the scan continues past it.
+     *
+     * @param row first row to scan, counted from the origin
+     * @param startSlope slope the lit area starts at
+     * @param endSlope slope the lit area ends at
+     * @param xx octant transform, column to x
+     * @param xy octant transform, row to x
+     * @param yx octant transform, column to y
+     * @param yy octant transform, row to y
+     */
+    private void castLight(int row, float startSlope, float endSlope, int xx, int xy, int yx, int yy) {
+        if (startSlope < endSlope) {
+            return;
+        }
+        float nextStart = startSlope;
+        for (int j = row; j <= range; j++) {
+            boolean blocked = false;
+            int dy = -j;
+            for (int dx = -j; dx <= 0; dx++) {
+                float leftSlope = (dx - 0.5f) / (dy + 0.5f);
+                float rightSlope = (dx + 0.5f) / (dy - 0.5f);
+                if (startSlope < rightSlope) {
+                    continue;
+                }
+                if (endSlope > leftSlope) {
+                    break;
+                }
+                int x = originX + dx * xx + dy * xy;
+                int y = originY + dx * yx + dy * yy;
+                boolean opaque = !walkabilityGrid.isWalkable(x, y);
+                if (walkabilityGrid.inBounds(x, y)) {
+                    mark(x, y);
+                }
+                if (blocked) {
+                    if (opaque) {
+                        nextStart = rightSlope;
+                    } else {
+                        blocked = false;
+                        startSlope = nextStart;
+                    }
+                } else if (opaque && j < range) {
+                    blocked = true;
+                    castLight(j + 1, startSlope, leftSlope, xx, xy, yx, yy);
+                    nextStart = rightSlope;
+                }
+            }
+            if (blocked) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Marks a tile as able to see the origin.
+     *
+     * @param x tile x, inside the grid
+     * @param y tile y, inside the grid
+     */
+    private void mark(int x, int y) {
+        int cell = y * walkabilityGrid.getWidth() + x;
+        visible[cell >>> 6] |= 1L << cell;
+    }
+
+    /**
+     * Clears the square lit by the previous update.
+     */
+    private void clearSquare() {
+        if (originX == Integer.MIN_VALUE) {
+            return;
+        }
+        int width = walkabilityGrid.getWidth();
+        int minX = Math.max(0, originX - range);
+        int maxX = Math.min(width - 1, originX + range);
+        int minY = Math.max(0, originY - range);
+        int maxY = Math.min(walkabilityGrid.getHeight() - 1, originY + range);
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                int cell = y * width + x;
+                visible[cell >>> 6] &= ~(1L << cell);
+            }
+        }
+    }
+}
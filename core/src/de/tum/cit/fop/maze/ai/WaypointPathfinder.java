@@ -0,0 +1,72 @@
+package de.tum.cit.fop.maze.ai;
+
+/**
+ * Base for pathfinders that plan a coarse route of waypoints and only turn the leg to the next waypoint
+ * into tiles, once the previous leg has been walked.
+ */
+public abstract class WaypointPathfinder {
+    /** Tile-level pathfinder for legs and short queries. */
+    protected final Pathfinder pathfinder;
+    /** Waypoints of the current route, ending with the goal. */
+    protected final PathBuffer waypoints = new PathBuffer();
+    /** Next waypoint to refine. */
+    private int waypointIndex = 0;
+
+    /**
+     * Creates a waypoint pathfinder.
+     *
+     * @param pathfinder tile-level pathfinder for legs
+     */
+    protected WaypointPathfinder(Pathfinder pathfinder) {
+        this.pathfinder = pathfinder;
+    }
+
+    /**
+     * Plans a route and writes its first leg.
+     *
+     * @param startX start tile x
+     * @param startY start tile y
+     * @param goalX goal tile x
+     * @param goalY goal tile y
+     * @param out buffer receiving the first leg, left empty if there is no path
+     * @return {@code true} if a non-empty leg was written
+     */
+    public abstract boolean findPath(int startX, int startY, int goalX, int goalY, PathBuffer out);
+
+    /**
+     * Writes the leg to the next waypoint of the route, skipping waypoints already reached.
+     *
+     * @param x current tile x
+     * @param y current tile y
+     * @param out buffer receiving the leg
+     * @return {@code true} if a leg was written, {@code false} once the route is finished
+     */
+    public boolean nextSegment(int x, int y, PathBuffer out) {
+        while (waypointIndex < waypoints.size()) {
+            int targetX = waypoints.getX(waypointIndex);
+            int targetY = waypoints.getY(waypointIndex);
+            waypointIndex++;
+            if (pathfinder.findPath(x, y, targetX, targetY, out)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the route has legs left after the current one.
+     *
+     * @return {@code true} if {@link #nextSegment(int, int, PathBuffer)} has more to give
+     */
+    public boolean hasNextSegment() {
+        return waypointIndex < waypoints.size();
+    }
+
+    /**
+     * Drops the current route.
+     */
+    public void clear() {
+        waypoints.begin(pathfinder.walkabilityGrid.getWidth());
+        waypointIndex = 0;
+    }
+}
@@ -0,0 +1,54 @@
+package de.tum.cit.fop.maze.entity;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+/**
+ * Hands pooled actors back to their pools once the stage has finished acting.
+ * <p>
+ * An actor that removes itself during {@code Stage.act} stays in the stage's act snapshot for the rest of
+ * the tick. Freeing it right away would let a later spawn in the same tick obtain it and add it again, and
+ * its old snapshot slot would then act a second time. Actors queue themselves with {@link #freeAfterAct}
+ * instead, and every loop driving a stage calls {@link #flush()} at the end of its tick. Render thread only.
+ */
+public final class ActorRecycler {
+    /** Pool of each queued actor. */
+    private static final Array<Pool<Actor>> pools = new Array<>();
+    /** Actors waiting to be freed. */
+    private static final Array<Actor> actors = new Array<>();
+
+    /**
+     * Utility class, not instantiated.
+     */
+    private ActorRecycler() {
+    }
+
+    /**
+     * Queues an actor that removed itself during the current tick for its pool.
+     *
+     * @param pool pool the actor came from
+     * @param actor removed actor
+     * @param <T> actor type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Actor> void freeAfterAct(Pool<T> pool, T actor) {
+        pools.add((Pool<Actor>) pool);
+        actors.add(actor);
+    }
+
+    /**
+     * Frees the queued actors. Call after {@code stage.act}; actors that joined a stage again in the
+     * meantime are left alone.
+     */
+    public static void flush() {
+        for (int i = 0; i < actors.size; i++) {
+            Actor actor = actors.get(i);
+            if (actor.getStage() == null) {
+                pools.get(i).free(actor);
+            }
+        }
+        pools.clear();
+        actors.clear();
+    }
+}
@@ -0,0 +1,301 @@
+package de.tum.cit.fop.maze.entity;
+
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import de.tum.cit.fop.maze.ai.PathBuffer;
+import java.util.Arrays;
+
+/**
+ * Movement data of all path-following agents on a stage, police and BMWs, kept in parallel arrays.
+ * <p>
+ * Each agent owns one slot: its bounds, heading, path cursor and the speeds it asked to move at this tick.
+ * Agents still decide where to go in their own {@code act}; the {@link AgentSystem} then moves every agent
+ * in one loop over the arrays and writes the results back to the actors. Slots stay packed, so a leaving
+ * agent's slot is filled with the last one. The store lives in the stage's {@link SpatialGrid}, so it goes
+ * away with the stage. Render thread only.
+ */
+public final class AgentStore {
+    /** Heading towards +y. */
+    public static final int HEADING_NORTH = 0;
+    /** Heading towards -y. */
+    public static final int HEADING_SOUTH = 1;
+    /** Heading towards +x. */
+    public static final int HEADING_EAST = 2;
+    /** Heading towards -x. */
+    public static final int HEADING_WEST = 3;
+    /** Slots allocated for a new store. */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** Number of agents in the store. */
+    int size = 0;
+    /** Agent owning each slot. */
+    Agent[] agents = new Agent[INITIAL_CAPACITY];
+    /** Path followed by each agent. */
+    PathBuffer[] paths = new PathBuffer[INITIAL_CAPACITY];
+    /** Actor x, the left edge. */
+    float[] x = new float[INITIAL_CAPACITY];
+    /** Actor y, the bottom edge. */
+    float[] y = new float[INITIAL_CAPACITY];
+    /** Actor width. */
+    float[] width = new float[INITIAL_CAPACITY];
+    /** Actor height. */
+    float[] height = new float[INITIAL_CAPACITY];
+    /** Speed along the path this tick, 0 if the agent does not move. */
+    float[] pathSpeed = new float[INITIAL_CAPACITY];
+    /** Speed towards the tile center once the path is used up, 0 if the agent does not move. */
+    float[] centeringSpeed = new float[INITIAL_CAPACITY];
+    /** Index of the next path step. */
+    int[] pathCursor = new int[INITIAL_CAPACITY];
+    /** Direction of the last movement, one of the {@code HEADING_} constants. */
+    byte[] heading = new byte[INITIAL_CAPACITY];
+    /** Whether the agent is taller than wide while heading north or south, like a car. */
+    boolean[] turnsWithHeading = new boolean[INITIAL_CAPACITY];
+
+    /**
+     * Creates an empty store. Stages get theirs from {@link SpatialGrid#getAgents()}.
+     */
+    AgentStore() {
+    }
+
+    /**
+     * Returns the store of a stage, creating it on first use.
+     *
+     * @param stage stage
+     * @return the stage's agent store
+     */
+    public static AgentStore forStage(Stage stage) {
+        return SpatialGrid.forStage(stage).getAgents();
+    }
+
+    /**
+     * Returns the number of agents in the store.
+     *
+     * @return agent count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gives an agent a slot, copying the values it kept while it was not in a store.
+     *
+     * @param agent joining agent
+     */
+    private void add(Agent agent) {
+        if (size == agents.length) {
+            grow(size * 2);
+        }
+        int slot = size++;
+        agents[slot] = agent;
+        paths[slot] = agent.path;
+        pathSpeed[slot] = 0f;
+        centeringSpeed[slot] = 0f;
+        pathCursor[slot] = agent.parkedCursor;
+        heading[slot] = (byte) agent.parkedHeading;
+        turnsWithHeading[slot] = agent.turnsWithHeading;
+        agent.store = this;
+        agent.slot = slot;
+        copyBounds(slot, agent.actor);
+    }
+
+    /**
+     * Frees an agent's slot, moving the last agent into it. The agent keeps its cursor and heading.
+     *
+     * @param agent leaving agent
+     */
+    private void remove(Agent agent) {
+        int slot = agent.slot;
+        agent.parkedCursor = pathCursor[slot];
+        agent.parkedHeading = heading[slot];
+        agent.store = null;
+        agent.slot = -1;
+        int last = --size;
+        if (slot != last) {
+            Agent moved = agents[last];
+            agents[slot] = moved;
+            paths[slot] = paths[last];
+            x[slot] = x[last];
+            y[slot] = y[last];
+            width[slot] = width[last];
+            height[slot] = height[last];
+            pathSpeed[slot] = pathSpeed[last];
+            centeringSpeed[slot] = centeringSpeed[last];
+            pathCursor[slot] = pathCursor[last];
+            heading[slot] = heading[last];
+            turnsWithHeading[slot] = turnsWithHeading[last];
+            moved.slot = slot;
+        }
+        agents[last] = null;
+        paths[last] = null;
+    }
+
+    /**
+     * Copies an actor's bounds into its slot.
+     *
+     * @param slot slot
+     * @param actor actor owning the slot
+     */
+    private void copyBounds(int slot, Actor actor) {
+        x[slot] = actor.getX();
+        y[slot] = actor.getY();
+        width[slot] = actor.getWidth();
+        height[slot] = actor.getHeight();
+    }
+
+    /**
+     * Enlarges all arrays.
+     *
+     * @param capacity new number of slots
+     */
+    private void grow(int capacity) {
+        agents = Arrays.copyOf(agents, capacity);
+        paths = Arrays.copyOf(paths, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        pathSpeed = Arrays.copyOf(pathSpeed, capacity);
+        centeringSpeed = Arrays.copyOf(centeringSpeed, capacity);
+        pathCursor = Arrays.copyOf(pathCursor, capacity);
+        heading = Arrays.copyOf(heading, capacity);
+        turnsWithHeading = Arrays.copyOf(turnsWithHeading, capacity);
+    }
+
+    /**
+     * An actor's handle on its slot. The actor keeps the handle for its whole life and forwards stage and
+     * bounds changes to it; while the actor is on no stage, the handle keeps the cursor and heading.
+     */
+    public static final class Agent {
+        /** Moving actor. */
+        private final Actor actor;
+        /** Path the actor refills, followed by the system. */
+        private final PathBuffer path;
+        /** Whether the actor swaps width and height when heading north or south. */
+        private final boolean turnsWithHeading;
+        /** Store the actor is in, or {@code null}. */
+        private AgentStore store;
+        /** Slot in the store, or -1. */
+        private int slot = -1;
+        /** Path cursor while not in a store. */
+        private int parkedCursor = 0;
+        /** Heading while not in a store. */
+        private int parkedHeading;
+
+        /**
+         * Creates the handle of an actor that is not on a stage yet.
+         *
+         * @param actor moving actor
+         * @param path path buffer the actor refills when repathing
+         * @param heading initial heading, one of the {@code HEADING_} constants
+         * @param turnsWithHeading whether width and height swap when heading north or south
+         */
+        public Agent(Actor actor, PathBuffer path, int heading, boolean turnsWithHeading) {
+            this.actor = actor;
+            this.path = path;
+            this.parkedHeading = heading;
+            this.turnsWithHeading = turnsWithHeading;
+        }
+
+        /**
+         * Restarts the path cursor and heading of an actor that is on no stage, before it is reused.
+         *
+         * @param heading heading to start with, one of the {@code HEADING_} constants
+         */
+        public void reset(int heading) {
+            if (store == null) {
+                parkedCursor = 0;
+                parkedHeading = heading;
+            }
+        }
+
+        /**
+         * Moves the agent to the store of a new stage. Call from the actor's {@code setStage}.
+         *
+         * @param stage new stage, or {@code null} if the actor left its stage
+         */
+        public void stageChanged(Stage stage) {
+            AgentStore target = stage == null ? null : forStage(stage);
+            if (target == store) {
+                return;
+            }
+            if (store != null) {
+                store.remove(this);
+            }
+            if (target != null) {
+                target.add(this);
+            }
+        }
+
+        /**
+         * Copies the actor's bounds after it moved or resized. Call from the actor's {@code positionChanged}
+         * and {@code sizeChanged}.
+         */
+        public void boundsChanged() {
+            if (store != null) {
+                store.copyBounds(slot, actor);
+            }
+        }
+
+        /**
+         * Asks to move along the path during this tick's movement pass.
+         *
+         * @param pathSpeed speed along the path in tiles per second
+         * @param centeringSpeed speed towards the tile center once the path is used up
+         */
+        public void move(float pathSpeed, float centeringSpeed) {
+            if (store != null) {
+                store.pathSpeed[slot] = pathSpeed;
+                store.centeringSpeed[slot] = centeringSpeed;
+            }
+        }
+
+        /**
+         * Returns the index of the next path step.
+         *
+         * @return path cursor
+         */
+        public int getPathCursor() {
+            return store != null ? store.pathCursor[slot] : parkedCursor;
+        }
+
+        /**
+         * Sets the index of the next path step, 0 after refilling the path.
+         *
+         * @param cursor path cursor
+         */
+        public void setPathCursor(int cursor) {
+            if (store != null) {
+                store.pathCursor[slot] = cursor;
+            } else {
+                parkedCursor = cursor;
+            }
+        }
+
+        /**
+         * Checks whether every step of the path has been reached.
+         *
+         * @return {@code true} if the path is used up
+         */
+        public boolean isPathExhausted() {
+            return getPathCursor() >= path.size();
+        }
+
+        /**
+         * Returns the direction of the last movement.
+         *
+         * @return one of the {@code HEADING_} constants
+         */
+        public int getHeading() {
+            return store != null ? store.heading[slot] : parkedHeading;
+        }
+
+        /**
+         * Returns the moving actor.
+         *
+         * @return actor
+         */
+        Actor getActor() {
+            return actor;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package de.tum.cit.fop.maze.entity;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import de.tum.cit.fop.maze.ai.PathBuffer;
+
+/**
+ * Moves all agents of a stage along their paths once per tick, after the stage has acted.
+ * <p>
+ * The pass runs over the {@link AgentStore} arrays: agents that asked to move step towards their next path
+ * tile, or back to the center of their tile once the path is used up, turning to face where they go.
+ * Afterwards the new bounds are written back to the actors, which keeps the spatial grid and collision
+ * bounds in step. Agents that did not ask to move this tick stay where they are.
+ */
+public class AgentSystem {
+    /** Distance at which a path step counts as reached. */
+    private static final float TARGET_EPS = 0.05f;
+
+    /**
+     * Runs the movement pass for a stage. Call after the stage has acted and before collisions are checked.
+     *
+     * @param stage stage holding the agents
+     * @param delta tick length in seconds
+     */
+    public void update(Stage stage, float delta) {
+        AgentStore store = AgentStore.forStage(stage);
+        int size = store.size;
+        for (int i = 0; i < size; i++) {
+            if (store.pathSpeed[i] > 0f || store.centeringSpeed[i] > 0f) {
+                step(store, i, delta);
+            }
+        }
+        for (int i = 0; i < size; i++) {
+            if (store.pathSpeed[i] > 0f || store.centeringSpeed[i] > 0f) {
+                store.pathSpeed[i] = 0f;
+                store.centeringSpeed[i] = 0f;
+                store.agents[i].getActor().setBounds(store.x[i], store.y[i], store.width[i], store.height[i]);
+            }
+        }
+    }
+
+    /**
+     * Moves one agent towards its next path tile, or to the center of its tile once the path is used up.
+     *
+     * @param store agent store
+     * @param i slot of the agent
+     * @param delta tick length in seconds
+     */
+    private static void step(AgentStore store, int i, float delta) {
+        float centerX = store.x[i] + store.width[i] / 2f;
+        float centerY = store.y[i] + store.height[i] / 2f;
+        PathBuffer path = store.paths[i];
+        int cursor = store.pathCursor[i];
+        boolean followingPath = cursor < path.size();
+        float targetX = followingPath ? path.getX(cursor) + 0.5f : MathUtils.floor(centerX) + 0.5f;
+        float targetY = followingPath ? path.getY(cursor) + 0.5f : MathUtils.floor(centerY) + 0.5f;
+        float dx = targetX - centerX, dy = targetY - centerY;
+        float dist = (float) Math.sqrt(dx * dx + dy * dy);
+
+        if (dist < TARGET_EPS) {
+            if (followingPath) {
+                store.pathCursor[i] = cursor + 1;
+            } else {
+                store.x[i] += dx;
+                store.y[i] += dy;
+            }
+            return;
+        }
+
+        boolean vertical = Math.abs(dy) > Math.abs(dx);
+        if (store.turnsWithHeading[i]) {
+            float length = Math.max(store.width[i], store.height[i]);
+            float breadth = Math.min(store.width[i], store.height[i]);
+            store.width[i] = vertical ? breadth : length;
+            store.height[i] = vertical ? length : breadth;
+            store.x[i] = centerX - store.width[i] / 2f;
+            store.y[i] = centerY - store.height[i] / 2f;
+        }
+        if (Math.abs(dx) >= Math.abs(dy)) {
+            store.heading[i] = (byte) (dx >= 0f ? AgentStore.HEADING_EAST : AgentStore.HEADING_WEST);
+        } else {
+            store.heading[i] = (byte) (dy >= 0f ? AgentStore.HEADING_NORTH : AgentStore.HEADING_SOUTH);
+        }
+        float speed = followingPath ? store.pathSpeed[i] : store.centeringSpeed[i];
+        float moved = Math.min(speed * delta, dist);
+        store.x[i] += (dx / dist) * moved;
+        store.y[i] += (dy / dist) * moved;
+    }
+}
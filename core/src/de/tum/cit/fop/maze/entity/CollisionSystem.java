@@ -0,0 +1,43 @@
+package de.tum.cit.fop.maze.entity;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import java.util.ArrayList;
+
+/**
+ * Finds the map objects touching the player once per frame, after everything has moved, and lets them react.
+ * <p>
+ * Only objects in the {@link SpatialGrid} buckets around the player are tested, so the cost follows the
+ * number of nearby objects rather than the number on the stage. Objects react in the order they joined
+ * the stage, as they did when each checked the player during its own update.
+ */
+public class CollisionSystem {
+    /** Player bounds of the current pass. */
+    private final Rectangle playerBounds = new Rectangle();
+    /** Objects near the player in the current pass. */
+    private final ArrayList<Actor> nearby = new ArrayList<>();
+
+    /**
+     * Runs the collision pass for a stage. Call after the stage has acted.
+     *
+     * @param stage stage holding the player and map objects
+     */
+    public void update(Stage stage) {
+        SpatialGrid grid = SpatialGrid.forStage(stage);
+        Player player = grid.getPlayer();
+        if (player == null) {
+            return;
+        }
+        playerBounds.set(player.getX(), player.getY(), player.getWidth(), player.getHeight());
+        grid.query(playerBounds.x, playerBounds.y, playerBounds.width, playerBounds.height, nearby);
+        for (int i = 0; i < nearby.size(); i++) {
+            // Earlier reactions may remove objects, e.g. a BMW crash clearing its surroundings.
+            if (nearby.get(i) instanceof MapObject mapObject && mapObject.getStage() == stage
+                    && mapObject.touchesPlayer(playerBounds)) {
+                mapObject.collision();
+            }
+        }
+        nearby.clear();
+    }
+}
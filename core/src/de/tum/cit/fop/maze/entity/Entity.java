@@ -4,6 +4,7 @@
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
 
 /**
  * Base entity class with animations and movement properties.
@@ -23,6 +24,8 @@ public class Entity extends Actor {
     protected float animationTime;
     /** Movement speed. */
     protected float speed;
+    /** Place of this entity in its stage's spatial grid. */
+    private final SpatialGrid.Entry gridEntry = new SpatialGrid.Entry(this);
 
     /**
      * Returns the current speed.
@@ -52,4 +55,33 @@ public Entity(float x, float y) {
         setX(x);
         setY(y);
     }
+
+    /**
+     * Registers the entity in the spatial grid of the stage it joins.
+     *
+     * @param stage new stage, or {@code null} when removed
+     */
+    @Override
+    protected void setStage(Stage stage) {
+        super.setStage(stage);
+        gridEntry.stageChanged(stage, getX(), getY(), getWidth(), getHeight());
+    }
+
+    /**
+     * Keeps the spatial grid up to date after moving.
+     */
+    @Override
+    protected void positionChanged() {
+        super.positionChanged();
+        gridEntry.moved(getX(), getY(), getWidth(), getHeight());
+    }
+
+    /**
+     * Keeps the spatial grid up to date after resizing.
+     */
+    @Override
+    protected void sizeChanged() {
+        super.sizeChanged();
+        gridEntry.moved(getX(), getY(), getWidth(), getHeight());
+    }
 }
@@ -0,0 +1,160 @@
+package de.tum.cit.fop.maze.entity;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.Arrays;
+
+/**
+ * Walkable tiles no map object stands on, ready to be sampled at random.
+ * <p>
+ * Free cells are kept in a dense array together with each cell's slot in it, so a tile is added or removed
+ * by swapping with the last slot and a random free tile is a single array read. A map object stands on the
+ * tile holding its bottom-left corner. The {@link SpatialGrid} of a stage keeps the index up to date as map
+ * objects join, move and leave, e.g. when a collectible is picked up. Render thread only.
+ */
+public final class FreeTileIndex {
+    /** Samples drawn before giving up on finding a tile outside the excluded areas. */
+    private static final int MAX_SAMPLE_ATTEMPTS = 64;
+
+    /** Grid the tiles belong to. */
+    private final WalkabilityGrid walkabilityGrid;
+    /** Free cells in the first {@link #freeCount} slots. */
+    private final int[] freeCells;
+    /** Slot of each cell in {@link #freeCells}, or -1 if the cell is not free. */
+    private final int[] slotOfCell;
+    /** Number of map objects standing on each cell. */
+    private final int[] occupants;
+    /** Number of free cells. */
+    private int freeCount = 0;
+
+    /**
+     * Creates an index in which every walkable tile is free.
+     *
+     * @param walkabilityGrid walkability grid
+     */
+    FreeTileIndex(WalkabilityGrid walkabilityGrid) {
+        this.walkabilityGrid = walkabilityGrid;
+        int cells = walkabilityGrid.getWidth() * walkabilityGrid.getHeight();
+        freeCells = new int[cells];
+        slotOfCell = new int[cells];
+        occupants = new int[cells];
+        Arrays.fill(slotOfCell, -1);
+        for (int cell = 0; cell < cells; cell++) {
+            if (!walkabilityGrid.isBlockedIndex(cell)) {
+                addFree(cell);
+            }
+        }
+    }
+
+    /**
+     * Returns the grid the tiles belong to.
+     *
+     * @return walkability grid
+     */
+    public WalkabilityGrid getWalkabilityGrid() {
+        return walkabilityGrid;
+    }
+
+    /**
+     * Returns the number of free tiles.
+     *
+     * @return free tile count
+     */
+    public int getFreeCount() {
+        return freeCount;
+    }
+
+    /**
+     * Checks whether a tile is walkable and no map object stands on it.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return {@code true} if free
+     */
+    public boolean isFree(int x, int y) {
+        return walkabilityGrid.inBounds(x, y) && slotOfCell[y * walkabilityGrid.getWidth() + x] >= 0;
+    }
+
+    /**
+     * Picks a free tile uniformly at random.
+     *
+     * @return cell index {@code y * width + x}, or -1 if no tile is free
+     */
+    public int randomFreeCell() {
+        return freeCount == 0 ? -1 : freeCells[MathUtils.random(freeCount - 1)];
+    }
+
+    /**
+     * Picks a free tile at random away from a point and outside a view. Excluded areas are usually small
+     * compared to the map, so a few draws are enough.
+     *
+     * @param avoidX tile x to keep away from
+     * @param avoidY tile y to keep away from
+     * @param avoidRadius tiles within this distance along both axes of the avoided tile are skipped
+     * @param avoidView area a 1x1 tile must not overlap, or {@code null}
+     * @return cell index {@code y * width + x}, or -1 if no tile was found
+     */
+    public int randomFreeCell(int avoidX, int avoidY, int avoidRadius, Rectangle avoidView) {
+        int width = walkabilityGrid.getWidth();
+        for (int attempt = 0; attempt < MAX_SAMPLE_ATTEMPTS && freeCount > 0; attempt++) {
+            int cell = freeCells[MathUtils.random(freeCount - 1)];
+            int x = cell % width;
+            int y = cell / width;
+            if (Math.abs(x - avoidX) <= avoidRadius && Math.abs(y - avoidY) <= avoidRadius) {
+                continue;
+            }
+            if (avoidView != null && x < avoidView.x + avoidView.width && x + 1 > avoidView.x
+                    && y < avoidView.y + avoidView.height && y + 1 > avoidView.y) {
+                continue;
+            }
+            return cell;
+        }
+        return -1;
+    }
+
+    /**
+     * Records a map object standing on a cell.
+     *
+     * @param cell cell index
+     */
+    void occupy(int cell) {
+        if (occupants[cell]++ == 0 && slotOfCell[cell] >= 0) {
+            removeFree(cell);
+        }
+    }
+
+    /**
+     * Records a map object leaving a cell.
+     *
+     * @param cell cell index
+     */
+    void release(int cell) {
+        if (--occupants[cell] == 0 && !walkabilityGrid.isBlockedIndex(cell)) {
+            addFree(cell);
+        }
+    }
+
+    /**
+     * Appends a cell to the free cells.
+     *
+     * @param cell cell index
+     */
+    private void addFree(int cell) {
+        slotOfCell[cell] = freeCount;
+        freeCells[freeCount++] = cell;
+    }
+
+    /**
+     * Removes a cell from the free cells by moving the last free cell into its slot.
+     *
+     * @param cell cell index
+     */
+    private void removeFree(int cell) {
+        int slot = slotOfCell[cell];
+        int last = freeCells[--freeCount];
+        freeCells[slot] = last;
+        slotOfCell[last] = slot;
+        slotOfCell[cell] = -1;
+    }
+}
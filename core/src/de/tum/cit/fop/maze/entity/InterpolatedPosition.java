@@ -0,0 +1,78 @@
+package de.tum.cit.fop.maze.entity;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+
+/**
+ * Where a moving actor is drawn between two simulation ticks.
+ * <p>
+ * The actor saves its position at the start of every tick. While a screen draws, the position is blended
+ * from the saved one to the current one by the share of the next tick that has already passed, so movement
+ * looks smooth even when frames and ticks do not line up. Outside of that the current position is drawn.
+ */
+public final class InterpolatedPosition {
+    /** Share of the next tick drawn, 1 for the current position. */
+    private static float alpha = 1f;
+
+    /** Actor whose position is blended. */
+    private final Actor actor;
+    /** Actor x at the start of the current tick. */
+    private float previousX;
+    /** Actor y at the start of the current tick. */
+    private float previousY;
+    /** Whether a tick has saved the position yet. */
+    private boolean saved = false;
+
+    /**
+     * Creates the draw position of an actor.
+     *
+     * @param actor moving actor
+     */
+    public InterpolatedPosition(Actor actor) {
+        this.actor = actor;
+    }
+
+    /**
+     * Sets the share of the next tick drawn by all actors. Screens set it after their ticks, before placing
+     * the camera, and set it back to 1 once the frame no longer reads draw positions.
+     *
+     * @param alpha share of a tick in {@code [0, 1]}
+     */
+    public static void setAlpha(float alpha) {
+        InterpolatedPosition.alpha = alpha;
+    }
+
+    /**
+     * Saves the actor's position. Call at the start of each tick, before the actor moves.
+     */
+    public void save() {
+        previousX = actor.getX();
+        previousY = actor.getY();
+        saved = true;
+    }
+
+    /**
+     * Forgets the saved position, so a reused actor is drawn where it is until its first tick.
+     */
+    public void reset() {
+        saved = false;
+    }
+
+    /**
+     * Returns the x to draw the actor at.
+     *
+     * @return blended x
+     */
+    public float getX() {
+        return saved ? MathUtils.lerp(previousX, actor.getX(), alpha) : actor.getX();
+    }
+
+    /**
+     * Returns the y to draw the actor at.
+     *
+     * @return blended y
+     */
+    public float getY() {
+        return saved ? MathUtils.lerp(previousY, actor.getY(), alpha) : actor.getY();
+    }
+}
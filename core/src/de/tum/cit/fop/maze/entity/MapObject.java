@@ -6,6 +6,9 @@
 
 /**
  * Base class for map objects that can collide with the player.
+ * <p>
+ * Map objects keep themselves in their stage's {@link SpatialGrid}, covering both their sprite and their
+ * collision bounds, so the {@link CollisionSystem} and spawn checks only look at nearby objects.
  */
 public class MapObject extends Actor {
     /** Collision bounds for this object. */
@@ -18,9 +21,14 @@ public class MapObject extends Actor {
     protected final static int frameWidth = 16, frameHeight = 16;
     /** Whether onAddedToStage has been invoked. */
     protected boolean addedToStageFired = false;
+    /** Place of this object in its stage's spatial grid. */
+    private final SpatialGrid.Entry gridEntry = new SpatialGrid.Entry(this);
+    /** Whether the sprites have been loaded. */
+    private boolean spritesLoaded = false;
 
     /**
-     * Updates animation, detects player, and checks collisions.
+     * Updates animation, detects player, and refreshes the collision bounds. Collisions with the player are
+     * found afterwards by the {@link CollisionSystem}.
      *
      * @param delta frame delta time
      */
@@ -35,7 +43,40 @@ public void act(float delta) {
         }
 
         updateBounds();
-        checkCollisionsWithPlayer();
+    }
+
+    /**
+     * Loads the object's textures and animations. Called on the first draw rather than on creation, so map
+     * objects can be created and updated without a graphics context.
+     */
+    protected void loadSprites() {
+    }
+
+    /**
+     * Loads the sprites unless they are loaded already. Call at the start of {@code draw}.
+     */
+    protected final void ensureSpritesLoaded() {
+        if (!spritesLoaded) {
+            spritesLoaded = true;
+            loadSprites();
+        }
+    }
+
+    /**
+     * Forgets the stage the object was last on, so a pooled object can join a new one. Loaded sprites are
+     * kept.
+     */
+    protected void resetForReuse() {
+        player = null;
+        addedToStageFired = false;
+        animationTime = 0f;
+    }
+
+    /**
+     * Makes the next draw load the sprites again, e.g. to pick a new variant for a reused object.
+     */
+    protected final void invalidateSprites() {
+        spritesLoaded = false;
     }
 
     /**
@@ -46,13 +87,10 @@ protected void onAddedToStage() {
         if (stage == null) {
             return;
         }
-        for (Actor actor : stage.getActors()) {
-            if (actor instanceof Player pl) {
-                player = pl;
-                return;
-            }
+        player = SpatialGrid.forStage(stage).getPlayer();
+        if (player == null) {
+            throw new RuntimeException("Player must be added before Obstacles");
         }
-        throw new RuntimeException("Player must be added before Obstacles");
     }
 
     /**
@@ -63,17 +101,91 @@ protected void updateBounds() {
     }
 
     /**
-     * Checks for overlap with the player and triggers collision if needed.
+     * Checks whether the collision bounds overlap the player's.
+     *
+     * @param playerBounds the player's bounds
+     * @return {@code true} if the player discovered on stage overlaps this object
      */
-    protected void checkCollisionsWithPlayer() {
-        if (player == null) {
-            return;
-        }
-        if (bounds.overlaps(new Rectangle(player.getX(), player.getY(), player.getWidth(), player.getHeight()))) {
-            collision();
+    boolean touchesPlayer(Rectangle playerBounds) {
+        return player != null && bounds.overlaps(playerBounds);
+    }
+
+    /**
+     * Registers the object in the spatial grid of the stage it joins.
+     *
+     * @param stage new stage, or {@code null} when removed
+     */
+    @Override
+    protected void setStage(Stage stage) {
+        super.setStage(stage);
+        updateBounds();
+        gridEntry.stageChanged(stage, indexX(), indexY(), indexWidth(), indexHeight());
+    }
+
+    /**
+     * Keeps the bounds and the spatial grid up to date after moving.
+     */
+    @Override
+    protected void positionChanged() {
+        super.positionChanged();
+        refreshGridEntry();
+    }
+
+    /**
+     * Keeps the bounds and the spatial grid up to date after resizing.
+     */
+    @Override
+    protected void sizeChanged() {
+        super.sizeChanged();
+        refreshGridEntry();
+    }
+
+    /**
+     * Moves the object to the grid buckets covering its sprite and collision bounds.
+     */
+    private void refreshGridEntry() {
+        if (gridEntry.isRegistered()) {
+            updateBounds();
+            gridEntry.moved(indexX(), indexY(), indexWidth(), indexHeight());
         }
     }
 
+    /**
+     * Returns the left edge of the area covering sprite and collision bounds.
+     *
+     * @return area x
+     */
+    private float indexX() {
+        return Math.min(getX(), bounds.x);
+    }
+
+    /**
+     * Returns the bottom edge of the area covering sprite and collision bounds.
+     *
+     * @return area y
+     */
+    private float indexY() {
+        return Math.min(getY(), bounds.y);
+    }
+
+    /**
+     * Returns the width of the area covering sprite and collision bounds.
+     *
+     * @return area width
+     */
+    private float indexWidth() {
+        return Math.max(getX() + getWidth(), bounds.x + bounds.width) - indexX();
+    }
+
+    /**
+     * Returns the height of the area covering sprite and collision bounds.
+     *
+     * @return area height
+     */
+    private float indexHeight() {
+        return Math.max(getY() + getHeight(), bounds.y + bounds.height) - indexY();
+    }
+
     // This class is meant to be overiden by all classes that extend Collectible
     protected void collision() {
         return;
@@ -5,9 +5,11 @@
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.utils.Array;
+import de.tum.cit.fop.maze.ai.PlayerFlowField;
+import de.tum.cit.fop.maze.ai.VisibilityField;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 import de.tum.cit.fop.maze.system.CollisionHandler;
 import de.tum.cit.fop.maze.system.DriftyMovementController;
 import de.tum.cit.fop.maze.system.AudioManager;
@@ -20,6 +22,22 @@ public class Player extends Entity {
      * Collision handler for movement checks.
      */
     private final CollisionHandler collisionHandler;
+    /**
+     * Walkability grid, also used to build the flow field.
+     */
+    private final WalkabilityGrid walkabilityGrid;
+    /**
+     * Distances to this player for chasing enemies, built on first use.
+     */
+    private PlayerFlowField flowField;
+    /**
+     * Tiles enemies can see this player from, built on first use.
+     */
+    private VisibilityField visibilityField;
+    /**
+     * Position drawn between simulation ticks.
+     */
+    private final InterpolatedPosition drawPosition = new InterpolatedPosition(this);
     /**
      * Listener for game-over events.
      */
@@ -136,20 +154,44 @@ public class Player extends Entity {
     /**
      * Creates a player at a given position.
      *
-     * @param collisionLayer   collision layer for movement checks
+     * @param walkabilityGrid  walkability grid for movement checks
      * @param x                starting x position
      * @param y                starting y position
      * @param gameOverListener listener for game-over events
      */
-    public Player(TiledMapTileLayer collisionLayer, float x, float y, GameOverListener gameOverListener) {
+    public Player(WalkabilityGrid walkabilityGrid, float x, float y, GameOverListener gameOverListener) {
         super(x, y);
-        initialiseAnimations();
         setSize(0.75f, 0.75f);
-        this.collisionHandler = new CollisionHandler(collisionLayer);
+        this.collisionHandler = new CollisionHandler(walkabilityGrid);
+        this.walkabilityGrid = walkabilityGrid;
         this.gameOverListener = gameOverListener;
         this.driftyMovementController = new DriftyMovementController();
     }
 
+    /**
+     * Returns the flow field leading enemies to this player, shared by all of them.
+     *
+     * @return flow field
+     */
+    public PlayerFlowField getFlowField() {
+        if (flowField == null) {
+            flowField = new PlayerFlowField(walkabilityGrid);
+        }
+        return flowField;
+    }
+
+    /**
+     * Returns the tiles enemies can see this player from, shared by all of them.
+     *
+     * @return visibility field
+     */
+    public VisibilityField getVisibilityField() {
+        if (visibilityField == null) {
+            visibilityField = new VisibilityField(walkabilityGrid);
+        }
+        return visibilityField;
+    }
+
     /**
      * Sets upward movement input.
      *
@@ -362,7 +404,9 @@ public void damage(int damage, DeathCause cause) {
         hp -= damage;
         if (hp <= 0 && !gameOverTriggered) {
             gameOverTriggered = true;
-            audioManager.stopAllSounds();
+            if (audioManager != null) {
+                audioManager.stopAllSounds();
+            }
             if (deathCauseListener != null) {
                 deathCauseListener.onDeath(cause);
             } else if (gameOverListener != null) {
@@ -412,6 +456,10 @@ public void setDeathCauseListener(DeathCauseListener deathCauseListener) {
      */
     @Override
     public void draw(Batch batch, float parentAlpha) {
+        // Loaded on the first draw, so the player can be simulated without a graphics context
+        if (downAnimation == null) {
+            initialiseAnimations();
+        }
         TextureRegion currentFrame;
         if (stunned) {
             currentFrame = switch (facingDirection) {
@@ -429,16 +477,35 @@ public void draw(Batch batch, float parentAlpha) {
             };
         }
 
-        batch.draw(currentFrame, getX(), getY(), getWidth(), getHeight());
+        batch.draw(currentFrame, drawPosition.getX(), drawPosition.getY(), getWidth(), getHeight());
+    }
+
+    /**
+     * Returns the x the player is drawn at, between the last two simulation ticks.
+     *
+     * @return draw x
+     */
+    public float getDrawX() {
+        return drawPosition.getX();
+    }
+
+    /**
+     * Returns the y the player is drawn at, between the last two simulation ticks.
+     *
+     * @return draw y
+     */
+    public float getDrawY() {
+        return drawPosition.getY();
     }
 
     /**
      * Updates player movement, animations, and camera following.
      *
-     * @param delta frame delta time
+     * @param delta simulation tick length
      */
     @Override
     public void act(float delta) {
+        drawPosition.save();
         super.act(delta);
         if (!stunned) {
             /*
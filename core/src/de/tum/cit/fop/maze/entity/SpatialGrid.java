@@ -0,0 +1,539 @@
+package de.tum.cit.fop.maze.entity;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uniform grid of buckets over a stage, telling which map objects and players are near a point or area.
+ * <p>
+ * Each bucket covers {@link #BUCKET_SIZE} tiles on a side. {@link MapObject}s and {@link Entity}s register
+ * themselves when they join a stage and move between buckets whenever their position or size changes, so
+ * lookups only scan the buckets an area touches instead of every actor on the stage. Screens size the grid
+ * to their level with {@link #forLevel(Stage, WalkabilityGrid)}; actors outside the covered area are kept
+ * in the edge buckets, which stays correct and only costs speed. The grid lives on the stage's root actor,
+ * so it goes away with the stage. Render thread only.
+ * <p>
+ * The grid also maintains the stage's {@link FreeTileIndex} once someone asks for it, and holds its
+ * {@link AgentStore}.
+ */
+public final class SpatialGrid {
+    /** Tiles per bucket side. */
+    public static final int BUCKET_SIZE = 4;
+    /** Tiles covered along each axis by a grid no level was given for. */
+    private static final int DEFAULT_COVERED_TILES = 64;
+
+    /** Number of bucket columns. */
+    private int columns;
+    /** Number of bucket rows. */
+    private int rows;
+    /** Actors per bucket, row-major, created on first use. */
+    private ArrayList<ArrayList<Entry>> buckets;
+    /** Entries found by the current lookup. */
+    private final ArrayList<Entry> found = new ArrayList<>();
+    /** Free tiles of the stage's level, or {@code null} until first requested. */
+    private FreeTileIndex freeTiles;
+    /** Movement data of the stage's agents, or {@code null} until first requested. */
+    private AgentStore agents;
+    /** Player on the stage, or {@code null} if none joined yet. */
+    private Player player;
+    /** Stamp of the current lookup, used to report actors spanning several buckets once. */
+    private int queryStamp = 0;
+    /** Join order handed to the next registered actor. */
+    private long nextSequence = 0;
+
+    /**
+     * Creates an empty grid covering the default area.
+     */
+    private SpatialGrid() {
+        columns = bucketsFor(DEFAULT_COVERED_TILES);
+        rows = bucketsFor(DEFAULT_COVERED_TILES);
+        buckets = emptyBuckets(columns * rows);
+    }
+
+    /**
+     * Returns the grid of a stage, creating it on first use.
+     *
+     * @param stage stage
+     * @return the stage's grid
+     */
+    public static SpatialGrid forStage(Stage stage) {
+        Object userObject = stage.getRoot().getUserObject();
+        if (userObject instanceof SpatialGrid grid) {
+            return grid;
+        }
+        SpatialGrid grid = new SpatialGrid();
+        stage.getRoot().setUserObject(grid);
+        return grid;
+    }
+
+    /**
+     * Returns the grid of a stage, sized to cover a level. Call when the stage and its level are set up;
+     * actors that joined before are moved to the resized buckets.
+     *
+     * @param stage stage
+     * @param walkabilityGrid walkability grid of the stage's level
+     * @return the stage's grid
+     */
+    public static SpatialGrid forLevel(Stage stage, WalkabilityGrid walkabilityGrid) {
+        SpatialGrid grid = forStage(stage);
+        grid.cover(walkabilityGrid.getWidth(), walkabilityGrid.getHeight());
+        return grid;
+    }
+
+    /**
+     * Resizes the buckets to cover an area, registering every actor again.
+     *
+     * @param widthTiles covered width in tiles
+     * @param heightTiles covered height in tiles
+     */
+    private void cover(int widthTiles, int heightTiles) {
+        int newColumns = bucketsFor(widthTiles);
+        int newRows = bucketsFor(heightTiles);
+        if (newColumns == columns && newRows == rows) {
+            return;
+        }
+        int stamp = ++queryStamp;
+        found.clear();
+        for (ArrayList<Entry> bucket : buckets) {
+            if (bucket == null) {
+                continue;
+            }
+            for (int i = 0; i < bucket.size(); i++) {
+                Entry entry = bucket.get(i);
+                if (entry.stamp != stamp) {
+                    entry.stamp = stamp;
+                    found.add(entry);
+                }
+            }
+        }
+        columns = newColumns;
+        rows = newRows;
+        buckets = emptyBuckets(columns * rows);
+        for (int i = 0; i < found.size(); i++) {
+            Entry entry = found.get(i);
+            insert(entry, column(entry.x), row(entry.y), column(entry.x + entry.width), row(entry.y + entry.height));
+        }
+        found.clear();
+    }
+
+    /**
+     * Returns the number of buckets needed along an axis.
+     *
+     * @param tiles covered tiles along the axis
+     * @return bucket count, at least 1
+     */
+    private static int bucketsFor(int tiles) {
+        return Math.max(1, (tiles + BUCKET_SIZE - 1) / BUCKET_SIZE);
+    }
+
+    /**
+     * Creates a bucket list with no bucket allocated yet.
+     *
+     * @param count number of buckets
+     * @return list of {@code null} buckets
+     */
+    private static ArrayList<ArrayList<Entry>> emptyBuckets(int count) {
+        ArrayList<ArrayList<Entry>> list = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            list.add(null);
+        }
+        return list;
+    }
+
+    /**
+     * Returns the player on the stage.
+     *
+     * @return player, or {@code null} if none joined yet
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the movement data of the agents on this stage, creating the store on first use.
+     *
+     * @return agent store
+     */
+    public AgentStore getAgents() {
+        if (agents == null) {
+            agents = new AgentStore();
+        }
+        return agents;
+    }
+
+    /**
+     * Returns the free tiles of a level on this stage, building the index on first use or when the level
+     * changed. Map objects already on the stage are recorded right away.
+     *
+     * @param walkabilityGrid walkability grid of the level
+     * @return free tile index
+     */
+    public FreeTileIndex getFreeTiles(WalkabilityGrid walkabilityGrid) {
+        if (freeTiles != null && freeTiles.getWalkabilityGrid() == walkabilityGrid) {
+            return freeTiles;
+        }
+        cover(walkabilityGrid.getWidth(), walkabilityGrid.getHeight());
+        freeTiles = new FreeTileIndex(walkabilityGrid);
+        int stamp = ++queryStamp;
+        for (ArrayList<Entry> bucket : buckets) {
+            if (bucket == null) {
+                continue;
+            }
+            for (int i = 0; i < bucket.size(); i++) {
+                Entry entry = bucket.get(i);
+                if (entry.stamp != stamp) {
+                    entry.stamp = stamp;
+                    entry.anchorCell = -1;
+                    updateAnchor(entry);
+                }
+            }
+        }
+        return freeTiles;
+    }
+
+    /**
+     * Collects the actors whose indexed area may overlap a rectangle, in the order they joined the stage.
+     * Callers still test the exact bounds they care about.
+     *
+     * @param x rectangle x
+     * @param y rectangle y
+     * @param width rectangle width
+     * @param height rectangle height
+     * @param out list receiving the candidates, cleared first
+     */
+    public void query(float x, float y, float width, float height, List<Actor> out) {
+        out.clear();
+        int minColumn = column(x);
+        int maxColumn = column(x + width);
+        int minRow = row(y);
+        int maxRow = row(y + height);
+        int stamp = ++queryStamp;
+        found.clear();
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                ArrayList<Entry> bucket = buckets.get(r * columns + c);
+                if (bucket == null) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.size(); i++) {
+                    Entry entry = bucket.get(i);
+                    if (entry.stamp != stamp) {
+                        entry.stamp = stamp;
+                        found.add(entry);
+                    }
+                }
+            }
+        }
+        sortBySequence(found);
+        for (int i = 0; i < found.size(); i++) {
+            out.add(found.get(i).actor);
+        }
+        found.clear();
+    }
+
+    /**
+     * Checks whether any registered actor overlaps a rectangle, using the actors' own position and size.
+     *
+     * @param x rectangle x
+     * @param y rectangle y
+     * @param width rectangle width
+     * @param height rectangle height
+     * @return {@code true} if an actor overlaps
+     */
+    public boolean overlapsAny(float x, float y, float width, float height) {
+        int minColumn = column(x);
+        int maxColumn = column(x + width);
+        int minRow = row(y);
+        int maxRow = row(y + height);
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                ArrayList<Entry> bucket = buckets.get(r * columns + c);
+                if (bucket == null) {
+                    continue;
+                }
+                for (int i = 0; i < bucket.size(); i++) {
+                    Actor actor = bucket.get(i).actor;
+                    if (x < actor.getX() + actor.getWidth() && x + width > actor.getX()
+                            && y < actor.getY() + actor.getHeight() && y + height > actor.getY()) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Registers an actor that joined the stage.
+     *
+     * @param entry the actor's entry
+     * @param x indexed area x
+     * @param y indexed area y
+     * @param width indexed area width
+     * @param height indexed area height
+     */
+    void add(Entry entry, float x, float y, float width, float height) {
+        entry.grid = this;
+        entry.sequence = nextSequence++;
+        if (entry.actor instanceof Player joined) {
+            player = joined;
+        }
+        entry.anchorCell = -1;
+        updateAnchor(entry);
+        entry.setArea(x, y, width, height);
+        insert(entry, column(x), row(y), column(x + width), row(y + height));
+    }
+
+    /**
+     * Moves an actor to the buckets its indexed area now touches.
+     *
+     * @param entry the actor's entry
+     * @param x indexed area x
+     * @param y indexed area y
+     * @param width indexed area width
+     * @param height indexed area height
+     */
+    void move(Entry entry, float x, float y, float width, float height) {
+        updateAnchor(entry);
+        entry.setArea(x, y, width, height);
+        int minColumn = column(x);
+        int minRow = row(y);
+        int maxColumn = column(x + width);
+        int maxRow = row(y + height);
+        if (minColumn == entry.minColumn && minRow == entry.minRow
+                && maxColumn == entry.maxColumn && maxRow == entry.maxRow) {
+            return;
+        }
+        erase(entry);
+        insert(entry, minColumn, minRow, maxColumn, maxRow);
+    }
+
+    /**
+     * Unregisters an actor that left the stage.
+     *
+     * @param entry the actor's entry
+     */
+    void remove(Entry entry) {
+        if (freeTiles != null && entry.anchorCell >= 0) {
+            freeTiles.release(entry.anchorCell);
+        }
+        entry.anchorCell = -1;
+        erase(entry);
+        if (entry.actor == player) {
+            player = null;
+        }
+        entry.grid = null;
+    }
+
+    /**
+     * Moves a map object's claim in the free tile index to the tile its bottom-left corner is now in.
+     *
+     * @param entry the actor's entry
+     */
+    private void updateAnchor(Entry entry) {
+        if (freeTiles == null || !(entry.actor instanceof MapObject)) {
+            return;
+        }
+        WalkabilityGrid walkabilityGrid = freeTiles.getWalkabilityGrid();
+        int tileX = MathUtils.floor(entry.actor.getX());
+        int tileY = MathUtils.floor(entry.actor.getY());
+        int cell = walkabilityGrid.inBounds(tileX, tileY) ? tileY * walkabilityGrid.getWidth() + tileX : -1;
+        if (cell == entry.anchorCell) {
+            return;
+        }
+        if (entry.anchorCell >= 0) {
+            freeTiles.release(entry.anchorCell);
+        }
+        if (cell >= 0) {
+            freeTiles.occupy(cell);
+        }
+        entry.anchorCell = cell;
+    }
+
+    /**
+     * Adds an entry to a range of buckets.
+     *
+     * @param entry entry
+     * @param minColumn first bucket column
+     * @param minRow first bucket row
+     * @param maxColumn last bucket column
+     * @param maxRow last bucket row
+     */
+    private void insert(Entry entry, int minColumn, int minRow, int maxColumn, int maxRow) {
+        entry.minColumn = minColumn;
+        entry.minRow = minRow;
+        entry.maxColumn = maxColumn;
+        entry.maxRow = maxRow;
+        for (int r = minRow; r <= maxRow; r++) {
+            for (int c = minColumn; c <= maxColumn; c++) {
+                int index = r * columns + c;
+                ArrayList<Entry> bucket = buckets.get(index);
+                if (bucket == null) {
+                    bucket = new ArrayList<>();
+                    buckets.set(index, bucket);
+                }
+                bucket.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Removes an entry from the buckets it is in.
+     *
+     * @param entry entry
+     */
+    private void erase(Entry entry) {
+        for (int r = entry.minRow; r <= entry.maxRow; r++) {
+            for (int c = entry.minColumn; c <= entry.maxColumn; c++) {
+                ArrayList<Entry> bucket = buckets.get(r * columns + c);
+                int last = bucket.size() - 1;
+                int i = bucket.lastIndexOf(entry);
+                bucket.set(i, bucket.get(last));
+                bucket.remove(last);
+            }
+        }
+    }
+
+    /**
+     * Sorts the entries found by a lookup into join order, so callers act on them the way a scan over the
+     * stage would. Lookups find a handful of actors, so insertion sort is enough.
+     *
+     * @param entries entries to sort
+     */
+    private static void sortBySequence(ArrayList<Entry> entries) {
+        for (int i = 1; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            int j = i - 1;
+            while (j >= 0 && entries.get(j).sequence > entry.sequence) {
+                entries.set(j + 1, entries.get(j));
+                j--;
+            }
+            entries.set(j + 1, entry);
+        }
+    }
+
+    /**
+     * Returns the bucket column of an x coordinate, clamped to the grid.
+     *
+     * @param x world x in tiles
+     * @return bucket column
+     */
+    private int column(float x) {
+        return MathUtils.clamp(MathUtils.floor(x / BUCKET_SIZE), 0, columns - 1);
+    }
+
+    /**
+     * Returns the bucket row of a y coordinate, clamped to the grid.
+     *
+     * @param y world y in tiles
+     * @return bucket row
+     */
+    private int row(float y) {
+        return MathUtils.clamp(MathUtils.floor(y / BUCKET_SIZE), 0, rows - 1);
+    }
+
+    /**
+     * Place of one actor in a grid.
+     */
+    static final class Entry {
+        /** Indexed actor. */
+        private final Actor actor;
+        /** Grid the actor is registered in, or {@code null}. */
+        private SpatialGrid grid;
+        /** Join order on the stage. */
+        private long sequence;
+        /** Stamp of the last lookup that reported the actor. */
+        private int stamp;
+        /** Cell the map object claims in the free tile index, or -1. */
+        private int anchorCell = -1;
+        /** First bucket column covered. */
+        private int minColumn;
+        /** First bucket row covered. */
+        private int minRow;
+        /** Last bucket column covered. */
+        private int maxColumn;
+        /** Last bucket row covered. */
+        private int maxRow;
+        /** Indexed area x, kept to register the actor again when the grid is resized. */
+        private float x;
+        /** Indexed area y. */
+        private float y;
+        /** Indexed area width. */
+        private float width;
+        /** Indexed area height. */
+        private float height;
+
+        /**
+         * Creates an entry for an actor that is not registered yet.
+         *
+         * @param actor map object or entity
+         */
+        Entry(Actor actor) {
+            this.actor = actor;
+        }
+
+        /**
+         * Records the indexed area.
+         *
+         * @param x indexed area x
+         * @param y indexed area y
+         * @param width indexed area width
+         * @param height indexed area height
+         */
+        private void setArea(float x, float y, float width, float height) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * Moves the actor's registration to a new stage. Called from the actor's {@code setStage}.
+         *
+         * @param stage new stage, or {@code null} if the actor left its stage
+         * @param x indexed area x
+         * @param y indexed area y
+         * @param width indexed area width
+         * @param height indexed area height
+         */
+        void stageChanged(Stage stage, float x, float y, float width, float height) {
+            SpatialGrid target = stage == null ? null : forStage(stage);
+            if (target == grid) {
+                return;
+            }
+            if (grid != null) {
+                grid.remove(this);
+            }
+            if (target != null) {
+                target.add(this, x, y, width, height);
+            }
+        }
+
+        /**
+         * Updates the actor's buckets after it moved or resized.
+         *
+         * @param x indexed area x
+         * @param y indexed area y
+         * @param width indexed area width
+         * @param height indexed area height
+         */
+        void moved(float x, float y, float width, float height) {
+            if (grid != null) {
+                grid.move(this, x, y, width, height);
+            }
+        }
+
+        /**
+         * Checks whether the actor is registered in a grid.
+         *
+         * @return {@code true} if registered
+         */
+        boolean isRegistered() {
+            return grid != null;
+        }
+    }
+}
@@ -15,7 +15,7 @@
  */
 public class Collectible extends MapObject {
     /** Point manager for scoring effects. */
-    protected final PointManager pointManager;
+    protected PointManager pointManager;
     /** Spin animation for the collectible. */
     protected Animation<TextureRegion> spinAnimation;
     /** Whether the collectible has been picked up. */
@@ -23,7 +23,7 @@ public class Collectible extends MapObject {
     /** Frames remaining for pickup shrink animation. */
     private int pickUpFrameCounter = 32;
     /** Spawn coordinates used as ID. */
-    private final float spawnX, spawnY;
+    private float spawnX, spawnY;
 
     /**
      * Creates a collectible at the given position and size.
@@ -44,6 +44,32 @@ public Collectible(float x, float y, int w, int h, PointManager pointManager) {
         this.animationTime = MathUtils.random(0f, 1f);
     }
 
+    /**
+     * Places a pooled collectible at a new spawn, as if it was just created there.
+     *
+     * @param x spawn x position
+     * @param y spawn y position
+     * @param w width in tiles
+     * @param h height in tiles
+     * @param pointManager point manager for scoring
+     */
+    protected void respawn(float x, float y, int w, int h, PointManager pointManager) {
+        setBounds(x, y, w, h);
+        this.spawnX = x;
+        this.spawnY = y;
+        this.pointManager = pointManager;
+    }
+
+    /**
+     * Clears the pickup state, so a pooled collectible can be collected again.
+     */
+    @Override
+    protected void resetForReuse() {
+        super.resetForReuse();
+        pickedUp = false;
+        pickUpFrameCounter = 32;
+    }
+
     /**
      * Returns the spawn x coordinate.
      *
@@ -103,6 +129,7 @@ public boolean getPickedUp() {
      */
     @Override
     public void draw(Batch batch, float parentAlpha) {
+        ensureSpritesLoaded();
         batch.draw(spinAnimation.getKeyFrame(animationTime, true), getX(), getY(), getWidth(), getHeight());
     }
 
@@ -5,13 +5,14 @@
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
 import de.tum.cit.fop.maze.system.AchievementManager;
 import de.tum.cit.fop.maze.system.PointManager;
 
 /**
  * Drop-off point that completes a delivery when the player has the key.
  */
-public class DropOff extends Collectible {
+public class DropOff extends Collectible implements Pool.Poolable {
     /**
      * Listener invoked when the drop-off is completed.
      */
@@ -19,10 +20,17 @@ public interface DropOffListener {
         void onDropOff();
     }
 
+    /** Drop-offs completed in endless mode, ready to be placed again. */
+    private static final Pool<DropOff> POOL = new Pool<>() {
+        @Override
+        protected DropOff newObject() {
+            return new DropOff(0f, 0f, null, null, false);
+        }
+    };
     /** Listener to notify on drop-off completion. */
-    private final DropOffListener dropOffListener;
+    private DropOffListener dropOffListener;
     /** Whether the drop-off grants can-leave instead of triggering victory. */
-    private final boolean grantsCanLeave;
+    private boolean grantsCanLeave;
     /** Whether the drop-off has been triggered. */
     private boolean triggered = false;
 
@@ -39,11 +47,58 @@ public DropOff(float x, float y, PointManager pointManager, DropOffListener drop
         super(x, y, 1, 1, pointManager);
         this.dropOffListener = dropOffListener;
         this.grantsCanLeave = grantsCanLeave;
+        animationTime = 0f;
+    }
+
+    /**
+     * Returns a drop-off at the given position, reusing a completed one if possible.
+     *
+     * @param x spawn x position
+     * @param y spawn y position
+     * @param pointManager point manager for scoring
+     * @param dropOffListener listener to call on completion
+     * @param grantsCanLeave whether to grant can-leave instead of triggering victory
+     * @return drop-off, not yet on a stage
+     */
+    public static DropOff obtain(float x, float y, PointManager pointManager, DropOffListener dropOffListener, boolean grantsCanLeave) {
+        DropOff dropOff = POOL.obtain();
+        dropOff.respawn(x, y, 1, 1, pointManager);
+        dropOff.dropOffListener = dropOffListener;
+        dropOff.grantsCanLeave = grantsCanLeave;
+        return dropOff;
+    }
+
+    /**
+     * Hands a completed drop-off that left its stage back for reuse.
+     *
+     * @param dropOff drop-off no longer used by the caller
+     */
+    public static void free(DropOff dropOff) {
+        if (dropOff.getStage() == null) {
+            POOL.free(dropOff);
+        }
+    }
+
+    /**
+     * Clears the drop-off's state when it goes back to the pool. The sprite is kept.
+     */
+    @Override
+    public void reset() {
+        resetForReuse();
+        dropOffListener = null;
+        triggered = false;
+        setVisible(true);
+    }
+
+    /**
+     * Loads the drop-off sprite.
+     */
+    @Override
+    protected void loadSprites() {
         Texture texture = new Texture(Gdx.files.internal("DropOff.png"));
         Array<TextureRegion> frames = new Array<>(TextureRegion.class);
         frames.add(new TextureRegion(texture));
         spinAnimation = new Animation<>(1f, frames, Animation.PlayMode.NORMAL);
-        animationTime = 0f;
     }
 
     /**
@@ -20,13 +20,13 @@ public class EnergyDrink extends Collectible {
      */
     public EnergyDrink(float x, float y, PointManager pointManager) {
         super(x, y, 1, 1, pointManager);
-        initEnergyDrinkAnimation();
     }
 
     /**
      * Initializes the animated sprite for the energy drink.
      */
-    private void initEnergyDrinkAnimation() {
+    @Override
+    protected void loadSprites() {
         Texture textureSheet = new Texture(Gdx.files.internal("energy-cans/energy-blau-animation.png"));
         Array<TextureRegion> spinFrames = new Array<>(TextureRegion.class);
         int frameWidth = 32, frameHeight = 32;
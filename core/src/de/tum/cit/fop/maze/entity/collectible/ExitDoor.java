@@ -34,11 +34,18 @@ public interface VictoryListener {
     public ExitDoor(float x, float y, PointManager pointManager, VictoryListener victoryListener) {
         super(x, y, 1, 1, pointManager);
         this.victoryListener = victoryListener;
+        animationTime = 0f;
+    }
+
+    /**
+     * Loads the road block sprite.
+     */
+    @Override
+    protected void loadSprites() {
         Texture texture = new Texture(Gdx.files.internal("RoadBlock.png"));
         Array<TextureRegion> frames = new Array<>(TextureRegion.class);
         frames.add(new TextureRegion(texture));
         spinAnimation = new Animation<>(1f, frames, Animation.PlayMode.NORMAL);
-        animationTime = 0f;
     }
 
     /**
@@ -15,6 +15,13 @@ public class HealthPickup extends Collectible {
      */
     public HealthPickup(float x, float y, PointManager pointManager) {
         super(x, y, 1, 1, pointManager);
+    }
+
+    /**
+     * Loads the spin animation.
+     */
+    @Override
+    protected void loadSprites() {
         initSpinAnimation(0, 64, 4);
     }
 
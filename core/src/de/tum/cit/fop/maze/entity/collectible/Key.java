@@ -6,12 +6,24 @@
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.Pool;
 import de.tum.cit.fop.maze.system.PointManager;
 
 /**
  * Collectible key required to open the exit.
  */
-public class Key extends Collectible {
+public class Key extends Collectible implements Pool.Poolable {
+    /** Keys collected in endless mode, ready to be placed again. */
+    private static final Pool<Key> POOL = new Pool<>() {
+        @Override
+        protected Key newObject() {
+            return new Key(0f, 0f, null);
+        }
+    };
+    /** Key variant textures by number, shared so that respawned keys load each file once. */
+    private static final IntMap<Texture> variantTextures = new IntMap<>();
+
     /**
      * Creates a key collectible.
      *
@@ -21,6 +33,48 @@ public class Key extends Collectible {
      */
     public Key(float x, float y, PointManager pointManager) {
         super(x, y, 1, 1, pointManager);
+        animationTime = 0f;
+    }
+
+    /**
+     * Returns a key at the given position, reusing a collected one if possible.
+     *
+     * @param x spawn x position
+     * @param y spawn y position
+     * @param pointManager point manager for scoring
+     * @return key, not yet on a stage
+     */
+    public static Key obtain(float x, float y, PointManager pointManager) {
+        Key key = POOL.obtain();
+        key.respawn(x, y, 1, 1, pointManager);
+        return key;
+    }
+
+    /**
+     * Hands a collected key that left its stage back for reuse.
+     *
+     * @param key key no longer used by the caller
+     */
+    public static void free(Key key) {
+        if (key.getStage() == null) {
+            POOL.free(key);
+        }
+    }
+
+    /**
+     * Clears the key's state when it goes back to the pool. The next draw picks a new variant.
+     */
+    @Override
+    public void reset() {
+        resetForReuse();
+        invalidateSprites();
+    }
+
+    /**
+     * Loads a random key sprite, or the spinning key if there are no variants.
+     */
+    @Override
+    protected void loadSprites() {
         int variantCount = 0;
         while (true) {
             int next = variantCount + 1;
@@ -32,11 +86,14 @@ public Key(float x, float y, PointManager pointManager) {
         }
         if (variantCount > 0) {
             int pick = MathUtils.random(1, variantCount);
-            Texture texture = new Texture(Gdx.files.internal("key" + pick + ".png"));
+            Texture texture = variantTextures.get(pick);
+            if (texture == null) {
+                texture = new Texture(Gdx.files.internal("key" + pick + ".png"));
+                variantTextures.put(pick, texture);
+            }
             Array<TextureRegion> frames = new Array<>(TextureRegion.class);
             frames.add(new TextureRegion(texture));
             spinAnimation = new Animation<>(1f, frames, Animation.PlayMode.NORMAL);
-            animationTime = 0f;
         } else {
             initSpinAnimation(64, 48, 4);
         }
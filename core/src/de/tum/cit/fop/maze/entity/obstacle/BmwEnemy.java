@@ -1,6 +1,5 @@
 package de.tum.cit.fop.maze.entity.obstacle;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.GridPoint2;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
@@ -11,53 +10,87 @@
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import de.tum.cit.fop.maze.system.AchievementManager;
+import de.tum.cit.fop.maze.ai.PathBuffer;
+import de.tum.cit.fop.maze.ai.PathCache;
+import de.tum.cit.fop.maze.ai.PathPriority;
+import de.tum.cit.fop.maze.ai.PathRequest;
+import de.tum.cit.fop.maze.ai.PathRequestScheduler;
 import de.tum.cit.fop.maze.ai.RoadPathfinder;
+import de.tum.cit.fop.maze.ai.RoadRouter;
+import de.tum.cit.fop.maze.entity.ActorRecycler;
+import de.tum.cit.fop.maze.entity.AgentStore;
 import de.tum.cit.fop.maze.entity.DeathCause;
+import de.tum.cit.fop.maze.entity.InterpolatedPosition;
 import de.tum.cit.fop.maze.entity.Player;
+import de.tum.cit.fop.maze.entity.SpatialGrid;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 import java.util.ArrayList;
 import java.util.List;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
 
 /**
  * BMW enemy that drives along road tiles and collides with actors.
+ * <p>
+ * Spawns take BMWs from {@link #obtain(float, float)}; BMWs that crash go back to the pool through the
+ * {@link ActorRecycler} once the stage has acted.
  */
-public class BmwEnemy extends Obstacle {
-    /** Target distance threshold for path steps. */
-    private static final float TARGET_EPS = 0.05f;
+public class BmwEnemy extends Obstacle implements Pool.Poolable {
     /** The (game units) distance at which a tile is considered "centered" */
     private static final float CENTER_EPS = 0.02f;
     private static final int BMW_WIDTH_HORIZONTAL = 2;
     private static final int BMW_HEIGHT_HORIZONTAL = 1;
     private static final int BMW_WIDTH_VERTICAL = 1;
     private static final int BMW_HEIGHT_VERTICAL = 2;
-    private static TiledMapTileLayer roadLayer;
+    /** Road tiles drawn per requested BMW before a spawn gives up. */
+    private static final int SPAWN_ATTEMPTS_PER_BMW = 8;
+    private static WalkabilityGrid walkabilityGrid;
     private static RoadPathfinder pathfinder;
     private static int mapWidth, mapHeight;
+    /** BMWs that crashed, ready for reuse on the current grid. */
+    private static final Pool<BmwEnemy> POOL = new Pool<>() {
+        @Override
+        protected BmwEnemy newObject() {
+            return new BmwEnemy(walkabilityGrid, 0f, 0f);
+        }
+    };
     private final float speed = 6f;
     protected static final List<GridPoint2> roadTiles = new ArrayList<>();
-    private ArrayList<GridPoint2> path = new ArrayList<>();
-    private int pathIndex = 0;
+    private final PathBuffer path = new PathBuffer();
+    /** Slot in the stage's agent store, holding the path cursor and facing direction. */
+    private final AgentStore.Agent agent = new AgentStore.Agent(this, path, AgentStore.HEADING_NORTH, true);
+    /** Plans routes over the road graph and hands them out leg by leg. */
+    private final RoadRouter router;
+    /** Route query, answered by the shared scheduler within its frame budget. */
+    private final PathRequest routeRequest;
     private int goalX = Integer.MIN_VALUE, goalY = Integer.MIN_VALUE;
     private boolean pendingRemove = false;
+    /** Actors near the BMW found by the current collision check, shared since BMWs act one at a time. */
+    private static final List<Actor> nearbyActors = new ArrayList<>();
     private static Animation<TextureRegion> driveNorthAnimation, driveSouthAnimation, driveEastAnimation, driveWestAnimation;
     private static boolean animationsInitialized = false;
-    private Direction facingDirection = Direction.N;
-
-    /**
-     * Cardinal directions for BMW orientation.
-     */
-    private enum Direction {N, S, E, W}
+    /** Position drawn between simulation ticks. */
+    private final InterpolatedPosition drawPosition = new InterpolatedPosition(this);
 
     /**
      * Creates a BMW enemy at a given position.
      *
-     * @param roadLayer road layer for pathfinding
+     * @param walkabilityGrid walkability grid with road flags for pathfinding
      * @param x spawn x position
      * @param y spawn y position
      */
-    public BmwEnemy(TiledMapTileLayer roadLayer, float x, float y) {
+    public BmwEnemy(WalkabilityGrid walkabilityGrid, float x, float y) {
         super(x, y, BMW_WIDTH_HORIZONTAL, BMW_HEIGHT_HORIZONTAL, 0, 0, 1);
-        setRoadLayer(roadLayer);
+        setWalkabilityGrid(walkabilityGrid);
+        router = new RoadRouter(BmwEnemy.walkabilityGrid, pathfinder);
+        routeRequest = new PathRequest(router);
+    }
+
+    /**
+     * Loads the drive animations shared by all BMWs.
+     */
+    @Override
+    protected void loadSprites() {
         initDriveAnimation();
     }
 
@@ -68,25 +101,76 @@ public BmwEnemy(TiledMapTileLayer roadLayer, float x, float y) {
     protected void onAddedToStage() {
         super.onAddedToStage();
         pickNewGoal();
-        recalcPath();
+        // A reused BMW may still wait for an answer asked for before it crashed
+        if (routeRequest.isIdle()) {
+            recalcPath();
+        }
+    }
+
+    /**
+     * Moves the BMW's agent slot along with the BMW's stage.
+     *
+     * @param stage new stage, or {@code null} when removed
+     */
+    @Override
+    protected void setStage(Stage stage) {
+        super.setStage(stage);
+        agent.stageChanged(stage);
+    }
+
+    /**
+     * Keeps the agent slot up to date after moving.
+     */
+    @Override
+    protected void positionChanged() {
+        super.positionChanged();
+        // The superclass constructor places the actor before the agent exists
+        if (agent != null) {
+            agent.boundsChanged();
+        }
+    }
+
+    /**
+     * Keeps the agent slot up to date after turning.
+     */
+    @Override
+    protected void sizeChanged() {
+        super.sizeChanged();
+        // The superclass constructor places the actor before the agent exists
+        if (agent != null) {
+            agent.boundsChanged();
+        }
     }
 
     /**
-     * Updates BMW movement and handles collisions.
+     * Picks routes, handles collisions and asks to drive along the route.
      *
      * @param delta frame delta time
      */
     @Override
     public void act(float delta) {
+        // Crashed earlier this tick, but still in the stage's act snapshot
+        if (getStage() == null) {
+            return;
+        }
+        drawPosition.save();
         super.act(delta);
         if (roadTiles.isEmpty()) { return; }
         if (checkBmwCollisions()) { return; }
 
-        if ((pathIndex >= path.size() || path.isEmpty()) && isCenteredOnTile()) {
-            pickNewGoal();
-            recalcPath();
+        if (routeRequest.isReady() && isCenteredOnTile()
+                && routeRequest.takeResult(clampTileX(getX() + getWidth() / 2f), clampTileY(getY() + getHeight() / 2f), path)) {
+            agent.setPathCursor(0);
         }
-        followPath(delta);
+        if ((agent.isPathExhausted() || path.isEmpty()) && routeRequest.isIdle() && isCenteredOnTile()) {
+            if (router.hasNextSegment()) {
+                nextSegment();
+            } else {
+                pickNewGoal();
+                recalcPath();
+            }
+        }
+        agent.move(speed, speed);
     }
 
     /**
@@ -112,27 +196,41 @@ private boolean checkBmwCollisions() {
         if (pendingRemove || stage == null) {
             return pendingRemove;
         }
-        for (int i = 0; i < stage.getActors().size; i++) {
-            Actor actor = stage.getActors().get(i);
+        SpatialGrid.forStage(stage).query(getX(), getY(), getWidth(), getHeight(), nearbyActors);
+        for (int i = 0; i < nearbyActors.size(); i++) {
+            Actor actor = nearbyActors.get(i);
             if (actor instanceof BmwEnemy other) {
                 if (other == this || other.pendingRemove) {
                     continue;
                 }
-                if (getBounds().overlaps(other.getBounds())) {
+                if (overlaps(other)) {
+                    nearbyActors.clear();
                     handleBmwCollision(other);
                     return true;
                 }
             } else if (actor instanceof Enemy guard) {
-                Rectangle guardBounds = new Rectangle(guard.getX(), guard.getY(), guard.getWidth(), guard.getHeight());
-                if (getBounds().overlaps(guardBounds)) {
+                if (overlaps(guard)) {
+                    nearbyActors.clear();
                     handleGuardCollision(guard);
                     return true;
                 }
             }
         }
+        nearbyActors.clear();
         return false;
     }
 
+    /**
+     * Checks whether the BMW's sprite overlaps another actor's.
+     *
+     * @param other other actor
+     * @return {@code true} if overlapping
+     */
+    private boolean overlaps(Actor other) {
+        return getX() < other.getX() + other.getWidth() && getX() + getWidth() > other.getX()
+                && getY() < other.getY() + other.getHeight() && getY() + getHeight() > other.getY();
+    }
+
     /**
      * Handles collisions between two BMWs.
      *
@@ -149,7 +247,7 @@ private void handleBmwCollision(BmwEnemy other) {
         }
         float centerX = (getX() + getWidth() / 2f + other.getX() + other.getWidth() / 2f) / 2f;
         float centerY = (getY() + getHeight() / 2f + other.getY() + other.getHeight() / 2f) / 2f;
-        stage.addActor(new Explosion(centerX, centerY, 5f, player));
+        stage.addActor(Explosion.obtain(centerX, centerY, 5f, player));
         Rectangle cameraView = null;
         if (stage.getCamera() instanceof com.badlogic.gdx.graphics.OrthographicCamera camera) {
             float viewW = camera.viewportWidth * camera.zoom;
@@ -161,6 +259,8 @@ private void handleBmwCollision(BmwEnemy other) {
         spawnRandomBmws(player, stage, 2, cameraView);
         remove();
         other.remove();
+        ActorRecycler.freeAfterAct(POOL, this);
+        ActorRecycler.freeAfterAct(POOL, other);
     }
 
     /**
@@ -176,7 +276,7 @@ private void handleGuardCollision(Enemy guard) {
         }
         float centerX = guard.getX() + guard.getWidth() / 2f;
         float centerY = guard.getY() + guard.getHeight() / 2f;
-        stage.addActor(new JandarmeriaDeath(centerX, centerY));
+        stage.addActor(JandarmeriaDeath.obtain(centerX, centerY));
         guard.remove();
     }
 
@@ -218,22 +318,14 @@ private void initDriveAnimation() {
      */
     @Override
     public void draw(Batch batch, float parentAlpha) {
-        TextureRegion currentFrame = switch (facingDirection) {
-            case S -> driveSouthAnimation.getKeyFrame(animationTime, true);
-            case E -> driveEastAnimation.getKeyFrame(animationTime, true);
-            case W -> driveWestAnimation.getKeyFrame(animationTime, true);
+        ensureSpritesLoaded();
+        TextureRegion currentFrame = switch (agent.getHeading()) {
+            case AgentStore.HEADING_SOUTH -> driveSouthAnimation.getKeyFrame(animationTime, true);
+            case AgentStore.HEADING_EAST -> driveEastAnimation.getKeyFrame(animationTime, true);
+            case AgentStore.HEADING_WEST -> driveWestAnimation.getKeyFrame(animationTime, true);
             default -> driveNorthAnimation.getKeyFrame(animationTime, true);
         };
-        batch.draw(currentFrame, getX(), getY(), getWidth(), getHeight());
-    }
-
-    /**
-     * Returns current bounding rectangle.
-     *
-     * @return bounds rectangle
-     */
-    private Rectangle getBounds() {
-        return new Rectangle(getX(), getY(), getWidth(), getHeight());
+        batch.draw(currentFrame, drawPosition.getX(), drawPosition.getY(), getWidth(), getHeight());
     }
 
     /**
@@ -256,13 +348,15 @@ public static void spawnRandomBmws(Player player, Stage stage, int amount) {
      * @param cameraView camera bounds to avoid
      */
     public static void spawnRandomBmws(Player player, Stage stage, int amount, Rectangle cameraView) {
-        List<GridPoint2> roadTiles = collectRoadTiles(roadLayer);
-        if (roadTiles.isEmpty()) { return; }
-        List<GridPoint2> candidates = filterSpawnCandidates(roadTiles, player, roadLayer.getWidth(), roadLayer.getHeight(), 2);
+        if (walkabilityGrid == null || roadTiles.isEmpty()) { return; }
+        int playerTileX = clampTileX(player.getX() + player.getWidth() / 2f);
+        int playerTileY = clampTileY(player.getY() + player.getHeight() / 2f);
         int spawned = 0;
-        while (spawned < amount && !candidates.isEmpty()) {
-            int index = MathUtils.random(candidates.size() - 1);
-            GridPoint2 target = candidates.remove(index);
+        for (int attempt = 0; spawned < amount && attempt < amount * SPAWN_ATTEMPTS_PER_BMW; attempt++) {
+            GridPoint2 target = roadTiles.get(MathUtils.random(roadTiles.size() - 1));
+            if (Math.abs(target.x - playerTileX) <= 2 && Math.abs(target.y - playerTileY) <= 2) {
+                continue;
+            }
             float centerX = target.x + 0.5f, centerY = target.y + 0.5f;
             if (wouldCollideAt(stage, centerX, centerY)) {
                 continue;
@@ -271,31 +365,11 @@ public static void spawnRandomBmws(Player player, Stage stage, int amount, Recta
                 continue;
             }
             float spawnX = centerX - (BMW_WIDTH_HORIZONTAL / 2f), spawnY = centerY - (BMW_HEIGHT_HORIZONTAL / 2f);
-            stage.addActor(new BmwEnemy(roadLayer, spawnX, spawnY));
+            stage.addActor(obtain(spawnX, spawnY));
             spawned++;
         }
     }
 
-    /**
-     * Collects all road tiles from the road layer.
-     *
-     * @param roadLayer road layer to scan
-     * @return list of road tiles
-     */
-    private static List<GridPoint2> collectRoadTiles(TiledMapTileLayer roadLayer) {
-        List<GridPoint2> tiles = new ArrayList<>();
-        int width = roadLayer.getWidth();
-        int height = roadLayer.getHeight();
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                if (roadLayer.getCell(x, y) != null) {
-                    tiles.add(new GridPoint2(x, y));
-                }
-            }
-        }
-        return tiles;
-    }
-
     /**
      * Checks whether spawning would collide with existing actors.
      *
@@ -308,34 +382,17 @@ private static boolean wouldCollideAt(Stage stage, float centerX, float centerY)
         if (stage == null) {
             return true;
         }
-        // check if you spawn the BMW when he is moving left/right
-        Rectangle spawnBoundsHorizontal = new Rectangle(
-                centerX - (BMW_WIDTH_HORIZONTAL / 2f),
-                centerY - (BMW_HEIGHT_HORIZONTAL / 2f),
-                BMW_WIDTH_HORIZONTAL,
-                BMW_HEIGHT_HORIZONTAL
-        );
-
-        // check if you spawn the BMW when he is moving up/down
-        Rectangle spawnBoundsVertical = new Rectangle(
-                centerX - (BMW_WIDTH_VERTICAL / 2f),
-                centerY - (BMW_HEIGHT_VERTICAL / 2f),
-                BMW_WIDTH_VERTICAL,
-                BMW_HEIGHT_VERTICAL
-        );
-
-
+        SpatialGrid spatialGrid = SpatialGrid.forStage(stage);
         // if at any point a bmw can't spawn in either orientation, we don't spawn him there
         // in theory a bmw could spawn in a borked position, for example, with one tile over the edge, however,
         // it would take him at most 1 frame to switch his orientation or move to a valid state,
         // so this will not be fixed
-        for (Actor actor : stage.getActors()) {
-            Rectangle actorBounds = new Rectangle(actor.getX(), actor.getY(), actor.getWidth(), actor.getHeight());
-            if (spawnBoundsHorizontal.overlaps(actorBounds) || spawnBoundsVertical.overlaps(actorBounds)) {
-                return true;
-            }
-        }
-        return false;
+        // check if you spawn the BMW when he is moving left/right
+        return spatialGrid.overlapsAny(centerX - (BMW_WIDTH_HORIZONTAL / 2f), centerY - (BMW_HEIGHT_HORIZONTAL / 2f),
+                        BMW_WIDTH_HORIZONTAL, BMW_HEIGHT_HORIZONTAL)
+                // check if you spawn the BMW when he is moving up/down
+                || spatialGrid.overlapsAny(centerX - (BMW_WIDTH_VERTICAL / 2f), centerY - (BMW_HEIGHT_VERTICAL / 2f),
+                        BMW_WIDTH_VERTICAL, BMW_HEIGHT_VERTICAL);
     }
 
     /**
@@ -363,23 +420,32 @@ private static boolean wouldOverlapCamera(float centerX, float centerY, Rectangl
     }
 
     /**
-     * Caches road tiles from the current road layer.
+     * Caches road tiles from the current walkability grid.
      */
     private static void cacheRoadTiles() {
         for (int x = 0; x < mapWidth; x++) {
             for (int y = 0; y < mapHeight; y++) {
-                if (roadLayer.getCell(x, y) != null) {
+                if (walkabilityGrid.isRoad(x, y)) {
                     roadTiles.add(new GridPoint2(x, y));
                 }
             }
         }
     }
 
+    /**
+     * Returns the path cache of the shared road pathfinder.
+     *
+     * @return path cache, or {@code null} if no grid was set yet
+     */
+    public static PathCache getPathCache() {
+        return pathfinder == null ? null : pathfinder.getPathCache();
+    }
+
     /**
      * Recomputes cached road tiles.
      */
     public static void recomputeRoadTiles() {
-        if (roadLayer == null) {
+        if (walkabilityGrid == null) {
             return;
         }
         roadTiles.clear();
@@ -387,19 +453,50 @@ public static void recomputeRoadTiles() {
     }
 
     /**
-     * Sets the road layer used for BMW navigation.
+     * Returns a BMW at a given position on the current grid, reusing a crashed one if possible.
      *
-     * @param newRoadLayer new road layer
+     * @param x spawn x position
+     * @param y spawn y position
+     * @return BMW, not yet on a stage
      */
-    public static void setRoadLayer(TiledMapTileLayer newRoadLayer) {
-        if (newRoadLayer == null) {
+    public static BmwEnemy obtain(float x, float y) {
+        BmwEnemy bmw = POOL.obtain();
+        bmw.setBounds(x, y, BMW_WIDTH_HORIZONTAL, BMW_HEIGHT_HORIZONTAL);
+        return bmw;
+    }
+
+    /**
+     * Clears the BMW's state when it goes back to the pool, as if it was just created.
+     */
+    @Override
+    public void reset() {
+        resetForReuse();
+        goalX = Integer.MIN_VALUE;
+        goalY = Integer.MIN_VALUE;
+        pendingRemove = false;
+        path.clear();
+        routeRequest.cancel();
+        drawPosition.reset();
+        agent.reset(AgentStore.HEADING_NORTH);
+    }
+
+    /**
+     * Sets the walkability grid used for BMW navigation.
+     *
+     * @param newWalkabilityGrid new walkability grid
+     */
+    public static void setWalkabilityGrid(WalkabilityGrid newWalkabilityGrid) {
+        if (newWalkabilityGrid == null) {
             return;
         }
-        if (BmwEnemy.roadLayer != newRoadLayer) {
-            BmwEnemy.roadLayer = newRoadLayer;
-            pathfinder = new RoadPathfinder(newRoadLayer);
-            mapWidth = newRoadLayer.getWidth();
-            mapHeight = newRoadLayer.getHeight();
+        if (BmwEnemy.walkabilityGrid != newWalkabilityGrid) {
+            BmwEnemy.walkabilityGrid = newWalkabilityGrid;
+            // Pooled BMWs route over the old grid
+            POOL.clear();
+            pathfinder = new RoadPathfinder(newWalkabilityGrid);
+            pathfinder.setPathCache(new PathCache(newWalkabilityGrid, PathCache.DEFAULT_CAPACITY));
+            mapWidth = newWalkabilityGrid.getWidth();
+            mapHeight = newWalkabilityGrid.getHeight();
             recomputeRoadTiles();
         } else if (roadTiles.isEmpty()) {
             recomputeRoadTiles();
@@ -419,66 +516,22 @@ private void pickNewGoal() {
     }
 
     /**
-     * Recalculates the path to the current goal.
+     * Asks for a route to the current goal. The BMW waits on its tile until the scheduler has answered.
      */
     private void recalcPath() {
         int startX = clampTileX(getX() + getWidth() / 2f);
         int startY = clampTileY(getY() + getHeight() / 2f);
-        path = pathfinder.findPath(startX, startY, goalX, goalY);
-        pathIndex = 0;
-    }
-
-    /**
-     * Moves along the current path.
-     *
-     * @param delta frame delta time
-     */
-    private void followPath(float delta) {
-        if (pathIndex >= path.size()) {
-            moveToTileCenter(delta);
-            return;
-        }
-        GridPoint2 target = path.get(pathIndex);
-        float targetX = target.x + 0.5f;
-        float targetY = target.y + 0.5f;
-        float centerX = getX() + getWidth() / 2f;
-        float centerY = getY() + getHeight() / 2f;
-        float dx = targetX - centerX;
-        float dy = targetY - centerY;
-        float dist = (float) Math.sqrt(dx * dx + dy * dy);
-
-        if (dist < TARGET_EPS) {
-            pathIndex++;
-            return;
-        }
-
-        updateSizeForDirection(dx, dy);
-        updateFacingDirection(dx, dy);
-        float step = Math.min(speed * delta, dist);
-        setPosition(getX() + (dx / dist) * step, getY() + (dy / dist) * step);
+        PathRequestScheduler.getShared().submit(routeRequest, PathPriority.LOW, startX, startY, goalX, goalY);
     }
 
     /**
-     * Moves toward the center of the current tile.
-     *
-     * @param delta frame delta time
+     * Loads the next leg of the current route.
      */
-    private void moveToTileCenter(float delta) {
-        float centerX = getX() + getWidth() / 2f;
-        float centerY = getY() + getHeight() / 2f;
-        float targetX = MathUtils.floor(centerX) + 0.5f;
-        float targetY = MathUtils.floor(centerY) + 0.5f;
-        float dx = targetX - centerX;
-        float dy = targetY - centerY;
-        float dist = (float) Math.sqrt(dx * dx + dy * dy);
-        if (dist < TARGET_EPS) {
-            setPosition(getX() + dx, getY() + dy);
-            return;
-        }
-        updateSizeForDirection(dx, dy);
-        updateFacingDirection(dx, dy);
-        float step = Math.min(speed * delta, dist);
-        setPosition(getX() + (dx / dist) * step, getY() + (dy / dist) * step);
+    private void nextSegment() {
+        int startX = clampTileX(getX() + getWidth() / 2f);
+        int startY = clampTileY(getY() + getHeight() / 2f);
+        router.nextSegment(startX, startY, path);
+        agent.setPathCursor(0);
     }
 
     /**
@@ -520,45 +573,4 @@ private static int clampTileX(float centerX) {
     private static int clampTileY(float centerY) {
         return pathfinder.clampCoord(MathUtils.floor(centerY), mapHeight);
     }
-
-    /**
-     * Updates size based on a movement direction.
-     *
-     * @param dx delta x
-     * @param dy delta y
-     */
-    private void updateSizeForDirection(float dx, float dy) {
-        if (Math.abs(dy) > Math.abs(dx) && Math.abs(dy) > 0f) {
-            setSizeKeepingCenter(1f, 2f);
-        } else {
-            setSizeKeepingCenter(2f, 1f);
-        }
-    }
-
-    /**
-     * Updates facing a direction based on the movement vector.
-     *
-     * @param dx delta x
-     * @param dy delta y
-     */
-    private void updateFacingDirection(float dx, float dy) {
-        if (Math.abs(dx) >= Math.abs(dy)) {
-            facingDirection = dx >= 0f ? Direction.E : Direction.W;
-        } else {
-            facingDirection = dy >= 0f ? Direction.N : Direction.S;
-        }
-    }
-
-    /**
-     * Sets size while keeping the current center position.
-     *
-     * @param width new width
-     * @param height new height
-     */
-    private void setSizeKeepingCenter(float width, float height) {
-        float centerX = getX() + getWidth() / 2f;
-        float centerY = getY() + getHeight() / 2f;
-        setSize(width, height);
-        setPosition(centerX - width / 2f, centerY - height / 2f);
-    }
 }
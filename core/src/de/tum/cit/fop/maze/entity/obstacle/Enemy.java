@@ -1,6 +1,5 @@
 package de.tum.cit.fop.maze.entity.obstacle;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.Batch;
@@ -8,28 +7,42 @@
 import com.badlogic.gdx.math.GridPoint2;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import de.tum.cit.fop.maze.ai.ChaseBehavior;
+import de.tum.cit.fop.maze.ai.HierarchicalPathfinder;
+import de.tum.cit.fop.maze.ai.PathBuffer;
+import de.tum.cit.fop.maze.ai.PathCache;
+import de.tum.cit.fop.maze.ai.PathPriority;
+import de.tum.cit.fop.maze.ai.PathRequest;
+import de.tum.cit.fop.maze.ai.PathRequestScheduler;
 import de.tum.cit.fop.maze.ai.Pathfinder;
+import de.tum.cit.fop.maze.ai.TileCost;
+import de.tum.cit.fop.maze.ai.PlayerFlowField;
 import de.tum.cit.fop.maze.ai.PatrolBehaviour;
 import de.tum.cit.fop.maze.ai.RetreatBehavior;
+import de.tum.cit.fop.maze.ai.VisibilityField;
 import de.tum.cit.fop.maze.entity.collectible.Collectible;
+import de.tum.cit.fop.maze.entity.AgentStore;
+import de.tum.cit.fop.maze.entity.FreeTileIndex;
+import de.tum.cit.fop.maze.entity.InterpolatedPosition;
 import de.tum.cit.fop.maze.entity.Player;
+import de.tum.cit.fop.maze.entity.SpatialGrid;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 import de.tum.cit.fop.maze.system.AchievementManager;
-import java.util.ArrayList;
 import java.util.List;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
 
 /**
  * Enemy (Policeman/Jandarmeria class)
+ * <p>
+ * Spawns take enemies from {@link #obtain(WalkabilityGrid, float, float)}; whoever tracks an enemy hands
+ * it back with {@link #free(Enemy)} once it has left the stage, so endless mode stops allocating police.
  */
-public class Enemy extends Obstacle {
+public class Enemy extends Obstacle implements Pool.Poolable {
     private enum EnemyState {CHASING,PATROLLING,PATROL_WAIT,RETREATING,RETREAT_WAIT}
 
     private static final float PATH_RECALC_INTERVAL = 0.5f;
-    /** Target distance threshold for path steps */
-    private static final float TARGET_EPS = 0.05f;
     /** The (game units) distance at which a tile is considered "centered" */
     private static final float CENTER_EPS = 0.02f;
     /** Speed scale when patrolling or retreating */
@@ -43,12 +56,18 @@ private enum EnemyState {CHASING,PATROLLING,PATROL_WAIT,RETREATING,RETREAT_WAIT}
      * */
     private static final float RUN_DURATION_SECONDS = 10f;
     private static final float RUN_SPEED_MULTIPLIER = 2f;
-    /** Collision layer for movement checks */
-    private final TiledMapTileLayer collisionLayer;
+    /** Free tiles drawn per requested enemy before a spawn wave gives up */
+    private static final int SPAWN_ATTEMPTS_PER_ENEMY = 8;
+    /** Walkability grid for movement checks */
+    private final WalkabilityGrid walkabilityGrid;
     private final int mapWidth, mapHeight;
     private final float baseSpeed = 2.2f;
     /** Pathfinder for tile navigation */
     private final Pathfinder pathfinder;
+    /** Pathfinder for long patrol and retreat routes, refined leg by leg */
+    private final HierarchicalPathfinder hierarchicalPathfinder;
+    /** Patrol and retreat route query, answered by the shared scheduler within its frame budget */
+    private final PathRequest pathRequest;
     /** Behavior controller for chasing/retreating/patroling states */
     private final ChaseBehavior chaseBehavior;
     private final RetreatBehavior retreatBehavior;
@@ -61,12 +80,21 @@ private enum EnemyState {CHASING,PATROLLING,PATROL_WAIT,RETREATING,RETREAT_WAIT}
 
      *  the retreat check is done at the beginning of act(), and the global retreat token is done in the collision code.*/
     private static int globalRetreatToken = 0;
-    private int lastRetreatToken = 0;
-
-    /** Current path of tile points */
-    private ArrayList<GridPoint2> path = new ArrayList<>();
-    /** Current index in the path */
-    private int pathIndex = 0;
+    /** Recent path answers shared by all enemies on the current grid, which search with the same costs. */
+    private static PathCache pathCache;
+    /** Enemies that left their stage, ready for reuse on the grid they were built for. */
+    private static final EnemyPool POOL = new EnemyPool();
+    /** Last retreat token seen; starts at the current one so police spawned after an arrest do not retreat. */
+    private int lastRetreatToken = globalRetreatToken;
+
+    /** Current path of tiles, refilled in place on every repath */
+    private final PathBuffer path = new PathBuffer();
+    /** Slot in the stage's agent store, holding the path cursor and facing direction */
+    private final AgentStore.Agent agent = new AgentStore.Agent(this, path, AgentStore.HEADING_SOUTH, false);
+    /** Reused start and goal tile coordinates of the next path */
+    private final int[] pathCoords = new int[4];
+    /** Position drawn between simulation ticks */
+    private final InterpolatedPosition drawPosition = new InterpolatedPosition(this);
     private float pathRecalcTimer = 0f;
     private float retreatTimer = 0f;
     private float runTimer = 0f;
@@ -76,37 +104,49 @@ private enum EnemyState {CHASING,PATROLLING,PATROL_WAIT,RETREATING,RETREAT_WAIT}
     private int lastGoalX = Integer.MIN_VALUE, lastGoalY = Integer.MIN_VALUE;
     /** Current behavior state */
     private EnemyState state = EnemyState.CHASING; // Initial state
-    /** Facing direction for animation */
-    private char facingDirection = 'd';
     private static Animation<TextureRegion> walkNorthAnimation, walkSouthAnimation, walkEastAnimation, walkWestAnimation;
     private static boolean animationsInitialized = false;
 
     /**
      * Creates an enemy at a given position
      *
-     * @param collisionLayer collision layer for movement checks
+     * @param walkabilityGrid walkability grid for movement checks
      * @param x spawn x position
      * @param y spawn y position
      */
-    public Enemy(TiledMapTileLayer collisionLayer, float x, float y) {
+    public Enemy(WalkabilityGrid walkabilityGrid, float x, float y) {
         super(x, y, 1,1, 0,0,3);
-        this.collisionLayer = collisionLayer;
-        pathfinder = new Pathfinder(collisionLayer);
-        mapWidth = collisionLayer.getWidth(); mapHeight = collisionLayer.getHeight();
-        chaseBehavior = new ChaseBehavior(mapWidth, mapHeight, collisionLayer);
-        retreatBehavior = new RetreatBehavior(mapWidth, mapHeight, collisionLayer);
-        patrolBehavior = new PatrolBehaviour(mapWidth, mapHeight, collisionLayer);
+        this.walkabilityGrid = walkabilityGrid;
+        pathfinder = new Pathfinder(walkabilityGrid);
+        pathfinder.setTileCost(TileCost.avoidingTraps(walkabilityGrid, TileCost.TRAP_STEP_COST));
+        if (pathCache == null || pathCache.getWalkabilityGrid() != walkabilityGrid) {
+            pathCache = new PathCache(walkabilityGrid, PathCache.DEFAULT_CAPACITY);
+        }
+        pathfinder.setPathCache(pathCache);
+        hierarchicalPathfinder = new HierarchicalPathfinder(walkabilityGrid, pathfinder);
+        pathRequest = new PathRequest(hierarchicalPathfinder);
+        pathRecalcTimer = PathRequestScheduler.getShared().nextPhaseOffset(PATH_RECALC_INTERVAL);
+        mapWidth = walkabilityGrid.getWidth(); mapHeight = walkabilityGrid.getHeight();
+        chaseBehavior = new ChaseBehavior(walkabilityGrid);
+        retreatBehavior = new RetreatBehavior(walkabilityGrid);
+        patrolBehavior = new PatrolBehaviour(walkabilityGrid);
+    }
 
+    /**
+     * Loads the walking animations shared by all enemies.
+     */
+    @Override
+    protected void loadSprites() {
         initWalkAnimations();
     }
 
     /**
-     * Returns the collision layer used by this enemy.
+     * Returns the walkability grid used by this enemy.
      *
-     * @return collision layer
+     * @return walkability grid
      */
-    public TiledMapTileLayer getCollisionLayer() {
-        return collisionLayer;
+    public WalkabilityGrid getWalkabilityGrid() {
+        return walkabilityGrid;
     }
 
     /**
@@ -119,19 +159,44 @@ protected void onAddedToStage() {
         chaseBehavior.setStage(stage);
         retreatBehavior.setStage(stage);
         patrolBehavior.setStage(stage);
-        int[] coords = computePathCoords();
-        path = pathfinder.findPath(coords[0], coords[1], coords[2], coords[3]);
-        pathIndex = 0;
         ensureAboveCollectibles();
     }
 
     /**
-     * Updates the enemy AI and movement.
+     * Moves the enemy's agent slot along with the enemy's stage.
+     *
+     * @param stage new stage, or {@code null} when removed
+     */
+    @Override
+    protected void setStage(Stage stage) {
+        super.setStage(stage);
+        agent.stageChanged(stage);
+    }
+
+    /**
+     * Keeps the agent slot up to date after moving.
+     */
+    @Override
+    protected void positionChanged() {
+        super.positionChanged();
+        // The superclass constructor places the actor before the agent exists
+        if (agent != null) {
+            agent.boundsChanged();
+        }
+    }
+
+    /**
+     * Updates the enemy AI and asks to move along its path.
      *
      * @param delta frame delta time
      */
     @Override
     public void act(float delta) {
+        // Removed earlier this tick, but still in the stage's act snapshot
+        if (getStage() == null) {
+            return;
+        }
+        drawPosition.save();
         super.act(delta);
         centerX = getX() + getWidth() / 2f; centerY = getY() + getHeight() / 2f;
 
@@ -152,6 +217,14 @@ public void act(float delta) {
             }
         }
 
+        // Long routes are only turned into tiles one leg at a time, as the enemy reaches each waypoint.
+        // The route belongs to a path worker while a request is in flight.
+        if (state != EnemyState.CHASING && agent.isPathExhausted() && !pathRequest.isInFlight()
+                && hierarchicalPathfinder.hasNextSegment() && isCenteredOnTile()) {
+            hierarchicalPathfinder.nextSegment(clampTileX(centerX), clampTileY(centerY), path);
+            agent.setPathCursor(0);
+        }
+
         switch (state) {
             case RETREAT_WAIT:
                 if (retreatBehavior.updateWait(delta)) {
@@ -169,7 +242,7 @@ public void act(float delta) {
                     enterChasing();
                     break;
                 }
-                if (!path.isEmpty() && pathIndex >= path.size() && isCenteredOnTile()) {
+                if (!path.isEmpty() && agent.isPathExhausted() && isCenteredOnTile()) {
                     enterPatrolWait();
                     return;
                 }
@@ -185,7 +258,7 @@ public void act(float delta) {
                 }
                 break;
             case RETREATING:
-                if (!path.isEmpty() && pathIndex >= path.size() && isCenteredOnTile()) {
+                if (!path.isEmpty() && agent.isPathExhausted() && isCenteredOnTile()) {
                     enterRetreatWait();
                     return;
                 }
@@ -195,22 +268,43 @@ public void act(float delta) {
         }
 
         pathRecalcTimer -= delta;
-        boolean pathExhausted = pathIndex >= path.size();
-        if (pathRecalcTimer <= 0f && isCenteredOnTile()) {
-            boolean needsRepath = path.isEmpty() || pathExhausted;
+        boolean pathExhausted = agent.isPathExhausted();
+        if (state == EnemyState.CHASING) {
+            // Chasing enemies share the player's flow field and take one step at a time, no own search needed.
+            if (pathExhausted && isCenteredOnTile()) {
+                int[] coords = computePathCoords();
+                PlayerFlowField flowField = player.getFlowField();
+                flowField.update(coords[2], coords[3]);
+                flowField.nextStep(coords[0], coords[1], path);
+                agent.setPathCursor(0);
+            }
+        } else {
+            // The old path is followed until the scheduler has answered; an answer for a tile the enemy
+            // already left is dropped and asked for again.
+            if (pathRequest.isReady()) {
+                if (pathRequest.takeResult(clampTileX(centerX), clampTileY(centerY), path)) {
+                    agent.setPathCursor(0);
+                } else {
+                    pathRecalcTimer = 0f;
+                    lastGoalX = Integer.MIN_VALUE; lastGoalY = Integer.MIN_VALUE;
+                }
+            }
+            if (pathRecalcTimer <= 0f && pathRequest.isIdle() && isCenteredOnTile()) {
+                boolean needsRepath = path.isEmpty() || pathExhausted;
 
-            int[] coords = computePathCoords();
-            int goalX = coords[2], goalY = coords[3];
+                int[] coords = computePathCoords();
+                int goalX = coords[2], goalY = coords[3];
 
-            if (!needsRepath) {
-                needsRepath = goalX != lastGoalX || goalY != lastGoalY;
-            }
+                if (!needsRepath) {
+                    needsRepath = goalX != lastGoalX || goalY != lastGoalY;
+                }
 
-            if (needsRepath) {
-                path = pathfinder.findPath(coords[0], coords[1], goalX, goalY);
-                pathIndex = 0;
-                lastGoalX = goalX; lastGoalY = goalY;
-                pathRecalcTimer = PATH_RECALC_INTERVAL;
+                if (needsRepath) {
+                    PathPriority priority = state == EnemyState.RETREATING ? PathPriority.HIGH : PathPriority.NORMAL;
+                    PathRequestScheduler.getShared().submit(pathRequest, priority, coords[0], coords[1], goalX, goalY);
+                    lastGoalX = goalX; lastGoalY = goalY;
+                    pathRecalcTimer = PATH_RECALC_INTERVAL;
+                }
             }
         }
 
@@ -218,7 +312,7 @@ public void act(float delta) {
     }
 
     /**
-     * Moves the enemy along the current path.
+     * Asks the agent system to move the enemy along the current path this tick.
      *
      * @param delta frame delta time
      */
@@ -231,61 +325,11 @@ private void followPath(float delta) {
             }
         }
 
-        if (pathIndex >= path.size()) {
-            moveToTileCenter(delta);
-            return;
-        }
-        GridPoint2 target = path.get(pathIndex);
-
-        float targetX = target.x + 0.5f, targetY = target.y + 0.5f;
-        float dx = targetX - centerX, dy = targetY - centerY;
-        float dist = (float) Math.sqrt(dx * dx + dy * dy);
-
-        if (dist < TARGET_EPS) {
-            pathIndex++;
-            return;
-        }
-
-        updateFacingDirection(dx, dy);
         float speedScale = (state == EnemyState.PATROLLING || state == EnemyState.RETREATING) ? PATROL_SPEED_SCALE : 1f;
         if (isRunning && state == EnemyState.CHASING) {
             speedScale *= RUN_SPEED_MULTIPLIER;
         }
-        float step = Math.min(baseSpeed * speedScale * delta, dist);
-        setPosition(getX() + (dx / dist) * step, getY() + (dy / dist) * step);
-    }
-
-    /**
-     * Moves the enemy toward the center of the current tile.
-     *
-     * @param delta frame delta time
-     */
-    private void moveToTileCenter(float delta) {
-        float targetX = MathUtils.floor(centerX) + 0.5f, targetY = MathUtils.floor(centerY) + 0.5f;
-        float dx = targetX - centerX, dy = targetY - centerY;
-        float dist = (float) Math.sqrt(dx * dx + dy * dy);
-
-        if (dist < TARGET_EPS) {
-            setPosition(getX() + dx, getY() + dy);
-            return;
-        }
-        updateFacingDirection(dx, dy);
-        float step = Math.min(baseSpeed * delta, dist);
-        setPosition(getX() + (dx / dist) * step, getY() + (dy / dist) * step);
-    }
-
-    /**
-     * Updates the facing direction based on the movement vector.
-     *
-     * @param dx delta x
-     * @param dy delta y
-     */
-    private void updateFacingDirection(float dx, float dy) {
-        if (Math.abs(dx) >= Math.abs(dy)) {
-            facingDirection = dx >= 0f ? 'r' : 'l';
-        } else {
-            facingDirection = dy >= 0f ? 'u' : 'd';
-        }
+        agent.move(baseSpeed * speedScale, baseSpeed);
     }
 
     /**
@@ -337,13 +381,23 @@ private void initWalkAnimations() {
      */
     @Override
     public void draw(Batch batch, float parentAlpha) {
-        TextureRegion currentFrame = switch (facingDirection) {
-            case 'l' -> walkWestAnimation.getKeyFrame(animationTime, true);
-            case 'r' -> walkEastAnimation.getKeyFrame(animationTime, true);
-            case 'u' -> walkNorthAnimation.getKeyFrame(animationTime, true);
+        ensureSpritesLoaded();
+        TextureRegion currentFrame = switch (agent.getHeading()) {
+            case AgentStore.HEADING_WEST -> walkWestAnimation.getKeyFrame(animationTime, true);
+            case AgentStore.HEADING_EAST -> walkEastAnimation.getKeyFrame(animationTime, true);
+            case AgentStore.HEADING_NORTH -> walkNorthAnimation.getKeyFrame(animationTime, true);
             default -> walkSouthAnimation.getKeyFrame(animationTime, true);
         };
-        batch.draw(currentFrame, getX(), getY(), getWidth(), getHeight());
+        batch.draw(currentFrame, drawPosition.getX(), drawPosition.getY(), getWidth(), getHeight());
+    }
+
+    /**
+     * Returns the path cache shared by enemies on the current grid.
+     *
+     * @return path cache, or {@code null} if no enemy was created yet
+     */
+    public static PathCache getPathCache() {
+        return pathCache;
     }
 
     /**
@@ -351,11 +405,11 @@ public void draw(Batch batch, float parentAlpha) {
      *
      * @param player player used for distance checks
      * @param stage stage to add enemies to
-     * @param collisionLayer collision layer to use
+     * @param walkabilityGrid walkability grid to use
      * @param amount number to spawn
      */
-    public static void spawnRandomEnemies(Player player, Stage stage, TiledMapTileLayer collisionLayer, int amount) {
-        spawnRandomEnemies(player, stage, collisionLayer, amount, null, null);
+    public static void spawnRandomEnemies(Player player, Stage stage, WalkabilityGrid walkabilityGrid, int amount) {
+        spawnRandomEnemies(player, stage, walkabilityGrid, amount, null, null);
     }
 
     /**
@@ -363,41 +417,36 @@ public static void spawnRandomEnemies(Player player, Stage stage, TiledMapTileLa
      *
      * @param player player used for distance checks
      * @param stage stage to add enemies to
-     * @param collisionLayer collision layer to use
+     * @param walkabilityGrid walkability grid to use
      * @param amount number to spawn
      * @param cameraView camera view bounds to avoid
      * @param outEnemies list to collect spawned enemies
      */
     public static void spawnRandomEnemies(Player player,
                                           Stage stage,
-                                          TiledMapTileLayer collisionLayer,
+                                          WalkabilityGrid walkabilityGrid,
                                           int amount,
                                           Rectangle cameraView,
                                           List<Enemy> outEnemies) {
-        if (player == null || stage == null || collisionLayer == null) {
+        if (player == null || stage == null || walkabilityGrid == null) {
             return;
         }
-        List<GridPoint2> walkableTiles = collectWalkableTiles(collisionLayer);
-        if (walkableTiles.isEmpty()) {
-            return;
-        }
-        List<GridPoint2> candidates = filterSpawnCandidates(walkableTiles, player, collisionLayer.getWidth(), collisionLayer.getHeight(), 2);
+        FreeTileIndex freeTiles = SpatialGrid.forStage(stage).getFreeTiles(walkabilityGrid);
+        int width = walkabilityGrid.getWidth();
+        int playerTileX = MathUtils.clamp(MathUtils.floor(player.getX() + player.getWidth() / 2f), 0, width - 1);
+        int playerTileY = MathUtils.clamp(MathUtils.floor(player.getY() + player.getHeight() / 2f), 0, walkabilityGrid.getHeight() - 1);
         int spawned = 0;
-        while (spawned < amount && !candidates.isEmpty()) {
-            int index = MathUtils.random(candidates.size() - 1);
-            GridPoint2 target = candidates.remove(index);
-            float spawnX = target.x;
-            float spawnY = target.y;
-            if (cameraView != null) {
-                Rectangle spawnBounds = new Rectangle(spawnX, spawnY, 1f, 1f);
-                if (spawnBounds.overlaps(cameraView)) {
-                    continue;
-                }
+        for (int attempt = 0; spawned < amount && attempt < amount * SPAWN_ATTEMPTS_PER_ENEMY; attempt++) {
+            int cell = freeTiles.randomFreeCell(playerTileX, playerTileY, 2, cameraView);
+            if (cell < 0) {
+                break;
             }
+            float spawnX = cell % width;
+            float spawnY = cell / width;
             if (wouldCollideAt(stage, spawnX, spawnY)) {
                 continue;
             }
-            Enemy enemy = new Enemy(collisionLayer, spawnX, spawnY);
+            Enemy enemy = obtain(walkabilityGrid, spawnX, spawnY);
             stage.addActor(enemy);
             if (outEnemies != null) {
                 outEnemies.add(enemy);
@@ -407,25 +456,54 @@ public static void spawnRandomEnemies(Player player,
     }
 
     /**
-     * Collects all walkable tiles from the collision layer.
+     * Returns an enemy at a given position, reusing a freed one built for the same grid if possible.
      *
-     * @param collisionLayer collision layer to scan
-     * @return list of walkable tiles
+     * @param walkabilityGrid walkability grid for movement checks
+     * @param x spawn x position
+     * @param y spawn y position
+     * @return enemy, not yet on a stage
      */
-    private static List<GridPoint2> collectWalkableTiles(TiledMapTileLayer collisionLayer) {
-
-        List<GridPoint2> tiles = new ArrayList<>();
-        int width = collisionLayer.getWidth(), height = collisionLayer.getHeight();
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                if (collisionLayer.getCell(x, y) == null) {
-                    tiles.add(new GridPoint2(x, y));
-                }
-            }
+    public static Enemy obtain(WalkabilityGrid walkabilityGrid, float x, float y) {
+        if (POOL.walkabilityGrid != walkabilityGrid) {
+            POOL.clear();
+            POOL.walkabilityGrid = walkabilityGrid;
+        }
+        Enemy enemy = POOL.obtain();
+        enemy.lastRetreatToken = globalRetreatToken;
+        enemy.setPosition(x, y);
+        return enemy;
+    }
+
+    /**
+     * Hands an enemy that left its stage back for reuse. Enemies still on a stage or built for another grid
+     * are left alone.
+     *
+     * @param enemy enemy no longer used by the caller
+     */
+    public static void free(Enemy enemy) {
+        if (enemy.getStage() == null && enemy.walkabilityGrid == POOL.walkabilityGrid) {
+            POOL.free(enemy);
         }
-        return tiles;
     }
 
+    /**
+     * Clears the enemy's state when it goes back to the pool, as if it was just created.
+     */
+    @Override
+    public void reset() {
+        resetForReuse();
+        state = EnemyState.CHASING;
+        patrolBehavior.clear();
+        retreatBehavior.clear();
+        chaseBehavior.reset();
+        resetPathing();
+        pathRecalcTimer = PathRequestScheduler.getShared().nextPhaseOffset(PATH_RECALC_INTERVAL);
+        retreatTimer = 0f;
+        runTimer = 0f;
+        isRunning = false;
+        drawPosition.reset();
+        agent.reset(AgentStore.HEADING_SOUTH);
+    }
 
     /**
      * Checks whether spawning at a location would collide with actors.
@@ -436,14 +514,7 @@ private static List<GridPoint2> collectWalkableTiles(TiledMapTileLayer collision
      * @return {@code true} if collision would occur
      */
     private static boolean wouldCollideAt(Stage stage, float x, float y) {
-        Rectangle spawnBounds = new Rectangle(x, y, 1f, 1f);
-        for (Actor actor : stage.getActors()) {
-            Rectangle actorBounds = new Rectangle(actor.getX(), actor.getY(), actor.getWidth(), actor.getHeight());
-            if (spawnBounds.overlaps(actorBounds)) {
-                return true;
-            }
-        }
-        return false;
+        return SpatialGrid.forStage(stage).overlapsAny(x, y, 1f, 1f);
     }
 
     /**
@@ -470,7 +541,7 @@ protected void collision() {
     /**
      * Computes current path coordinates based on state.
      *
-     * @return start and goal tile coordinates
+     * @return start and goal tile coordinates, in an array reused by the next call
      */
     private int[] computePathCoords() {
         int startX = clampTileX(getX() + getWidth() / 2f);
@@ -480,20 +551,23 @@ private int[] computePathCoords() {
         switch (state) {
             case RETREATING:
                 GridPoint2 retreatTarget = retreatBehavior.getRetreatTarget();
-                goalX = clampTileX(retreatTarget.x);
-                goalY = clampTileY(retreatTarget.y);
+                // No free tile to head for, stay put.
+                goalX = retreatTarget == null ? startX : clampTileX(retreatTarget.x);
+                goalY = retreatTarget == null ? startY : clampTileY(retreatTarget.y);
                 break;
             case PATROLLING:
                 GridPoint2 patrolTarget = patrolBehavior.getPatrolTarget();
-                goalX = clampTileX(patrolTarget.x);
-                goalY = clampTileY(patrolTarget.y);
+                goalX = patrolTarget == null ? startX : clampTileX(patrolTarget.x);
+                goalY = patrolTarget == null ? startY : clampTileY(patrolTarget.y);
                 break;
             default:
                 goalX = clampTileX(player.getX() + player.getWidth() / 2f);
                 goalY = clampTileY(player.getY() + player.getHeight() / 2f);
                 break;
         }
-        return new int[]{startX, startY, goalX, goalY};
+        pathCoords[0] = startX; pathCoords[1] = startY;
+        pathCoords[2] = goalX; pathCoords[3] = goalY;
+        return pathCoords;
     }
 
     /**
@@ -518,7 +592,7 @@ private boolean isCenteredOnTile() {
     }
 
     /**
-     * Determines if the enemy has a line of sight to the player.
+     * Determines if the enemy has a line of sight to the player, using the player's shared visibility field.
      *
      * @return {@code true} if the player is visible
      */
@@ -527,46 +601,9 @@ private boolean canSeePlayer() {
         int goalX = clampTileX(player.getX() + player.getWidth() / 2f), goalY = clampTileY(player.getY() + player.getHeight() / 2f);
 
         int visionRange = Math.max(1, Math.round(VISION_RANGE_TILES * player.getDetectionRangeMultiplier()));
-        if (Math.abs(goalX - startX) > visionRange || Math.abs(goalY - startY) > visionRange) {
-            return false;
-        }
-
-        int dx = Math.abs(goalX - startX),dy = Math.abs(goalY - startY);
-        int sx = startX < goalX ? 1 : -1, sy = startY < goalY ? 1 : -1;
-        int err = dx - dy;
-        int x = startX, y = startY;
-
-        while (true) {
-            if (!isWalkable(x, y) && !(x == startX && y == startY)) {
-                return false;
-            }
-            if (x == goalX && y == goalY) {
-                return true;
-            }
-            int e2 = 2 * err;
-            if (e2 > -dy) {
-                err -= dy;
-                x += sx;
-            }
-            if (e2 < dx) {
-                err += dx;
-                y += sy;
-            }
-        }
-    }
-
-    /**
-     * Checks whether a tile is walkable.
-     *
-     * @param x tile x
-     * @param y tile y
-     * @return {@code true} if walkable
-     */
-    private boolean isWalkable(int x, int y) {
-        if (x < 0 || y < 0 || x >= mapWidth || y >= mapHeight) {
-            return false;
-        }
-        return collisionLayer.getCell(x, y) == null;
+        VisibilityField visibilityField = player.getVisibilityField();
+        visibilityField.update(goalX, goalY, visionRange);
+        return visibilityField.isVisible(startX, startY);
     }
 
     /**
@@ -655,8 +692,9 @@ private void enterChasing() {
      * next tick since there will be no matching real tile
      */
     private void resetPathing() {
+        pathRequest.cancel();
         path.clear();
-        pathIndex = 0;
+        agent.setPathCursor(0);
         pathRecalcTimer = 0f;
         lastGoalX = Integer.MIN_VALUE; lastGoalY = Integer.MIN_VALUE;
     }
@@ -689,4 +727,22 @@ private void ensureAboveCollectibles() {
             setZIndex(targetZ);
         }
     }
+
+    /**
+     * Pool of enemies for one walkability grid.
+     */
+    private static final class EnemyPool extends Pool<Enemy> {
+        /** Grid the pooled enemies were built for. */
+        private WalkabilityGrid walkabilityGrid;
+
+        /**
+         * Creates an enemy for the current grid.
+         *
+         * @return new enemy
+         */
+        @Override
+        protected Enemy newObject() {
+            return new Enemy(walkabilityGrid, 0f, 0f);
+        }
+    }
 }
@@ -5,46 +5,72 @@
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Pool;
+import de.tum.cit.fop.maze.entity.ActorRecycler;
 import de.tum.cit.fop.maze.entity.DeathCause;
 import de.tum.cit.fop.maze.entity.Player;
 
 /**
  * Temporary explosion actor that can damage the player.
+ * <p>
+ * Explosions come from {@link #obtain(float, float, float, Player)} and go back to the pool through the
+ * {@link ActorRecycler} after they expire, so BMW crashes do not allocate once traffic has settled.
  */
-public class Explosion extends Actor {
+public class Explosion extends Actor implements Pool.Poolable {
     /** Lifetime of the explosion in seconds. */
     private static final float LIFETIME = 0.6f;
     /** Shared explosion texture region. */
     private static TextureRegion texture;
     /** Whether the texture has been initialized. */
     private static boolean textureInitialized = false;
+    /** Explosions that expired, ready for reuse. */
+    private static final Pool<Explosion> POOL = new Pool<>() {
+        @Override
+        protected Explosion newObject() {
+            return new Explosion();
+        }
+    };
     /** Player to damage if within radius. */
-    private final Player player;
+    private Player player;
     /** Damage radius in world units. */
-    private final float radius;
+    private float radius;
     /** Timer for lifetime tracking. */
     private float timer = 0f;
     /** Whether damage has been applied. */
     private boolean damaged = false;
 
     /**
-     * Creates an explosion centered at the given point.
+     * Creates an explosion for the pool.
+     */
+    private Explosion() {
+        setSize(5f, 5f);
+    }
+
+    /**
+     * Returns an explosion centered at the given point, reusing an expired one if possible.
      *
      * @param centerX center x position
      * @param centerY center y position
      * @param radius damage radius
      * @param player player to potentially damage
+     * @return explosion, not yet on a stage
      */
-    public Explosion(float centerX, float centerY, float radius, Player player) {
-        this.player = player;
-        this.radius = radius;
-        if (!textureInitialized) {
-            textureInitialized = true;
-            Texture textureSheet = new Texture(Gdx.files.internal("objects.png"));
-            texture = new TextureRegion(textureSheet, 64, 48, 16, 16);
-        }
-        setSize(5f, 5f);
-        setPosition(centerX - getWidth() / 2f, centerY - getHeight() / 2f);
+    public static Explosion obtain(float centerX, float centerY, float radius, Player player) {
+        Explosion explosion = POOL.obtain();
+        explosion.player = player;
+        explosion.radius = radius;
+        explosion.setPosition(centerX - explosion.getWidth() / 2f, centerY - explosion.getHeight() / 2f);
+        return explosion;
+    }
+
+    /**
+     * Clears the explosion's state when it goes back to the pool.
+     */
+    @Override
+    public void reset() {
+        player = null;
+        timer = 0f;
+        damaged = false;
     }
 
     /**
@@ -69,6 +95,7 @@ public void act(float delta) {
         timer += delta;
         if (timer >= LIFETIME) {
             remove();
+            ActorRecycler.freeAfterAct(POOL, this);
         }
     }
 
@@ -80,6 +107,11 @@ public void act(float delta) {
      */
     @Override
     public void draw(Batch batch, float parentAlpha) {
+        if (!textureInitialized) {
+            textureInitialized = true;
+            Texture textureSheet = new Texture(Gdx.files.internal("objects.png"));
+            texture = new TextureRegion(textureSheet, 64, 48, 16, 16);
+        }
         batch.draw(texture, getX(), getY(), getWidth(), getHeight());
     }
 }
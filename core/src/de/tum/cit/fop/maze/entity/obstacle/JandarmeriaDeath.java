@@ -5,29 +5,54 @@
 import com.badlogic.gdx.graphics.g2d.Batch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.utils.Pool;
+import de.tum.cit.fop.maze.entity.ActorRecycler;
 
 /**
- * Effect shown when a BMW hits a guard.
+ * Effect shown when a BMW hits a guard. Effects come from {@link #obtain(float, float)} and go back to the
+ * pool through the {@link ActorRecycler} after they expire.
  */
-public class JandarmeriaDeath extends Actor {
+public class JandarmeriaDeath extends Actor implements Pool.Poolable {
     /** Lifetime of the effect in seconds. */
     private static final float LIFETIME = 0.4f;
-    /** Texture region for the effect. */
-    private final TextureRegion texture;
+    /** Texture region for the effect, shared by all effects and loaded on the first draw. */
+    private static TextureRegion texture;
+    /** Effects that expired, ready for reuse. */
+    private static final Pool<JandarmeriaDeath> POOL = new Pool<>() {
+        @Override
+        protected JandarmeriaDeath newObject() {
+            return new JandarmeriaDeath();
+        }
+    };
     /** Timer for lifetime tracking. */
     private float timer = 0f;
 
     /**
-     * Creates the effect centered at the given position.
+     * Creates an effect for the pool.
+     */
+    private JandarmeriaDeath() {
+        setSize(1.5f, 1.5f);
+    }
+
+    /**
+     * Returns an effect centered at the given position, reusing an expired one if possible.
      *
      * @param centerX center x position
      * @param centerY center y position
+     * @return effect, not yet on a stage
      */
-    public JandarmeriaDeath(float centerX, float centerY) {
-        Texture textureSheet = new Texture(Gdx.files.internal("objects.png"));
-        this.texture = new TextureRegion(textureSheet, 96, 48, 16, 16);
-        setSize(1.5f, 1.5f);
-        setPosition(centerX - getWidth() / 2f, centerY - getHeight() / 2f);
+    public static JandarmeriaDeath obtain(float centerX, float centerY) {
+        JandarmeriaDeath effect = POOL.obtain();
+        effect.setPosition(centerX - effect.getWidth() / 2f, centerY - effect.getHeight() / 2f);
+        return effect;
+    }
+
+    /**
+     * Restarts the effect timer when the effect goes back to the pool.
+     */
+    @Override
+    public void reset() {
+        timer = 0f;
     }
 
     /**
@@ -41,6 +66,7 @@ public void act(float delta) {
         timer += delta;
         if (timer >= LIFETIME) {
             remove();
+            ActorRecycler.freeAfterAct(POOL, this);
         }
     }
 
@@ -52,6 +78,10 @@ public void act(float delta) {
      */
     @Override
     public void draw(Batch batch, float parentAlpha) {
+        if (texture == null) {
+            Texture textureSheet = new Texture(Gdx.files.internal("objects.png"));
+            texture = new TextureRegion(textureSheet, 96, 48, 16, 16);
+        }
         batch.draw(texture, getX(), getY(), getWidth(), getHeight());
     }
 }
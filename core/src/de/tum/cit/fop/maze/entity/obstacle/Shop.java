@@ -12,7 +12,7 @@
  */
 public class Shop extends MapObject {
     /** Texture region for the shop sprite. */
-    private final TextureRegion textureRegion;
+    private TextureRegion textureRegion;
     /** HUD used to show the shop button. */
     private final HUD hud;
 
@@ -27,6 +27,13 @@ public Shop(float x, float y, HUD hud) {
         setPosition(x, y);
         setSize(3, 2);
         this.hud = hud;
+    }
+
+    /**
+     * Loads the shop sprite.
+     */
+    @Override
+    protected void loadSprites() {
         Texture textureSheet = new Texture(Gdx.files.internal("Shop.png"));
         this.textureRegion = new TextureRegion(textureSheet, 0, 0, frameWidth * 6, frameHeight * 4);
     }
@@ -59,6 +66,7 @@ protected void collision() {
      */
     @Override
     public void draw(Batch batch, float parentAlpha) {
+        ensureSpritesLoaded();
         batch.draw(textureRegion, getX(), getY(), getWidth(), getHeight());
     }
 }
@@ -0,0 +1,251 @@
+package de.tum.cit.fop.maze.map;
+
+import com.badlogic.gdx.math.GridPoint2;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Reads and writes compiled binary maps ({@code .mcmap}).
+ * <p>
+ * Layout (little-endian): a fixed header with magic, version, source hash, size, player
+ * spawn and spawn count, followed by int layers for tiles, bit-packed collision and road
+ * flags, and the spawn coordinate/type arrays.
+ */
+final class CompiledMapFile {
+    /** File extension for compiled maps. */
+    static final String EXTENSION = ".mcmap";
+    /** Magic number, reads as "MCMP" in the file. */
+    private static final int MAGIC = 0x504D434D;
+    /** Format version, bump when the layout changes. */
+    private static final int VERSION = 1;
+    /** Header size in bytes. */
+    private static final int HEADER_BYTES = 40;
+
+    /**
+     * Prevents instantiation.
+     */
+    private CompiledMapFile() {
+    }
+
+    /**
+     * Returns the compiled map path for a properties file.
+     *
+     * @param propertiesFile source properties file
+     * @return sibling file with the {@code .mcmap} extension
+     */
+    static File compiledFileFor(File propertiesFile) {
+        String name = propertiesFile.getName();
+        int dot = name.lastIndexOf('.');
+        String baseName = dot > 0 ? name.substring(0, dot) : name;
+        return new File(propertiesFile.getParentFile(), baseName + EXTENSION);
+    }
+
+    /**
+     * Computes the content hash of a source file.
+     *
+     * @param file file to hash
+     * @return CRC32 of the file contents
+     * @throws IOException if the file cannot be read
+     */
+    static long hashOf(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            CRC32 crc = new CRC32();
+            ByteBuffer chunk = ByteBuffer.allocateDirect(1 << 16);
+            while (channel.read(chunk) >= 0) {
+                chunk.flip();
+                crc.update(chunk);
+                chunk.clear();
+            }
+            return crc.getValue();
+        }
+    }
+
+    /**
+     * Reads a compiled map if it exists and was built from a source with the given hash.
+     *
+     * @param file compiled map file
+     * @param expectedHash hash of the current source file
+     * @return the map data, or {@code null} if the file is missing, stale, or malformed
+     */
+    static MapData read(File file, long expectedHash) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // Validate the header with a plain read so stale files are never mapped
+            // (a mapping would keep the file locked on Windows until it is collected).
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Keep reading until the header is full or the file ends.
+            }
+            if (header.hasRemaining()) {
+                return null;
+            }
+            header.flip();
+            if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != expectedHash) {
+                return null;
+            }
+            int width = header.getInt();
+            int height = header.getInt();
+            int playerX = header.getInt();
+            int playerY = header.getInt();
+            boolean hasPlayerSpawn = header.getInt() != 0;
+            int spawnCount = header.getInt();
+            if (width <= 0 || height <= 0 || spawnCount < 0) {
+                return null;
+            }
+            int cells = width * height;
+            long expectedSize = fileSize(cells, spawnCount);
+            if (channel.size() != expectedSize) {
+                return null;
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, expectedSize - HEADER_BYTES);
+            IntBuffer body = mapped.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            int[] tiles = new int[cells];
+            body.get(tiles);
+            boolean[] collision = unpackBits(body, cells);
+            boolean[] road = unpackBits(body, cells);
+            int[] spawnX = new int[spawnCount];
+            int[] spawnY = new int[spawnCount];
+            int[] spawnType = new int[spawnCount];
+            body.get(spawnX);
+            body.get(spawnY);
+            body.get(spawnType);
+            GridPoint2 playerSpawn = hasPlayerSpawn ? new GridPoint2(playerX, playerY) : null;
+            return new MapData(width, height, tiles, collision, road, spawnX, spawnY, spawnType, spawnCount, playerSpawn);
+        } catch (IOException | RuntimeException ex) {
+            System.err.println("Could not read compiled map " + file + ", recompiling: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes map data as a compiled map.
+     * The file is written next to the target and moved into place, so readers never see a partial file.
+     *
+     * @param mapData map data to write
+     * @param sourceHash hash of the source properties file
+     * @param file target compiled map file
+     */
+    static void write(MapData mapData, long sourceHash, File file) {
+        int cells = mapData.getWidth() * mapData.getHeight();
+        int spawnCount = mapData.getSpawnCount();
+        ByteBuffer buffer = ByteBuffer.allocate((int) fileSize(cells, spawnCount)).order(ByteOrder.LITTLE_ENDIAN);
+        GridPoint2 playerSpawn = mapData.getPlayerSpawn();
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(sourceHash);
+        buffer.putInt(mapData.getWidth());
+        buffer.putInt(mapData.getHeight());
+        buffer.putInt(playerSpawn != null ? playerSpawn.x : 0);
+        buffer.putInt(playerSpawn != null ? playerSpawn.y : 0);
+        buffer.putInt(playerSpawn != null ? 1 : 0);
+        buffer.putInt(spawnCount);
+
+        IntBuffer body = buffer.asIntBuffer();
+        body.put(mapData.getTiles(), 0, cells);
+        packBits(body, mapData.getCollision(), cells);
+        packBits(body, mapData.getRoad(), cells);
+        for (int i = 0; i < spawnCount; i++) body.put(mapData.getSpawnX(i));
+        for (int i = 0; i < spawnCount; i++) body.put(mapData.getSpawnY(i));
+        for (int i = 0; i < spawnCount; i++) body.put(mapData.getSpawnType(i));
+
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(file.getName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                buffer.rewind();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            System.err.println("Could not write compiled map " + file + ": " + ex.getMessage());
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // Nothing left to clean up.
+            }
+        }
+    }
+
+    /**
+     * Computes the total file size for a map.
+     *
+     * @param cells number of grid cells
+     * @param spawnCount number of entity spawns
+     * @return file size in bytes
+     */
+    private static long fileSize(int cells, int spawnCount) {
+        long words = (long) cells + 2L * bitWords(cells) + 3L * spawnCount;
+        return HEADER_BYTES + words * Integer.BYTES;
+    }
+
+    /**
+     * Returns the number of int words needed to store one bit per cell.
+     *
+     * @param cells number of grid cells
+     * @return word count
+     */
+    private static int bitWords(int cells) {
+        return (cells + 31) >>> 5;
+    }
+
+    /**
+     * Packs flags into int words, 32 cells per word.
+     *
+     * @param out destination buffer
+     * @param flags flags to pack
+     * @param cells number of flags
+     */
+    private static void packBits(IntBuffer out, boolean[] flags, int cells) {
+        int words = bitWords(cells);
+        for (int word = 0; word < words; word++) {
+            int bits = 0;
+            int base = word << 5;
+            int end = Math.min(32, cells - base);
+            for (int bit = 0; bit < end; bit++) {
+                if (flags[base + bit]) {
+                    bits |= 1 << bit;
+                }
+            }
+            out.put(bits);
+        }
+    }
+
+    /**
+     * Unpacks int words written by {@link #packBits(IntBuffer, boolean[], int)}.
+     *
+     * @param in source buffer
+     * @param cells number of flags
+     * @return unpacked flags
+     */
+    private static boolean[] unpackBits(IntBuffer in, int cells) {
+        boolean[] flags = new boolean[cells];
+        int words = bitWords(cells);
+        for (int word = 0; word < words; word++) {
+            int bits = in.get();
+            if (bits == 0) {
+                continue;
+            }
+            int base = word << 5;
+            int end = Math.min(32, cells - base);
+            for (int bit = 0; bit < end; bit++) {
+                flags[base + bit] = (bits & (1 << bit)) != 0;
+            }
+        }
+        return flags;
+    }
+}
@@ -0,0 +1,292 @@
+package de.tum.cit.fop.maze.map;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import de.tum.cit.fop.maze.ai.ClusterGraph;
+import de.tum.cit.fop.maze.ai.NearestWalkableTable;
+import de.tum.cit.fop.maze.ai.RoadGraph;
+import de.tum.cit.fop.maze.ai.RoadLandmarks;
+import de.tum.cit.fop.maze.system.GameState;
+
+/**
+ * Loads a level in two stages so the render thread never blocks on it.
+ * <p>
+ * The CPU stage (map parsing, walkability grid and navigation graph construction, tileset parsing and
+ * image decoding) runs on a worker thread. The GL stage (texture uploads and map assembly) runs on the
+ * render thread in small per-frame slices driven by {@link #update(long)}.
+ */
+public class LevelLoader implements Disposable {
+    /** TMX template used when a level does not name its own. */
+    public static final String DEFAULT_MAP_PATH = "Assets_Map/THE_MAP.tmx";
+    /** Share of the progress bar covered by the CPU stage. */
+    private static final float CPU_SHARE = 0.5f;
+
+    /**
+     * Receives load progress on the render thread.
+     */
+    public interface ProgressListener {
+        /**
+         * Called when the load progress changes.
+         *
+         * @param progress progress between 0 and 1
+         */
+        void onProgress(float progress);
+    }
+
+    /** Path of the level properties file. */
+    private final String propertiesPath;
+    /** Path of the TMX template. */
+    private final String mapPath;
+    /** Loader for map data and layers. */
+    private final MapLoader mapLoader = new MapLoader();
+    /** Builder for the tiled map. */
+    private final TiledMapBuilder tiledMapBuilder = new TiledMapBuilder();
+    /** Listener notified about progress, may be {@code null}. */
+    private ProgressListener progressListener;
+    /** Pending worker task, {@code null} when loading synchronously. */
+    private AsyncResult<Void> pending;
+    /** Progress of the CPU stage between 0 and 1, written by the worker. */
+    private volatile float cpuProgress;
+    /** Result of the CPU stage, published by the worker under this loader's lock. */
+    private CpuStage cpuStage;
+    /** Whether the loader was disposed before finishing. */
+    private boolean disposed;
+    /** Finished level, {@code null} until loading completes. */
+    private LoadedLevel level;
+
+    /**
+     * Output of the CPU stage.
+     */
+    private static final class CpuStage {
+        /** Parsed map data. */
+        private final MapData mapData;
+        /** Walkability flags built from the map data. */
+        private final WalkabilityGrid walkabilityGrid;
+        /** Parsed tilesets with decoded images. */
+        private final TiledMapBuilder.PreparedMap preparedMap;
+
+        /**
+         * Creates the CPU stage output.
+         *
+         * @param mapData parsed map data
+         * @param walkabilityGrid walkability flags
+         * @param preparedMap parsed tilesets with decoded images
+         */
+        private CpuStage(MapData mapData, WalkabilityGrid walkabilityGrid, TiledMapBuilder.PreparedMap preparedMap) {
+            this.mapData = mapData;
+            this.walkabilityGrid = walkabilityGrid;
+            this.preparedMap = preparedMap;
+        }
+    }
+
+    /**
+     * Creates a loader for a level.
+     *
+     * @param propertiesPath path of the level properties file
+     * @param mapPath path of the TMX template
+     */
+    public LevelLoader(String propertiesPath, String mapPath) {
+        this.propertiesPath = propertiesPath;
+        this.mapPath = mapPath;
+    }
+
+    /**
+     * Builds the properties path for a level number.
+     *
+     * @param levelNumber level number
+     * @return properties file path
+     */
+    public static String propertiesPathFor(int levelNumber) {
+        return String.format("maps/level-%d.properties", levelNumber);
+    }
+
+    /**
+     * Returns the TMX template path stored in a saved game.
+     *
+     * @param gameState saved game state
+     * @return the saved template path, or {@link #DEFAULT_MAP_PATH} if none was saved
+     */
+    public static String mapPathFor(GameState gameState) {
+        return gameState.getMapPath() != null ? gameState.getMapPath() : DEFAULT_MAP_PATH;
+    }
+
+    /**
+     * Loads a level synchronously on the calling thread, which must be the render thread.
+     *
+     * @param propertiesPath path of the level properties file
+     * @param mapPath path of the TMX template
+     * @return the loaded level
+     */
+    public static LoadedLevel loadNow(String propertiesPath, String mapPath) {
+        LevelLoader loader = new LevelLoader(propertiesPath, mapPath);
+        loader.cpuStage = loader.runCpuStage();
+        loader.update(Long.MAX_VALUE);
+        return loader.getLevel();
+    }
+
+    /**
+     * Sets the listener notified about progress.
+     *
+     * @param progressListener listener, or {@code null} to clear
+     */
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Starts the CPU stage on a worker thread.
+     *
+     * @param executor executor to run the CPU stage on
+     */
+    public void start(AsyncExecutor executor) {
+        if (pending != null || cpuStage != null) {
+            return;
+        }
+        pending = executor.submit(() -> {
+            CpuStage stage = runCpuStage();
+            synchronized (this) {
+                if (disposed) {
+                    stage.preparedMap.dispose();
+                } else {
+                    cpuStage = stage;
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Advances the GL stage. Must be called on the render thread, typically once per frame.
+     * At least one step is performed per call, further steps only while the budget allows.
+     *
+     * @param budgetMillis time budget for this call in milliseconds
+     * @return {@code true} once the level is fully loaded
+     */
+    public boolean update(long budgetMillis) {
+        if (level != null) {
+            return true;
+        }
+        CpuStage stage;
+        synchronized (this) {
+            stage = cpuStage;
+        }
+        if (stage == null) {
+            if (pending != null && pending.isDone()) {
+                // Rethrows anything the worker failed with.
+                pending.get();
+            }
+            notifyProgress(cpuProgress * CPU_SHARE);
+            return false;
+        }
+
+        long start = TimeUtils.millis();
+        TiledMapBuilder.PreparedMap preparedMap = stage.preparedMap;
+        while (!preparedMap.isUploaded()) {
+            preparedMap.uploadNext();
+            // The last slice is map assembly, so uploads never report completion on their own.
+            float glProgress = preparedMap.getUploadedCount() / (preparedMap.getTextureCount() + 1f);
+            notifyProgress(CPU_SHARE + (1f - CPU_SHARE) * glProgress);
+            if (TimeUtils.timeSinceMillis(start) >= budgetMillis) {
+                return false;
+            }
+        }
+        TiledMap map = tiledMapBuilder.assemble(preparedMap, stage.mapData);
+        level = new LoadedLevel(propertiesPath, mapPath, stage.mapData, map, stage.walkabilityGrid);
+        synchronized (this) {
+            cpuStage = null;
+        }
+        notifyProgress(1f);
+        return true;
+    }
+
+    /**
+     * Checks whether the CPU stage has finished, leaving only the GL stage.
+     *
+     * @return {@code true} if the remaining work can be finished on the render thread right away
+     */
+    public boolean isPrepared() {
+        if (level != null) {
+            return true;
+        }
+        synchronized (this) {
+            return cpuStage != null;
+        }
+    }
+
+    /**
+     * Returns the loaded level.
+     *
+     * @return the level, or {@code null} if loading has not finished
+     */
+    public LoadedLevel getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns the level properties path.
+     *
+     * @return properties file path
+     */
+    public String getPropertiesPath() {
+        return propertiesPath;
+    }
+
+    /**
+     * Returns the TMX template path.
+     *
+     * @return template path
+     */
+    public String getMapPath() {
+        return mapPath;
+    }
+
+    /**
+     * Frees resources of an unfinished load. A finished level belongs to whoever took it.
+     */
+    @Override
+    public void dispose() {
+        CpuStage stage;
+        synchronized (this) {
+            disposed = true;
+            stage = cpuStage;
+            cpuStage = null;
+        }
+        if (stage != null) {
+            stage.preparedMap.dispose();
+        }
+    }
+
+    /**
+     * Runs the CPU stage. Does not touch GL.
+     *
+     * @return parsed map data, walkability grid and tilesets
+     */
+    private CpuStage runCpuStage() {
+        MapData mapData = mapLoader.loadMapData(propertiesPath);
+        WalkabilityGrid walkabilityGrid = WalkabilityGrid.fromMapData(mapData);
+        // Built here so the first enemy of the level does not pay for it on the render thread.
+        ClusterGraph.forGrid(walkabilityGrid);
+        NearestWalkableTable.forWalkable(walkabilityGrid);
+        NearestWalkableTable.forRoads(walkabilityGrid);
+        RoadGraph.forGrid(walkabilityGrid);
+        RoadLandmarks.forGrid(walkabilityGrid);
+        cpuProgress = 0.3f;
+        TiledMapBuilder.PreparedMap preparedMap = tiledMapBuilder.prepare(mapPath);
+        cpuProgress = 1f;
+        return new CpuStage(mapData, walkabilityGrid, preparedMap);
+    }
+
+    /**
+     * Forwards progress to the listener, if any.
+     *
+     * @param progress progress between 0 and 1
+     */
+    private void notifyProgress(float progress) {
+        if (progressListener != null) {
+            progressListener.onProgress(progress);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package de.tum.cit.fop.maze.map;
+
+import com.badlogic.gdx.maps.tiled.TiledMap;
+
+/**
+ * A fully loaded level, ready to be handed to a game screen.
+ */
+public class LoadedLevel {
+    /** Path of the level properties file. */
+    private final String propertiesPath;
+    /** Path of the TMX template the map was built from. */
+    private final String mapPath;
+    /** Parsed map data. */
+    private final MapData mapData;
+    /** Renderable tiled map. */
+    private final TiledMap map;
+    /** Walkability flags built from the map data. */
+    private final WalkabilityGrid walkabilityGrid;
+
+    /**
+     * Creates a loaded level.
+     *
+     * @param propertiesPath path of the level properties file
+     * @param mapPath path of the TMX template
+     * @param mapData parsed map data
+     * @param map renderable tiled map
+     * @param walkabilityGrid walkability flags
+     */
+    public LoadedLevel(String propertiesPath, String mapPath, MapData mapData, TiledMap map, WalkabilityGrid walkabilityGrid) {
+        this.propertiesPath = propertiesPath;
+        this.mapPath = mapPath;
+        this.mapData = mapData;
+        this.map = map;
+        this.walkabilityGrid = walkabilityGrid;
+    }
+
+    /**
+     * Returns the level properties path.
+     *
+     * @return properties file path
+     */
+    public String getPropertiesPath() {
+        return propertiesPath;
+    }
+
+    /**
+     * Returns the TMX template path.
+     *
+     * @return template path
+     */
+    public String getMapPath() {
+        return mapPath;
+    }
+
+    /**
+     * Returns the parsed map data.
+     *
+     * @return map data
+     */
+    public MapData getMapData() {
+        return mapData;
+    }
+
+    /**
+     * Returns the tiled map. The receiver becomes responsible for disposing it.
+     *
+     * @return tiled map
+     */
+    public TiledMap getMap() {
+        return map;
+    }
+
+    /**
+     * Returns the walkability grid.
+     *
+     * @return walkability grid
+     */
+    public WalkabilityGrid getWalkabilityGrid() {
+        return walkabilityGrid;
+    }
+}
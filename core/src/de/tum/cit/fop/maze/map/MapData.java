@@ -0,0 +1,226 @@
+package de.tum.cit.fop.maze.map;
+
+import com.badlogic.gdx.math.GridPoint2;
+
+/**
+ * Parsed contents of a level properties file, stored as packed primitive arrays.
+ * <p>
+ * Grids are indexed by {@code y * width + x} with a bottom-left origin, matching the
+ * coordinates used in the properties files and in the game world.
+ */
+public class MapData {
+    /** Offset added to tile GIDs in the properties files. */
+    public static final int TILE_VALUE_OFFSET = 100;
+    /** Player spawn marker. */
+    public static final int PLAYER_SPAWN = 1;
+    /** Exit door entity, also blocks movement. */
+    public static final int EXIT_DOOR = 2;
+    /** Health pickup entity. */
+    public static final int HEALTH_PICKUP = 3;
+    /** Enemy entity. */
+    public static final int ENEMY = 4;
+    /** Key entity. */
+    public static final int KEY = 5;
+    /** Energy drink entity. */
+    public static final int ENERGY_DRINK = 6;
+    /** Wall marker, blocks movement. */
+    public static final int WALL = 7;
+    /** Trap entity. */
+    public static final int TRAP = 8;
+    /** Drop-off entity. */
+    public static final int DROP_OFF = 9;
+    /** Shop entity, blocks a 3x2 area. */
+    public static final int SHOP = 10;
+    /** Road marker for BMW movement. */
+    public static final int ROAD = 11;
+    /** BMW enemy entity. */
+    public static final int BMW_ENEMY = 13;
+
+    /** Map width in tiles. */
+    private final int width;
+    /** Map height in tiles. */
+    private final int height;
+    /** Tile GIDs (including TMX flip flags), 0 for empty cells. */
+    private final int[] tiles;
+    /** Blocking cells. */
+    private final boolean[] collision;
+    /** Drivable road cells. */
+    private final boolean[] road;
+    /** Entity spawn x coordinates, in file order. */
+    private final int[] spawnX;
+    /** Entity spawn y coordinates, in file order. */
+    private final int[] spawnY;
+    /** Entity spawn types, in file order. */
+    private final int[] spawnType;
+    /** Number of entity spawns. */
+    private final int spawnCount;
+    /** Player spawn position, or {@code null} if the map has none. */
+    private final GridPoint2 playerSpawn;
+
+    /**
+     * Creates map data from already decoded arrays.
+     *
+     * @param width map width in tiles
+     * @param height map height in tiles
+     * @param tiles tile GIDs indexed by {@code y * width + x}
+     * @param collision blocking cells indexed by {@code y * width + x}
+     * @param road road cells indexed by {@code y * width + x}
+     * @param spawnX entity spawn x coordinates
+     * @param spawnY entity spawn y coordinates
+     * @param spawnType entity spawn types
+     * @param spawnCount number of valid entries in the spawn arrays
+     * @param playerSpawn player spawn position, or {@code null}
+     */
+    public MapData(int width, int height, int[] tiles, boolean[] collision, boolean[] road, int[] spawnX, int[] spawnY, int[] spawnType, int spawnCount, GridPoint2 playerSpawn) {
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+        this.collision = collision;
+        this.road = road;
+        this.spawnX = spawnX;
+        this.spawnY = spawnY;
+        this.spawnType = spawnType;
+        this.spawnCount = spawnCount;
+        this.playerSpawn = playerSpawn;
+    }
+
+    /**
+     * Returns the map width.
+     *
+     * @return width in tiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the map height.
+     *
+     * @return height in tiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Checks whether a coordinate lies inside the map.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return {@code true} if inside bounds
+     */
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Returns the tile GID at a coordinate.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return GID as an unsigned value including flip flags, or 0 if empty or out of bounds
+     */
+    public long getTileGid(int x, int y) {
+        if (!inBounds(x, y)) {
+            return 0;
+        }
+        return Integer.toUnsignedLong(tiles[y * width + x]);
+    }
+
+    /**
+     * Checks whether a cell blocks movement.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return {@code true} if blocked
+     */
+    public boolean isCollision(int x, int y) {
+        return inBounds(x, y) && collision[y * width + x];
+    }
+
+    /**
+     * Checks whether a cell is road.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return {@code true} if road
+     */
+    public boolean isRoad(int x, int y) {
+        return inBounds(x, y) && road[y * width + x];
+    }
+
+    /**
+     * Returns the backing tile array. Callers must not modify it.
+     *
+     * @return tile GIDs indexed by {@code y * width + x}
+     */
+    public int[] getTiles() {
+        return tiles;
+    }
+
+    /**
+     * Returns the backing collision array. Callers must not modify it.
+     *
+     * @return blocking cells indexed by {@code y * width + x}
+     */
+    public boolean[] getCollision() {
+        return collision;
+    }
+
+    /**
+     * Returns the backing road array. Callers must not modify it.
+     *
+     * @return road cells indexed by {@code y * width + x}
+     */
+    public boolean[] getRoad() {
+        return road;
+    }
+
+    /**
+     * Returns the number of entity spawns.
+     *
+     * @return spawn count
+     */
+    public int getSpawnCount() {
+        return spawnCount;
+    }
+
+    /**
+     * Returns the x coordinate of an entity spawn.
+     *
+     * @param index spawn index
+     * @return tile x
+     */
+    public int getSpawnX(int index) {
+        return spawnX[index];
+    }
+
+    /**
+     * Returns the y coordinate of an entity spawn.
+     *
+     * @param index spawn index
+     * @return tile y
+     */
+    public int getSpawnY(int index) {
+        return spawnY[index];
+    }
+
+    /**
+     * Returns the type of an entity spawn.
+     *
+     * @param index spawn index
+     * @return entity type constant
+     */
+    public int getSpawnType(int index) {
+        return spawnType[index];
+    }
+
+    /**
+     * Returns the player spawn position.
+     *
+     * @return a copy of the spawn position, or {@code null} if none exists
+     */
+    public GridPoint2 getPlayerSpawn() {
+        return playerSpawn != null ? new GridPoint2(playerSpawn) : null;
+    }
+}
@@ -2,7 +2,6 @@
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.GridPoint2;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import de.tum.cit.fop.maze.entity.collectible.Collectible;
@@ -18,117 +17,182 @@
 import de.tum.cit.fop.maze.entity.obstacle.Trap;
 import de.tum.cit.fop.maze.system.PointManager;
 import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
- * Loads map data from properties files and builds TMX content, layers, and entities.
+ * Loads map data from properties files and builds tiled maps, layers, and entities.
  */
 public class MapLoader {
+    /** Builder for tiled maps from parsed map data. */
+    private final TiledMapBuilder tiledMapBuilder = new TiledMapBuilder();
+
     /**
-     * Builds a TMX file from a properties file and a TMX template.
+     * Loads the map data for a properties file.
+     * A compiled {@code .mcmap} next to the properties file is used when its stored hash
+     * matches the current source; otherwise the properties are parsed and the compiled map rewritten.
      *
-     * @param propertiesPath path to the properties file containing tile values
-     * @param templateTmxPath path to the TMX template file
-     * @param outputTmxPath path to write the generated TMX file to
-     * @return the output TMX path that was written
+     * @param propertiesPath path to the properties file
+     * @return loaded map data
+     * @throws RuntimeException if the properties file cannot be opened
      */
-    public String buildTmxFromProperties(String propertiesPath, String templateTmxPath, String outputTmxPath) {
-        List<long[]> entries = readPropertyEntries(propertiesPath);
-        String templateTmx = readTextFile(templateTmxPath);
-        int[] size = readMapSizeFromProperties(entries);
-        int width = size[0];
-        int height = size[1];
-
-        long[][] tiles = new long[height][width];
-        for (long[] entry : entries) {
-            int x = (int) entry[0];
-            int y = (int) entry[1];
-            long value = entry[2];
-            // All tiles will be of value at least 100 and will be exactly 100 over the
-            if (value < 101) {
-                continue;
-            }
-            long gid = value - 100;
-            int row = height - 1 - y; // TMX CSV is top-to-bottom; properties use bottom-left origin
-            if (x < 0 || x >= width || row < 0 || row >= height) {
-                continue;
-            }
-            tiles[row][x] = gid;
+    public MapData loadMapData(String propertiesPath) {
+        File source = Gdx.files.local(propertiesPath).file();
+        long sourceHash;
+        try {
+            sourceHash = CompiledMapFile.hashOf(source);
+        } catch (IOException ex) {
+            throw new RuntimeException("no such propoerty file");
         }
-
-        String csv = buildCsv(tiles, width, height);
-        String updatedTmx = buildTmxDocument(templateTmx, width, height, csv);
-        Gdx.files.local(outputTmxPath).writeString(updatedTmx, false, "UTF-8");
-        return outputTmxPath;
+        File compiled = CompiledMapFile.compiledFileFor(source);
+        MapData mapData = CompiledMapFile.read(compiled, sourceHash);
+        if (mapData == null) {
+            mapData = parseProperties(propertiesPath);
+            CompiledMapFile.write(mapData, sourceHash, compiled);
+        }
+        return mapData;
     }
 
     /**
-     * Builds a collision layer from a properties file.
+     * Parses a properties file into a map data model in a single pass.
      *
-     * @param map the tiled map supplying dimensions and tile sizes
-     * @param propertiesPath path to the properties file containing collision values
-     * @return a collision layer with blocking cells populated
+     * @param propertiesPath path to the properties file
+     * @return parsed map data
+     * @throws RuntimeException if the properties file cannot be opened
      */
-    public TiledMapTileLayer buildCollisionLayerFromProperties(TiledMap map, String propertiesPath) {
-        TiledMapTileLayer layer = createLayer(map);
-        int width = layer.getWidth();
-        int height = layer.getHeight();
-        for (long[] entry : readPropertyEntries(propertiesPath)) {
-            int x = (int) entry[0];
-            int y = (int) entry[1];
-            long value = entry[2];
-            if (value >= 101) {
+    MapData parseProperties(String propertiesPath) {
+        int count = 0;
+        int[] xs = new int[1 << 16];
+        int[] ys = new int[1 << 16];
+        long[] values = new long[1 << 16];
+        int maxX = -1;
+        int maxY = -1;
+        try (InputStream input = openProperties(propertiesPath);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int start = skipWhitespace(line, 0, line.length());
+                if (start == line.length() || line.charAt(start) == '#' || line.charAt(start) == '!') {
+                    continue;
+                }
+                int eqIndex = line.indexOf('=', start);
+                if (eqIndex <= start) {
+                    continue;
+                }
+                int commaIndex = line.indexOf(',', start);
+                if (commaIndex < 0 || commaIndex > eqIndex) {
+                    continue;
+                }
+                try {
+                    int x = parseIntTrimmed(line, start, commaIndex);
+                    int y = parseIntTrimmed(line, commaIndex + 1, eqIndex);
+                    long value = parseLongTrimmed(line, eqIndex + 1, line.length());
+                    if (count == xs.length) {
+                        xs = java.util.Arrays.copyOf(xs, count * 2);
+                        ys = java.util.Arrays.copyOf(ys, count * 2);
+                        values = java.util.Arrays.copyOf(values, count * 2);
+                    }
+                    xs[count] = x;
+                    ys[count] = y;
+                    values[count] = value;
+                    count++;
+                    if (x > maxX) maxX = x;
+                    if (y > maxY) maxY = y;
+                } catch (NumberFormatException ignored) {
+                    // Skip bad coordinates or values.
+                }
+            }
+        } catch (Exception ex) {
+            throw new RuntimeException("no such propoerty file");
+        }
+
+        int width = Math.max(1, maxX + 1);
+        int height = Math.max(1, maxY + 1);
+        int[] tiles = new int[width * height];
+        boolean[] collision = new boolean[width * height];
+        boolean[] road = new boolean[width * height];
+        int[] spawnX = new int[64];
+        int[] spawnY = new int[64];
+        int[] spawnType = new int[64];
+        int spawnCount = 0;
+        GridPoint2 playerSpawn = null;
+
+        for (int i = 0; i < count; i++) {
+            int x = xs[i];
+            int y = ys[i];
+            long value = values[i];
+            boolean inBounds = x >= 0 && y >= 0 && x < width && y < height;
+            // All tiles will be of value at least 100 and will be exactly 100 over the GID
+            if (value > MapData.TILE_VALUE_OFFSET) {
+                if (inBounds) {
+                    tiles[y * width + x] = (int) (value - MapData.TILE_VALUE_OFFSET);
+                }
+                continue;
+            }
+            if (value == MapData.PLAYER_SPAWN) {
+                if (playerSpawn == null) {
+                    playerSpawn = new GridPoint2(x, y);
+                }
                 continue;
             }
-            if (value == 7 || value == 2) {
-                layer.setCell(x, y, new TiledMapTileLayer.Cell());
-            } else if (value == 10) {
+            if (value == MapData.WALL || value == MapData.EXIT_DOOR) {
+                if (inBounds) {
+                    collision[y * width + x] = true;
+                }
+            } else if (value == MapData.SHOP) {
                 for (int dx = 0; dx < 3; dx++) {
                     for (int dy = 0; dy < 2; dy++) {
                         int cellX = x + dx;
                         int cellY = y + dy;
                         if (cellX >= 0 && cellY >= 0 && cellX < width && cellY < height) {
-                            layer.setCell(cellX, cellY, new TiledMapTileLayer.Cell());
+                            collision[cellY * width + cellX] = true;
                         }
                     }
                 }
+            } else if (value == MapData.ROAD) {
+                if (inBounds) {
+                    road[y * width + x] = true;
+                }
+                continue;
             }
+            if (value == MapData.WALL) {
+                continue;
+            }
+            if (spawnCount == spawnType.length) {
+                spawnX = java.util.Arrays.copyOf(spawnX, spawnCount * 2);
+                spawnY = java.util.Arrays.copyOf(spawnY, spawnCount * 2);
+                spawnType = java.util.Arrays.copyOf(spawnType, spawnCount * 2);
+            }
+            spawnX[spawnCount] = x;
+            spawnY[spawnCount] = y;
+            spawnType[spawnCount] = (int) value;
+            spawnCount++;
         }
-        return layer;
+        return new MapData(width, height, tiles, collision, road, spawnX, spawnY, spawnType, spawnCount, playerSpawn);
     }
 
     /**
-     * Builds a road layer from a properties file.
+     * Builds a tiled map from parsed map data, using the tilesets of a TMX template.
      *
-     * @param map the tiled map supplying dimensions and tile sizes
-     * @param propertiesPath path to the properties file containing road values
-     * @return a road layer with drivable cells populated
+     * @param mapData parsed map data containing tile values
+     * @param templateTmxPath path to the TMX template file
+     * @return the built tiled map
      */
-    public TiledMapTileLayer buildRoadLayerFromProperties(TiledMap map, String propertiesPath) {
-        TiledMapTileLayer layer = createLayer(map);
-        for (long[] entry : readPropertyEntries(propertiesPath)) {
-            long value = entry[2];
-            if (value >= 101) {
-                continue;
-            }
-            if (value == 11) {
-                layer.setCell((int) entry[0], (int) entry[1], new TiledMapTileLayer.Cell());
-            }
-        }
-        return layer;
+    public TiledMap buildTiledMap(MapData mapData, String templateTmxPath) {
+        return tiledMapBuilder.build(mapData, templateTmxPath);
     }
 
     /**
-     * Spawns entities into the stage based on properties entries.
+     * Spawns entities into the stage based on parsed map data.
      *
      * @param stage stage to attach actors to
      * @param pointManager point manager for score-related collectibles
-     * @param collisionLayer collision layer used for enemy movement
-     * @param roadLayer road layer used for BMW enemies
-     * @param propertiesPath path to the properties file containing entity values
+     * @param walkabilityGrid walkability grid used for enemy and BMW movement
+     * @param mapData parsed map data containing entity spawns
      * @param hud HUD instance for shop interactions
      * @param enemies list to collect spawned enemies into
      * @param collectibles list to collect spawned collectibles into
@@ -136,48 +200,45 @@ public TiledMapTileLayer buildRoadLayerFromProperties(TiledMap map, String prope
      * @param dropOffListener callback invoked when the drop-off is completed
      * @param dropOffGrantsCanLeave whether drop-off should grant can-leave permission
      */
-    public void spawnEntitiesFromProperties(Stage stage, PointManager pointManager, TiledMapTileLayer collisionLayer, TiledMapTileLayer roadLayer, String propertiesPath, HUD hud, List<Enemy> enemies, List<Collectible> collectibles, ExitDoor.VictoryListener exitDoorListener, DropOff.DropOffListener dropOffListener, boolean dropOffGrantsCanLeave) {
-        for (long[] entry : readPropertyEntries(propertiesPath)) {
-            int x = (int) entry[0];
-            int y = (int) entry[1];
-            long value = entry[2];
-            if (value >= 101) {
-                continue;
-            }
-            if (value == 3) {
+    public void spawnEntities(Stage stage, PointManager pointManager, WalkabilityGrid walkabilityGrid, MapData mapData, HUD hud, List<Enemy> enemies, List<Collectible> collectibles, ExitDoor.VictoryListener exitDoorListener, DropOff.DropOffListener dropOffListener, boolean dropOffGrantsCanLeave) {
+        for (int i = 0; i < mapData.getSpawnCount(); i++) {
+            int x = mapData.getSpawnX(i);
+            int y = mapData.getSpawnY(i);
+            int value = mapData.getSpawnType(i);
+            if (value == MapData.HEALTH_PICKUP) {
                 HealthPickup pickup = new HealthPickup(x, y, pointManager);
                 stage.addActor(pickup);
                 collectibles.add(pickup);
-            } else if (value == 6) {
+            } else if (value == MapData.ENERGY_DRINK) {
                 EnergyDrink drink = new EnergyDrink(x, y, pointManager);
                 stage.addActor(drink);
                 collectibles.add(drink);
-            } else if (value == 5) {
+            } else if (value == MapData.KEY) {
                 Key keyGame = new Key(x, y, pointManager);
                 stage.addActor(keyGame);
                 collectibles.add(keyGame);
-            } else if (value == 2) {
+            } else if (value == MapData.EXIT_DOOR) {
                 ExitDoor exitDoor = new ExitDoor(x, y, pointManager, exitDoorListener);
                 stage.addActor(exitDoor);
                 collectibles.add(exitDoor);
-            } else if (value == 9) {
+            } else if (value == MapData.DROP_OFF) {
                 DropOff dropOff = new DropOff(x, y, pointManager, dropOffListener, dropOffGrantsCanLeave);
                 stage.addActor(dropOff);
                 collectibles.add(dropOff);
-            } else if (value == 8) {
+            } else if (value == MapData.TRAP) {
                 Trap trap = new Trap(x, y);
                 stage.addActor(trap);
                 // Traps are obstacles but not enemies, for now we don't save their state
                 // if they are static.
-            } else if (value == 4) {
-                Enemy enemy = new Enemy(collisionLayer, x, y);
+            } else if (value == MapData.ENEMY) {
+                Enemy enemy = new Enemy(walkabilityGrid, x, y);
                 stage.addActor(enemy);
                 enemies.add(enemy);
-            } else if (value == 10) {
+            } else if (value == MapData.SHOP) {
                 Shop shop = new Shop(x, y, hud);
                 stage.addActor(shop);
-            } else if (value == 13) {
-                BmwEnemy bmw = new BmwEnemy(roadLayer, x, y);
+            } else if (value == MapData.BMW_ENEMY) {
+                BmwEnemy bmw = new BmwEnemy(walkabilityGrid, x, y);
                 stage.addActor(bmw);
             }
         }
@@ -185,19 +246,13 @@ public void spawnEntitiesFromProperties(Stage stage, PointManager pointManager,
     }
 
     /**
-     * Finds the player spawn position defined in the properties file.
+     * Finds the player spawn position defined in the map data.
      *
-     * @param propertiesPath path to the properties file containing the spawn entry
+     * @param mapData parsed map data containing the spawn entry
      * @return the player spawn position, or {@code null} if none exists
      */
-    public GridPoint2 findPlayerSpawnFromProperties(String propertiesPath) {
-        for (long[] entry : readPropertyEntries(propertiesPath)) {
-            long value = entry[2];
-            if (value == 1) {
-                return new GridPoint2((int) entry[0], (int) entry[1]);
-            }
-        }
-        return null;
+    public GridPoint2 findPlayerSpawn(MapData mapData) {
+        return mapData.getPlayerSpawn();
     }
 
     /**
@@ -208,178 +263,61 @@ public void refreshBmwRoadTiles() {
     }
 
     /**
-     * Creates a tiled layer using dimensions from the map.
-     *
-     * @param map the source map for width/height/tile sizes
-     * @return a new tiled layer with the same dimensions as the map
-     */
-    private TiledMapTileLayer createLayer(TiledMap map) {
-        int width = map.getProperties().get("width", Integer.class);
-        int height = map.getProperties().get("height", Integer.class);
-        int tileWidth = map.getProperties().get("tilewidth", Integer.class);
-        int tileHeight = map.getProperties().get("tileheight", Integer.class);
-        return new TiledMapTileLayer(width, height, tileWidth, tileHeight);
-    }
-
-    /**
-     * Reads properties entries into a list of {@code [x, y, value]} tuples.
-     *
-     * @param propertiesPath path to the properties file
-     * @return list of parsed entries
-     * @throws RuntimeException if the properties file cannot be opened
-     */
-    private List<long[]> readPropertyEntries(String propertiesPath) {
-        List<long[]> entries = new java.util.ArrayList<>();
-        try (InputStream input = openProperties(propertiesPath);
-             BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (line.isEmpty() || line.startsWith("#") || line.startsWith("!")) {
-                    continue;
-                }
-                int eqIndex = line.indexOf('=');
-                if (eqIndex <= 0) {
-                    continue;
-                }
-                String key = line.substring(0, eqIndex).trim();
-                String valueText = line.substring(eqIndex + 1).trim();
-                String[] parts = key.split(",");
-                if (parts.length != 2) {
-                    continue;
-                }
-                try {
-                    int x = Integer.parseInt(parts[0].trim());
-                    int y = Integer.parseInt(parts[1].trim());
-                    long value = Long.parseLong(valueText);
-                    entries.add(new long[]{x, y, value});
-                } catch (NumberFormatException ignored) {
-                    // Skip bad coordinates or values.
-                }
-            }
-        } catch (Exception ex) {
-            throw new RuntimeException("no such propoerty file");
-        }
-        return entries;
-    }
-
-    /**
-     * Opens a properties file as an input stream.
-     *
-     * @param propertiesPath path to the properties file
-     * @return input stream for the properties file
-     */
-    private InputStream openProperties(String propertiesPath) {
-        return Gdx.files.local(propertiesPath).read();
-    }
-
-    /**
-     * Reads a text file from local storage as UTF-8.
-     *
-     * @param path path to the file
-     * @return file contents as a string
-     */
-    private String readTextFile(String path) {
-        return Gdx.files.local(path).readString("UTF-8");
-    }
-
-    /**
-     * Computes the map size from property entries.
+     * Skips whitespace characters.
      *
-     * @param entries parsed entries containing x/y coordinates
-     * @return {@code [width, height]} inferred from the maximum coordinates
+     * @param text source text
+     * @param from start index (inclusive)
+     * @param to end index (exclusive)
+     * @return index of the first non-whitespace character, or {@code to}
      */
-    private int[] readMapSizeFromProperties(List<long[]> entries) {
-        int maxX = -1;
-        int maxY = -1;
-        for (long[] entry : entries) {
-            int x = (int) entry[0];
-            int y = (int) entry[1];
-            if (x > maxX) maxX = x;
-            if (y > maxY) maxY = y;
+    private static int skipWhitespace(CharSequence text, int from, int to) {
+        while (from < to && Character.isWhitespace(text.charAt(from))) {
+            from++;
         }
-        int width = Math.max(1, maxX + 1);
-        int height = Math.max(1, maxY + 1);
-        return new int[]{width, height};
+        return from;
     }
 
     /**
-     * Builds a CSV tile data block from the tile array.
+     * Parses an int from a range of text, ignoring surrounding whitespace.
      *
-     * @param tiles tile GIDs, indexed by row and column
-     * @param width map width
-     * @param height map height
-     * @return CSV string compatible with TMX tile layer data
+     * @param text source text
+     * @param from start index (inclusive)
+     * @param to end index (exclusive)
+     * @return parsed value
+     * @throws NumberFormatException if the range is not a valid integer
      */
-    private String buildCsv(long[][] tiles, int width, int height) {
-        StringBuilder csv = new StringBuilder();
-        for (int row = 0; row < height; row++) {
-            for (int col = 0; col < width; col++) {
-                csv.append(tiles[row][col]).append(',');
-            }
-            if (row + 1 < height) {
-                csv.append('\n');
-            }
+    private static int parseIntTrimmed(CharSequence text, int from, int to) {
+        from = skipWhitespace(text, from, to);
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
         }
-        return csv.toString();
+        return Integer.parseInt(text, from, to, 10);
     }
 
     /**
-     * Builds a TMX document based on a template and CSV tile data.
+     * Parses a long from a range of text, ignoring surrounding whitespace.
      *
-     * @param templateTmx TMX template contents
-     * @param width map width
-     * @param height map height
-     * @param csv CSV tile data block
-     * @return full TMX document content
+     * @param text source text
+     * @param from start index (inclusive)
+     * @param to end index (exclusive)
+     * @return parsed value
+     * @throws NumberFormatException if the range is not a valid integer
      */
-    private String buildTmxDocument(String templateTmx, int width, int height, String csv) {
-        String propertiesBlock = findFirstMatch(templateTmx, "<properties>.*?</properties>");
-        if (propertiesBlock == null) {
-            propertiesBlock = "";
-        }
-
-        java.util.regex.Pattern tilesetPattern = java.util.regex.Pattern.compile("<tileset[^>]*(?:/>|>.*?</tileset>)", java.util.regex.Pattern.DOTALL);
-        java.util.regex.Matcher matcher = tilesetPattern.matcher(templateTmx);
-        StringBuilder tilesets = new StringBuilder();
-        while (matcher.find()) {
-            tilesets.append(matcher.group()).append('\n');
-        }
-        String tilesetBlock = tilesets.toString();
-
-        StringBuilder tmx = new StringBuilder();
-        tmx.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
-        tmx.append(String.format(
-                "<map version=\"1.10\" tiledversion=\"1.11.2\" orientation=\"orthogonal\" renderorder=\"right-down\" width=\"%d\" height=\"%d\" tilewidth=\"32\" tileheight=\"32\" infinite=\"0\" nextlayerid=\"2\" nextobjectid=\"1\">\n",
-                width,
-                height
-        ));
-        if (!propertiesBlock.isEmpty()) {
-            tmx.append(' ').append(propertiesBlock).append('\n');
-        }
-        if (!tilesetBlock.isEmpty()) {
-            tmx.append(' ').append(tilesetBlock);
+    private static long parseLongTrimmed(CharSequence text, int from, int to) {
+        from = skipWhitespace(text, from, to);
+        while (to > from && Character.isWhitespace(text.charAt(to - 1))) {
+            to--;
         }
-        tmx.append(" <layer id=\"1\" name=\"Tile Layer 1\" width=\"").append(width).append("\" height=\"").append(height).append("\">\n");
-        tmx.append("  <data encoding=\"csv\">\n");
-        tmx.append(csv).append('\n');
-        tmx.append("  </data>\n");
-        tmx.append(" </layer>\n");
-        tmx.append("</map>\n");
-        return tmx.toString();
+        return Long.parseLong(text, from, to, 10);
     }
 
     /**
-     * Finds the first regex match in text.
+     * Opens a properties file as an input stream.
      *
-     * @param text source text
-     * @param pattern regex pattern to search for
-     * @return the matched text, or {@code null} if not found
+     * @param propertiesPath path to the properties file
+     * @return input stream for the properties file
      */
-    private String findFirstMatch(String text, String pattern) {
-        java.util.regex.Pattern regex = java.util.regex.Pattern.compile(pattern, java.util.regex.Pattern.DOTALL);
-        java.util.regex.Matcher matcher = regex.matcher(text);
-        return matcher.find() ? matcher.group() : null;
+    private InputStream openProperties(String propertiesPath) {
+        return Gdx.files.local(propertiesPath).read();
     }
-
 }
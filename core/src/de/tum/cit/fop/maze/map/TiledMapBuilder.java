@@ -0,0 +1,439 @@
+package de.tum.cit.fop.maze.map;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.MapProperties;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.XmlReader;
+
+/**
+ * Builds a {@link TiledMap} directly from parsed map data, using the tilesets referenced by a TMX template.
+ * <p>
+ * Produces the same map {@code TmxMapLoader} would load from a generated TMX file, without writing
+ * the TMX to disk or parsing its tile data back in.
+ */
+public class TiledMapBuilder {
+    /** TMX flag for horizontally flipped tiles. */
+    private static final int FLAG_FLIP_HORIZONTALLY = 0x80000000;
+    /** TMX flag for vertically flipped tiles. */
+    private static final int FLAG_FLIP_VERTICALLY = 0x40000000;
+    /** TMX flag for diagonally flipped tiles. */
+    private static final int FLAG_FLIP_DIAGONALLY = 0x20000000;
+    /** Mask clearing all flip flags from a GID. */
+    private static final int MASK_CLEAR = 0xE0000000;
+    /** Name of the generated tile layer. */
+    private static final String LAYER_NAME = "Tile Layer 1";
+
+    /** XML reader for the template and tileset files. */
+    private final XmlReader xml = new XmlReader();
+
+    /**
+     * Builds a tiled map for the given map data in one go.
+     * Must be called on the render thread.
+     *
+     * @param mapData parsed map data containing tile GIDs
+     * @param templateTmxPath path to the TMX template listing the tilesets
+     * @return a new tiled map owning its tileset textures
+     */
+    public TiledMap build(MapData mapData, String templateTmxPath) {
+        PreparedMap prepared = prepare(templateTmxPath);
+        while (!prepared.uploadNext()) {
+            // Upload every tileset texture before assembling.
+        }
+        return assemble(prepared, mapData);
+    }
+
+    /**
+     * Parses the template and its tilesets and decodes the tileset images.
+     * Does not touch GL, so it can run on a worker thread.
+     *
+     * @param templateTmxPath path to the TMX template listing the tilesets
+     * @return prepared tilesets waiting for their textures to be uploaded
+     */
+    public PreparedMap prepare(String templateTmxPath) {
+        FileHandle templateFile = Gdx.files.local(templateTmxPath);
+        XmlReader.Element root = xml.parse(templateFile);
+        PreparedMap prepared = new PreparedMap(root);
+        try {
+            for (XmlReader.Element tilesetElement : root.getChildrenByName("tileset")) {
+                int firstGid = tilesetElement.getIntAttribute("firstgid", 1);
+                FileHandle baseFile = templateFile;
+                String source = tilesetElement.getAttribute("source", null);
+                if (source != null) {
+                    baseFile = getRelativeFileHandle(templateFile, source);
+                    tilesetElement = xml.parse(baseFile);
+                }
+                String imagePath = null;
+                XmlReader.Element imageElement = tilesetElement.getChildByName("image");
+                if (imageElement != null) {
+                    FileHandle imageFile = getRelativeFileHandle(baseFile, imageElement.getAttribute("source"));
+                    imagePath = imageFile.path();
+                    if (!prepared.pixmaps.containsKey(imagePath)) {
+                        prepared.pixmaps.put(imagePath, new Pixmap(imageFile));
+                        prepared.imagePaths.add(imagePath);
+                    }
+                }
+                prepared.tilesetElements.add(tilesetElement);
+                prepared.firstGids.add(firstGid);
+                prepared.tilesetImages.add(imagePath);
+            }
+        } catch (RuntimeException ex) {
+            prepared.dispose();
+            throw ex;
+        }
+        return prepared;
+    }
+
+    /**
+     * Builds the tiled map from a prepared template whose textures have all been uploaded.
+     * Must be called on the render thread.
+     *
+     * @param prepared prepared template, see {@link PreparedMap#isUploaded()}
+     * @param mapData parsed map data containing tile GIDs
+     * @return a new tiled map owning the prepared textures
+     */
+    public TiledMap assemble(PreparedMap prepared, MapData mapData) {
+        if (!prepared.isUploaded()) {
+            throw new IllegalStateException("Tileset textures have not been uploaded yet");
+        }
+        XmlReader.Element root = prepared.root;
+        TiledMap map = new TiledMap();
+        MapProperties mapProperties = map.getProperties();
+        mapProperties.put("orientation", root.getAttribute("orientation", "orthogonal"));
+        mapProperties.put("width", mapData.getWidth());
+        mapProperties.put("height", mapData.getHeight());
+        mapProperties.put("tilewidth", prepared.getTileWidth());
+        mapProperties.put("tileheight", prepared.getTileHeight());
+        loadProperties(mapProperties, root.getChildByName("properties"));
+
+        int maxGid = 0;
+        for (int i = 0; i < prepared.tilesetElements.size; i++) {
+            String imagePath = prepared.tilesetImages.get(i);
+            Texture texture = imagePath != null ? prepared.textures.get(imagePath) : null;
+            TiledMapTileSet tileSet = loadTileSet(prepared.tilesetElements.get(i), prepared.firstGids.get(i), texture);
+            map.getTileSets().addTileSet(tileSet);
+            for (TiledMapTile tile : tileSet) {
+                maxGid = Math.max(maxGid, tile.getId());
+            }
+        }
+        Array<Texture> ownedTextures = new Array<>();
+        for (Texture texture : prepared.textures.values()) {
+            ownedTextures.add(texture);
+        }
+        map.setOwnedResources(ownedTextures);
+        prepared.textures.clear();
+
+        // Later tilesets win when GIDs overlap, matching TiledMapTileSets.getTile.
+        TiledMapTile[] tilesByGid = new TiledMapTile[maxGid + 1];
+        for (TiledMapTileSet tileSet : map.getTileSets()) {
+            for (TiledMapTile tile : tileSet) {
+                tilesByGid[tile.getId()] = tile;
+            }
+        }
+
+        map.getLayers().add(buildTileLayer(mapData, tilesByGid, prepared.getTileWidth(), prepared.getTileHeight()));
+        return map;
+    }
+
+    /**
+     * Creates the tile layer from the map data's tile grid.
+     *
+     * @param mapData parsed map data
+     * @param tilesByGid tiles indexed by GID
+     * @param tileWidth tile width in pixels
+     * @param tileHeight tile height in pixels
+     * @return populated tile layer
+     */
+    private TiledMapTileLayer buildTileLayer(MapData mapData, TiledMapTile[] tilesByGid, int tileWidth, int tileHeight) {
+        int width = mapData.getWidth();
+        int height = mapData.getHeight();
+        int[] tiles = mapData.getTiles();
+        TiledMapTileLayer layer = new TiledMapTileLayer(width, height, tileWidth, tileHeight);
+        layer.setName(LAYER_NAME);
+        // Cells are never modified after loading, so every occurrence of a GID shares one cell.
+        IntMap<TiledMapTileLayer.Cell> cellsByGid = new IntMap<>();
+        for (int y = 0; y < height; y++) {
+            int rowOffset = y * width;
+            for (int x = 0; x < width; x++) {
+                int gid = tiles[rowOffset + x];
+                if (gid == 0) {
+                    continue;
+                }
+                TiledMapTileLayer.Cell cell = cellsByGid.get(gid);
+                if (cell == null) {
+                    int tileId = gid & ~MASK_CLEAR;
+                    if (tileId >= tilesByGid.length || tilesByGid[tileId] == null) {
+                        continue;
+                    }
+                    cell = createCell(gid);
+                    cell.setTile(tilesByGid[tileId]);
+                    cellsByGid.put(gid, cell);
+                }
+                layer.setCell(x, y, cell);
+            }
+        }
+        return layer;
+    }
+
+    /**
+     * Creates a cell with the flip and rotation encoded in a GID's flag bits.
+     *
+     * @param gid GID including TMX flip flags
+     * @return a new cell without a tile
+     */
+    private TiledMapTileLayer.Cell createCell(int gid) {
+        boolean flipHorizontally = (gid & FLAG_FLIP_HORIZONTALLY) != 0;
+        boolean flipVertically = (gid & FLAG_FLIP_VERTICALLY) != 0;
+        boolean flipDiagonally = (gid & FLAG_FLIP_DIAGONALLY) != 0;
+        TiledMapTileLayer.Cell cell = new TiledMapTileLayer.Cell();
+        if (flipDiagonally) {
+            if (flipHorizontally && flipVertically) {
+                cell.setFlipHorizontally(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipHorizontally) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            } else if (flipVertically) {
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_90);
+            } else {
+                cell.setFlipVertically(true);
+                cell.setRotation(TiledMapTileLayer.Cell.ROTATE_270);
+            }
+        } else {
+            cell.setFlipHorizontally(flipHorizontally);
+            cell.setFlipVertically(flipVertically);
+        }
+        return cell;
+    }
+
+    /**
+     * Creates a tileset from its resolved {@code <tileset>} element.
+     *
+     * @param element tileset element, already resolved from an external {@code .tsx} source
+     * @param firstGid first GID assigned to the tileset by the template
+     * @param texture uploaded tileset image, or {@code null} if the tileset has none
+     * @return the loaded tileset
+     */
+    private TiledMapTileSet loadTileSet(XmlReader.Element element, int firstGid, Texture texture) {
+        TiledMapTileSet tileSet = new TiledMapTileSet();
+        tileSet.setName(element.getAttribute("name", null));
+        MapProperties properties = tileSet.getProperties();
+        loadProperties(properties, element.getChildByName("properties"));
+        properties.put("firstgid", firstGid);
+
+        XmlReader.Element imageElement = element.getChildByName("image");
+        if (imageElement != null && texture != null) {
+            int tileWidth = element.getIntAttribute("tilewidth", 0);
+            int tileHeight = element.getIntAttribute("tileheight", 0);
+            int spacing = element.getIntAttribute("spacing", 0);
+            int margin = element.getIntAttribute("margin", 0);
+            XmlReader.Element offset = element.getChildByName("tileoffset");
+            int offsetX = offset != null ? offset.getIntAttribute("x", 0) : 0;
+            int offsetY = offset != null ? offset.getIntAttribute("y", 0) : 0;
+            String imageSource = imageElement.getAttribute("source");
+            properties.put("imagesource", imageSource);
+            properties.put("imagewidth", imageElement.getIntAttribute("width", 0));
+            properties.put("imageheight", imageElement.getIntAttribute("height", 0));
+            properties.put("tilewidth", tileWidth);
+            properties.put("tileheight", tileHeight);
+            properties.put("margin", margin);
+            properties.put("spacing", spacing);
+
+            int stopWidth = texture.getWidth() - tileWidth;
+            int stopHeight = texture.getHeight() - tileHeight;
+            int id = firstGid;
+            for (int y = margin; y <= stopHeight; y += tileHeight + spacing) {
+                for (int x = margin; x <= stopWidth; x += tileWidth + spacing) {
+                    StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion(texture, x, y, tileWidth, tileHeight));
+                    tile.setId(id);
+                    tile.setOffsetX(offsetX);
+                    tile.setOffsetY(-offsetY);
+                    tileSet.putTile(id, tile);
+                    id++;
+                }
+            }
+        }
+
+        for (XmlReader.Element tileElement : element.getChildrenByName("tile")) {
+            TiledMapTile tile = tileSet.getTile(firstGid + tileElement.getIntAttribute("id", 0));
+            if (tile == null) {
+                continue;
+            }
+            String type = tileElement.getAttribute("type", null);
+            if (type != null) {
+                tile.getProperties().put("type", type);
+            }
+            loadProperties(tile.getProperties(), tileElement.getChildByName("properties"));
+        }
+        return tileSet;
+    }
+
+    /**
+     * Copies TMX {@code <properties>} into map properties, converting typed values.
+     *
+     * @param properties destination properties
+     * @param element properties element, may be {@code null}
+     */
+    private void loadProperties(MapProperties properties, XmlReader.Element element) {
+        if (element == null) {
+            return;
+        }
+        for (XmlReader.Element property : element.getChildrenByName("property")) {
+            String name = property.getAttribute("name", null);
+            String value = property.getAttribute("value", null);
+            if (value == null) {
+                value = property.getText();
+            }
+            if (name == null || value == null) {
+                continue;
+            }
+            String type = property.getAttribute("type", "string");
+            switch (type) {
+                case "int": properties.put(name, Integer.parseInt(value)); break;
+                case "float": properties.put(name, Float.parseFloat(value)); break;
+                case "bool": properties.put(name, Boolean.parseBoolean(value)); break;
+                default: properties.put(name, value); break;
+            }
+        }
+    }
+
+    /**
+     * Resolves a path relative to the directory of a file.
+     *
+     * @param file file whose directory is the base
+     * @param path relative path, may contain {@code ..} segments
+     * @return resolved file handle
+     */
+    private static FileHandle getRelativeFileHandle(FileHandle file, String path) {
+        FileHandle result = file.parent();
+        for (String token : path.split("[/\\\\]+")) {
+            if (token.equals("..")) {
+                result = result.parent();
+            } else if (!token.isEmpty() && !token.equals(".")) {
+                result = result.child(token);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Template and tilesets parsed off the render thread, with decoded images waiting to become textures.
+     * Textures are uploaded one at a time so the work can be spread over several frames.
+     */
+    public static final class PreparedMap implements Disposable {
+        /** Root element of the template. */
+        private final XmlReader.Element root;
+        /** Resolved tileset elements, in template order. */
+        private final Array<XmlReader.Element> tilesetElements = new Array<>();
+        /** First GID of each tileset. */
+        private final IntArray firstGids = new IntArray();
+        /** Image path of each tileset, {@code null} for tilesets without an image. */
+        private final Array<String> tilesetImages = new Array<>();
+        /** Distinct image paths in upload order. */
+        private final Array<String> imagePaths = new Array<>();
+        /** Decoded images not yet uploaded, keyed by path. */
+        private final ObjectMap<String, Pixmap> pixmaps = new ObjectMap<>();
+        /** Uploaded textures not yet handed to a map, keyed by path. */
+        private final ObjectMap<String, Texture> textures = new ObjectMap<>();
+        /** Number of images uploaded so far. */
+        private int uploaded;
+
+        /**
+         * Creates an empty prepared map for a template.
+         *
+         * @param root root element of the template
+         */
+        private PreparedMap(XmlReader.Element root) {
+            this.root = root;
+        }
+
+        /**
+         * Returns the tile width declared by the template.
+         *
+         * @return tile width in pixels
+         */
+        public int getTileWidth() {
+            return root.getIntAttribute("tilewidth", 32);
+        }
+
+        /**
+         * Returns the tile height declared by the template.
+         *
+         * @return tile height in pixels
+         */
+        public int getTileHeight() {
+            return root.getIntAttribute("tileheight", 32);
+        }
+
+        /**
+         * Returns the number of textures to upload.
+         *
+         * @return texture count
+         */
+        public int getTextureCount() {
+            return imagePaths.size;
+        }
+
+        /**
+         * Returns the number of textures uploaded so far.
+         *
+         * @return uploaded texture count
+         */
+        public int getUploadedCount() {
+            return uploaded;
+        }
+
+        /**
+         * Checks whether every texture has been uploaded.
+         *
+         * @return {@code true} if the map can be assembled
+         */
+        public boolean isUploaded() {
+            return uploaded >= imagePaths.size;
+        }
+
+        /**
+         * Uploads the next decoded image as a texture. Must be called on the render thread.
+         *
+         * @return {@code true} once every texture has been uploaded
+         */
+        public boolean uploadNext() {
+            if (isUploaded()) {
+                return true;
+            }
+            String path = imagePaths.get(uploaded++);
+            Pixmap pixmap = pixmaps.remove(path);
+            Texture texture = new Texture(pixmap);
+            texture.setFilter(Texture.TextureFilter.Nearest, Texture.TextureFilter.Nearest);
+            pixmap.dispose();
+            textures.put(path, texture);
+            return isUploaded();
+        }
+
+        /**
+         * Frees decoded images and any textures not yet handed to a map.
+         */
+        @Override
+        public void dispose() {
+            for (Pixmap pixmap : pixmaps.values()) {
+                pixmap.dispose();
+            }
+            pixmaps.clear();
+            for (Texture texture : textures.values()) {
+                texture.dispose();
+            }
+            textures.clear();
+        }
+    }
+}
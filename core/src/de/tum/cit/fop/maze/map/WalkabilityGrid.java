@@ -0,0 +1,254 @@
+package de.tum.cit.fop.maze.map;
+
+import de.tum.cit.fop.maze.ai.PathRequestScheduler;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per-level walkability flags packed into bitsets, one bit per tile.
+ * <p>
+ * Tiles are indexed row-major by {@code y * width + x} with a bottom-left origin. Bit {@code i} of the
+ * grid lives in word {@code i >>> 6} at position {@code i & 63}. Built once per level and shared by
+ * collision checks, pathfinding and AI, so per-tile checks are a shift and a mask instead of a cell lookup.
+ * Blocking and road bits never change after construction, so path workers may read them while the render
+ * thread does. Traps can be added at runtime with {@link #markTrap(int, int)}, which first waits for the
+ * searches in flight on the workers; every such layer edit bumps {@link #getVersion()}, which tells the
+ * path cache, the cluster graph's edge costs and the chase flow field to drop what they computed from the
+ * old traps. Navigation data built from the grid is stored on it with
+ * {@link #getDerived(Object, Function)}, so it is freed together with the level.
+ */
+public class WalkabilityGrid {
+    /** Map width in tiles. */
+    private final int width;
+    /** Map height in tiles. */
+    private final int height;
+    /** Bits set for tiles that block movement. */
+    private final long[] blocked;
+    /** Bits set for drivable road tiles. */
+    private final long[] road;
+    /** Bits set for tiles holding a trap. */
+    private final long[] trap;
+    /** Number of layer edits since construction. */
+    private volatile int version = 0;
+    /** Data built from this grid, by kind. */
+    private final ConcurrentHashMap<Object, Object> derived = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a grid from packed bitsets.
+     *
+     * @param width map width in tiles
+     * @param height map height in tiles
+     * @param blocked blocking bits, at least {@code wordsFor(width * height)} long
+     * @param road road bits, at least {@code wordsFor(width * height)} long
+     * @param trap trap bits, at least {@code wordsFor(width * height)} long
+     */
+    public WalkabilityGrid(int width, int height, long[] blocked, long[] road, long[] trap) {
+        this.width = width;
+        this.height = height;
+        this.blocked = blocked;
+        this.road = road;
+        this.trap = trap;
+    }
+
+    /**
+     * Builds a grid from parsed map data.
+     *
+     * @param mapData parsed map data
+     * @return a new grid
+     */
+    public static WalkabilityGrid fromMapData(MapData mapData) {
+        int width = mapData.getWidth();
+        int height = mapData.getHeight();
+        int cells = width * height;
+        long[] trap = new long[wordsFor(cells)];
+        for (int i = 0; i < mapData.getSpawnCount(); i++) {
+            int x = mapData.getSpawnX(i);
+            int y = mapData.getSpawnY(i);
+            if (mapData.getSpawnType(i) == MapData.TRAP && x >= 0 && y >= 0 && x < width && y < height) {
+                int cell = y * width + x;
+                trap[cell >>> 6] |= 1L << cell;
+            }
+        }
+        return new WalkabilityGrid(width, height,
+            pack(mapData.getCollision(), cells), pack(mapData.getRoad(), cells), trap);
+    }
+
+    /**
+     * Returns the number of words needed for one bit per cell.
+     *
+     * @param cells number of cells
+     * @return word count
+     */
+    public static int wordsFor(int cells) {
+        return (cells + 63) >>> 6;
+    }
+
+    /**
+     * Returns the grid width.
+     *
+     * @return width in tiles
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the grid height.
+     *
+     * @return height in tiles
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Checks whether a coordinate lies inside the grid.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return {@code true} if inside bounds
+     */
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * Checks whether a tile blocks movement. Tiles outside the grid are not blocked.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return {@code true} if the tile is inside the grid and blocked
+     */
+    public boolean isBlocked(int x, int y) {
+        return inBounds(x, y) && isBlockedIndex(y * width + x);
+    }
+
+    /**
+     * Checks whether a tile can be walked on. Tiles outside the grid are not walkable.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return {@code true} if the tile is inside the grid and not blocked
+     */
+    public boolean isWalkable(int x, int y) {
+        return inBounds(x, y) && !isBlockedIndex(y * width + x);
+    }
+
+    /**
+     * Checks whether a tile is road.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return {@code true} if the tile is inside the grid and road
+     */
+    public boolean isRoad(int x, int y) {
+        return inBounds(x, y) && isRoadIndex(y * width + x);
+    }
+
+    /**
+     * Marks a tile as holding a trap and bumps the layer version. Called on the render thread; waits for
+     * the path searches in flight first, so workers never read the trap bits while they change.
+     *
+     * @param x tile x
+     * @param y tile y
+     */
+    public void markTrap(int x, int y) {
+        if (!inBounds(x, y)) {
+            return;
+        }
+        PathRequestScheduler.getShared().awaitSearches();
+        int cell = y * width + x;
+        trap[cell >>> 6] |= 1L << cell;
+        version++;
+    }
+
+    /**
+     * Returns the layer version, bumped on every edit of the grid.
+     *
+     * @return layer version
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns data built from this grid, building it on first use. Building happens outside any lock, so
+     * the loader worker and the render thread may ask at the same time; if both build, the first result
+     * is kept.
+     *
+     * @param kind key identifying the kind of data
+     * @param builder builds the data for this grid
+     * @param <T> data type
+     * @return stored or newly built data
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getDerived(Object kind, Function<WalkabilityGrid, T> builder) {
+        Object value = derived.get(kind);
+        if (value == null) {
+            value = builder.apply(this);
+            Object existing = derived.putIfAbsent(kind, value);
+            if (existing != null) {
+                value = existing;
+            }
+        }
+        return (T) value;
+    }
+
+    /**
+     * Checks whether a tile holds a trap.
+     *
+     * @param x tile x
+     * @param y tile y
+     * @return {@code true} if the tile is inside the grid and holds a trap
+     */
+    public boolean isTrap(int x, int y) {
+        return inBounds(x, y) && isTrapIndex(y * width + x);
+    }
+
+    /**
+     * Checks the blocking bit of a cell index without bounds checks.
+     *
+     * @param index cell index {@code y * width + x}
+     * @return {@code true} if blocked
+     */
+    public boolean isBlockedIndex(int index) {
+        return (blocked[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Checks the road bit of a cell index without bounds checks.
+     *
+     * @param index cell index {@code y * width + x}
+     * @return {@code true} if road
+     */
+    public boolean isRoadIndex(int index) {
+        return (road[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Checks the trap bit of a cell index without bounds checks.
+     *
+     * @param index cell index {@code y * width + x}
+     * @return {@code true} if a trap is there
+     */
+    public boolean isTrapIndex(int index) {
+        return (trap[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Packs flags into a bitset.
+     *
+     * @param flags flags to pack
+     * @param cells number of flags
+     * @return packed bits
+     */
+    private static long[] pack(boolean[] flags, int cells) {
+        long[] bits = new long[wordsFor(cells)];
+        for (int i = 0; i < cells; i++) {
+            if (flags[i]) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+}
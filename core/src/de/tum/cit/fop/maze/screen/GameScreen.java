@@ -10,8 +10,6 @@
 import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.math.GridPoint2;
 import com.badlogic.gdx.math.MathUtils;
@@ -20,8 +18,18 @@
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import de.tum.cit.fop.maze.MazeRunnerGame;
+import de.tum.cit.fop.maze.ai.PathRequestScheduler;
+import de.tum.cit.fop.maze.entity.ActorRecycler;
+import de.tum.cit.fop.maze.entity.AgentSystem;
+import de.tum.cit.fop.maze.entity.CollisionSystem;
+import de.tum.cit.fop.maze.entity.InterpolatedPosition;
 import de.tum.cit.fop.maze.entity.Player;
+import de.tum.cit.fop.maze.entity.SpatialGrid;
+import de.tum.cit.fop.maze.map.LevelLoader;
+import de.tum.cit.fop.maze.map.LoadedLevel;
+import de.tum.cit.fop.maze.map.MapData;
 import de.tum.cit.fop.maze.map.MapLoader;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 import de.tum.cit.fop.maze.system.*;
 
 import java.util.ArrayList;
@@ -65,13 +73,9 @@ public class GameScreen implements Screen {
      */
     private final TiledMap map;
     /**
-     * Collision layer for movement.
+     * Walkability grid for movement and AI.
      */
-    private final TiledMapTileLayer collisionLayer;
-    /**
-     * Road layer for BMW movement.
-     */
-    private final TiledMapTileLayer roadLayer;
+    private final WalkabilityGrid walkabilityGrid;
     /**
      * Map renderer for tiled map.
      */
@@ -104,6 +108,18 @@ public class GameScreen implements Screen {
      * Map loader for generating layers and entities.
      */
     private final MapLoader mapLoader = new MapLoader();
+    /**
+     * Moves police and BMWs along their paths after each update.
+     */
+    private final AgentSystem agentSystem = new AgentSystem();
+    /**
+     * Finds the map objects touching the player after each update.
+     */
+    private final CollisionSystem collisionSystem = new CollisionSystem();
+    /**
+     * Splits frame time into fixed simulation ticks.
+     */
+    private final SimulationClock simulationClock = new SimulationClock();
     /**
      * HUD overlay.
      */
@@ -128,6 +144,10 @@ public class GameScreen implements Screen {
      * Properties file path for the level.
      */
     private final String propertiesPath;
+    /**
+     * Parsed map data for the level.
+     */
+    private final MapData mapData;
     /**
      * Point manager for scoring.
      */
@@ -155,7 +175,7 @@ public class GameScreen implements Screen {
     /**
      * Base map path.
      */
-    private String mapPath = "Assets_Map/THE_MAP.tmx";
+    private String mapPath;
     /**
      * Current saved game state.
      */
@@ -180,22 +200,34 @@ public GameScreen(MazeRunnerGame game) {
     }
 
     /**
-     * Creates a game screen for a specific level.
+     * Creates a game screen for a specific level, loading it synchronously.
      *
      * @param game  game instance
      * @param level level number
      */
     public GameScreen(MazeRunnerGame game, int level) {
+        this(game, level, LevelLoader.loadNow(LevelLoader.propertiesPathFor(level), LevelLoader.DEFAULT_MAP_PATH));
+    }
+
+    /**
+     * Creates a game screen for a specific level that has already been loaded.
+     *
+     * @param game        game instance
+     * @param level       level number
+     * @param loadedLevel loaded map and layers for the level
+     */
+    public GameScreen(MazeRunnerGame game, int level, LoadedLevel loadedLevel) {
         this.game = game;
         this.hud = new HUD(game);
         this.devConsole = new DevConsole(game);
         this.level = level;
-        this.propertiesPath = toPropertiesPath(level);
+        this.mapPath = loadedLevel.getMapPath();
+        this.propertiesPath = loadedLevel.getPropertiesPath();
+        this.mapData = loadedLevel.getMapData();
         var graphicsManager = game.getGraphicsManager();
         Viewport viewport = new ExtendViewport(WORLD_WIDTH, WORLD_HEIGHT);
         stage = new Stage(viewport, game.getSpriteBatch());
-        String generatedMapPath = buildGeneratedTmx(mapPath, propertiesPath, level);
-        map = new TmxMapLoader().load(String.valueOf(Gdx.files.local(generatedMapPath)));
+        map = loadedLevel.getMap();
         mapRenderer = new OrthogonalTiledMapRenderer(map, 1 / 32f, game.getSpriteBatch());
         fbo = new FrameBuffer(Pixmap.Format.RGBA8888, graphicsManager.getWidth(), graphicsManager.getHeight(), false);
         fboRegion = new TextureRegion(fbo.getColorBufferTexture());
@@ -205,13 +237,14 @@ public GameScreen(MazeRunnerGame game, int level) {
         ((OrthographicCamera) stage.getCamera()).zoom = MIN_ZOOM;
         uiCamera = new OrthographicCamera(graphicsManager.getWidth(), graphicsManager.getHeight());
         pointManager = new PointManager(level);
-        collisionLayer = mapLoader.buildCollisionLayerFromProperties(map, this.propertiesPath);
-        roadLayer = mapLoader.buildRoadLayerFromProperties(map, this.propertiesPath);
-        de.tum.cit.fop.maze.entity.obstacle.BmwEnemy.setRoadLayer(roadLayer);
-        GridPoint2 spawnPoint = mapLoader.findPlayerSpawnFromProperties(this.propertiesPath);
+        walkabilityGrid = loadedLevel.getWalkabilityGrid();
+        SpatialGrid.forLevel(stage, walkabilityGrid);
+        de.tum.cit.fop.maze.entity.obstacle.BmwEnemy.setWalkabilityGrid(walkabilityGrid);
+        PathRequestScheduler.getShared().clear();
+        GridPoint2 spawnPoint = mapLoader.findPlayerSpawn(this.mapData);
         float spawnX = spawnPoint != null ? spawnPoint.x : 78f; // 78 x 46 is the default spawn if there is no spawn place in the map
         float spawnY = spawnPoint != null ? spawnPoint.y : 46f;
-        player = new Player(collisionLayer, spawnX, spawnY, game::goToGameOverScreen);
+        player = new Player(walkabilityGrid, spawnX, spawnY, game::goToGameOverScreen);
         player.setAudioManager(game.getAudioManager());
         player.setDeathCauseListener(game::handlePlayerDeath);
         player.setWorldBounds(WORLD_WIDTH, WORLD_HEIGHT);
@@ -220,30 +253,39 @@ public GameScreen(MazeRunnerGame game, int level) {
         this.driftParticleSystem = new DriftParticleSystem(player, game.getAudioManager());
         stage.addActor(driftParticleSystem);
         devConsole.setPlayer(player);
-        devConsole.setSpawnLayers(collisionLayer, roadLayer);
+        devConsole.setWalkabilityGrid(walkabilityGrid);
         devConsole.addToStage(hud.getStage());
         setDevConsole(game.isDevConsoleEnabled());
 
     }
 
     /**
-     * Creates a game screen from a saved game state.
+     * Creates a game screen from a saved game state, loading its level synchronously.
      *
      * @param game      game instance
      * @param gameState saved state to load
      */
     public GameScreen(MazeRunnerGame game, GameState gameState) {
+        this(game, gameState, LevelLoader.loadNow(LevelLoader.propertiesPathFor(gameState.getLevel()), LevelLoader.mapPathFor(gameState)));
+    }
+
+    /**
+     * Creates a game screen from a saved game state whose level has already been loaded.
+     *
+     * @param game        game instance
+     * @param gameState   saved state to load
+     * @param loadedLevel loaded map and layers for the saved level
+     */
+    public GameScreen(MazeRunnerGame game, GameState gameState, LoadedLevel loadedLevel) {
         this.game = game;
         this.gameState = gameState;
         this.hud = new HUD(game);
         this.devConsole = new DevConsole(game);
-        if (gameState.getMapPath() != null) {
-            this.mapPath = gameState.getMapPath();
-        }
+        this.mapPath = loadedLevel.getMapPath();
         this.level = gameState.getLevel();
-        this.propertiesPath = toPropertiesPath(this.level);
-        String generatedMapPath = buildGeneratedTmx(this.mapPath, this.propertiesPath, this.level);
-        this.map = new TmxMapLoader().load(String.valueOf(Gdx.files.local(generatedMapPath)));
+        this.propertiesPath = loadedLevel.getPropertiesPath();
+        this.mapData = loadedLevel.getMapData();
+        this.map = loadedLevel.getMap();
 
         var graphicsManager = game.getGraphicsManager();
         Viewport viewport = new ExtendViewport(WORLD_WIDTH, WORLD_HEIGHT);
@@ -256,20 +298,21 @@ public GameScreen(MazeRunnerGame game, GameState gameState) {
         combinedShader = new ShaderProgram(Gdx.files.internal("shaders/vertex.glsl"), Gdx.files.internal("shaders/combined.frag"));
         ((OrthographicCamera) stage.getCamera()).zoom = MAX_ZOOM;
         uiCamera = new OrthographicCamera(graphicsManager.getWidth(), graphicsManager.getHeight());
-        collisionLayer = mapLoader.buildCollisionLayerFromProperties(map, this.propertiesPath);
-        roadLayer = mapLoader.buildRoadLayerFromProperties(map, this.propertiesPath);
-        de.tum.cit.fop.maze.entity.obstacle.BmwEnemy.setRoadLayer(roadLayer);
-        GridPoint2 spawnPoint = mapLoader.findPlayerSpawnFromProperties(this.propertiesPath);
+        walkabilityGrid = loadedLevel.getWalkabilityGrid();
+        SpatialGrid.forLevel(stage, walkabilityGrid);
+        de.tum.cit.fop.maze.entity.obstacle.BmwEnemy.setWalkabilityGrid(walkabilityGrid);
+        PathRequestScheduler.getShared().clear();
+        GridPoint2 spawnPoint = mapLoader.findPlayerSpawn(this.mapData);
         float spawnX = spawnPoint != null ? spawnPoint.x : 78f;
         float spawnY = spawnPoint != null ? spawnPoint.y : 46f;
-        player = new Player(collisionLayer, spawnX, spawnY, game::goToGameOverScreen);
+        player = new Player(walkabilityGrid, spawnX, spawnY, game::goToGameOverScreen);
         player.setAudioManager(game.getAudioManager());
         player.setDeathCauseListener(game::handlePlayerDeath);
         player.setWorldBounds(WORLD_WIDTH, WORLD_HEIGHT);
         applyUpgrades();
         applyEarlyLevelFog();
         devConsole.setPlayer(player);
-        devConsole.setSpawnLayers(collisionLayer, roadLayer);
+        devConsole.setWalkabilityGrid(walkabilityGrid);
         devConsole.addToStage(hud.getStage());
         setDevConsole(game.isDevConsoleEnabled());
 
@@ -288,16 +331,6 @@ public GameScreen(MazeRunnerGame game, GameState gameState) {
         ((OrthographicCamera) stage.getCamera()).zoom = MathUtils.clamp(gameState.getCameraZoom(), MIN_ZOOM, MAX_ZOOM);
     }
 
-    /**
-     * Builds a properties path for a level.
-     *
-     * @param levelNumber level number
-     * @return properties file path
-     */
-    private static String toPropertiesPath(int levelNumber) {
-        return String.format("maps/level-%d.properties", levelNumber);
-    }
-
     /**
      * Adjusts camera zoom by the given amount.
      *
@@ -309,20 +342,6 @@ public void adjustZoom(float amount) {
         camera.update();
     }
 
-    /**
-     * Generates a TMX file for the level based on properties.
-     *
-     * @param templateMapPath TMX template path
-     * @param propertiesPath  properties path for tiles
-     * @param level           level number
-     * @return output TMX path
-     */
-    private String buildGeneratedTmx(String templateMapPath, String propertiesPath, int level) {
-        String outputPath = String.format("assets/Assets_Map/generated-level-%d.tmx", level);
-        mapLoader.buildTmxFromProperties(propertiesPath, templateMapPath, outputPath);
-        return outputPath;
-    }
-
     /**
      * Adjusts fog intensity by an amount.
      *
@@ -392,15 +411,29 @@ public void render(float delta) {
 
         if (!paused) {
             applyUpgrades();
-            handleRegen(delta);
-            stage.act(delta);
-            pointManager.act(delta);
+            int ticks = simulationClock.advance(delta);
+            // Once per frame: the budget is per frame, and publishing waits on the workers
+            PathRequestScheduler.getShared().update();
+            for (int i = 0; i < ticks; i++) {
+                float step = simulationClock.getStep();
+                handleRegen(step);
+                stage.act(step);
+                agentSystem.update(stage, step);
+                collisionSystem.update(stage);
+                pointManager.act(step);
+                ActorRecycler.flush();
+            }
+        } else {
+            simulationClock.reset();
         }
         // Doing it through a listener is better, as this happens every frame, but this is easier
         noireMode = player.getHp() <= 1;
 
+        // The camera, the sprites and the fog centre all use the interpolated positions
+        InterpolatedPosition.setAlpha(simulationClock.getAlpha());
         Batch batch = stage.getBatch();
         OrthographicCamera camera = (OrthographicCamera) stage.getCamera();
+        camera.position.set(player.getDrawX() + player.getWidth() / 2f, player.getDrawY() + player.getHeight() / 2f, 0);
 
         float halfViewW = (camera.viewportWidth * camera.zoom) / 2f;
         float halfViewH = (camera.viewportHeight * camera.zoom) / 2f;
@@ -434,7 +467,8 @@ public void render(float delta) {
         batch.setShader(combinedShader);
         batch.begin();
         // Set uniforms for fog
-        combinedShader.setUniformf("u_playerWorldPos", player.getX() + player.getWidth() / 2f, player.getY() + player.getHeight() / 2f);
+        combinedShader.setUniformf("u_playerWorldPos", player.getDrawX() + player.getWidth() / 2f, player.getDrawY() + player.getHeight() / 2f);
+        InterpolatedPosition.setAlpha(1f);
         combinedShader.setUniformf("u_camWorldPos", camera.position.x, camera.position.y);
         combinedShader.setUniformf("u_worldViewSize", viewW, viewH);
         combinedShader.setUniformf("u_radiusWorld", fogIntensity);
@@ -555,7 +589,7 @@ public void show() {
         stage.addActor(player);
 
         if (enemies.isEmpty() && collectibles.isEmpty()) {
-            mapLoader.spawnEntitiesFromProperties(stage, pointManager, collisionLayer, roadLayer, propertiesPath, hud, enemies, collectibles, game::goToVictoryScreen, null, true);
+            mapLoader.spawnEntities(stage, pointManager, walkabilityGrid, mapData, hud, enemies, collectibles, game::goToVictoryScreen, null, true);
         }
 
         if (gameState != null) {
@@ -0,0 +1,153 @@
+package de.tum.cit.fop.maze.screen;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Screen;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.ProgressBar;
+import com.badlogic.gdx.scenes.scene2d.ui.Table;
+import com.badlogic.gdx.utils.viewport.FitViewport;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import de.tum.cit.fop.maze.MazeRunnerGame;
+import de.tum.cit.fop.maze.map.LevelLoader;
+import de.tum.cit.fop.maze.map.LoadedLevel;
+
+/**
+ * Shows loading progress while a level is prepared off the render thread.
+ * Each frame it gives the loader a small time slice for GL uploads, so the window stays responsive.
+ */
+public class LoadingScreen implements Screen {
+    /** Milliseconds of GL upload work allowed per frame. */
+    private static final long UPLOAD_BUDGET_MILLIS = 8;
+    /** Seconds between steps of the animated dots. */
+    private static final float DOT_INTERVAL_SECONDS = 0.4f;
+    /** Text shown above the progress bar. */
+    private static final String LOADING_TEXT = "Loading";
+
+    /**
+     * Receives the level once it has finished loading.
+     */
+    public interface LoadedListener {
+        /**
+         * Called on the render thread when the level is ready.
+         *
+         * @param level the loaded level
+         */
+        void onLoaded(LoadedLevel level);
+    }
+
+    /** Game instance for navigation and resources. */
+    private final MazeRunnerGame game;
+    /** Stage hosting UI elements. */
+    private final Stage stage;
+    /** Loader preparing the level. */
+    private final LevelLoader loader;
+    /** Callback invoked once the level is ready. */
+    private final LoadedListener loadedListener;
+    /** Label with the animated loading text. */
+    private final Label loadingLabel;
+    /** Bar showing load progress. */
+    private final ProgressBar progressBar;
+    /** Elapsed time since the screen was created. */
+    private float elapsed = 0f;
+    /** Whether the level has been handed over. */
+    private boolean finished = false;
+
+    /**
+     * Creates a loading screen for a level whose loader has already been started.
+     *
+     * @param game game instance
+     * @param loader started level loader
+     * @param loadedListener callback invoked once the level is ready
+     */
+    public LoadingScreen(MazeRunnerGame game, LevelLoader loader, LoadedListener loadedListener) {
+        this.game = game;
+        this.loader = loader;
+        this.loadedListener = loadedListener;
+        var graphicsManager = game.getGraphicsManager();
+        var camera = new OrthographicCamera();
+        camera.zoom = 1f;
+
+        Viewport viewport = new FitViewport(graphicsManager.getWidth(), graphicsManager.getHeight(), camera);
+        stage = new Stage(viewport, game.getSpriteBatch());
+
+        Table table = new Table();
+        table.setFillParent(true);
+        stage.addActor(table);
+
+        loadingLabel = new Label(LOADING_TEXT, game.getSkin(), "title");
+        table.add(loadingLabel).padBottom(40).row();
+        progressBar = new ProgressBar(0f, 1f, 0.01f, false, game.getSkin());
+        progressBar.setAnimateDuration(0.1f);
+        table.add(progressBar).width(600).row();
+
+        loader.setProgressListener(progressBar::setValue);
+    }
+
+    /**
+     * Called when the screen becomes active.
+     */
+    @Override
+    public void show() {
+        Gdx.input.setInputProcessor(stage);
+    }
+
+    /**
+     * Advances loading and draws the progress.
+     *
+     * @param delta frame delta time
+     */
+    @Override
+    public void render(float delta) {
+        if (!game.shouldRenderMenuBackground()) {
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+        }
+        if (!finished && loader.update(UPLOAD_BUDGET_MILLIS)) {
+            finished = true;
+            loadedListener.onLoaded(loader.getLevel());
+            // The listener switched screens, this screen is no longer referenced.
+            dispose();
+            return;
+        }
+        elapsed += delta;
+        int dots = (int) (elapsed / DOT_INTERVAL_SECONDS) % 4;
+        loadingLabel.setText(LOADING_TEXT + ".".repeat(dots));
+
+        stage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f));
+        stage.draw();
+    }
+
+    /**
+     * Updates viewport on resize.
+     *
+     * @param width new width
+     * @param height new height
+     */
+    @Override
+    public void resize(int width, int height) {
+        stage.getViewport().update(width, height, true);
+    }
+
+    /**
+     * Disposes the stage and any unfinished load.
+     */
+    @Override
+    public void dispose() {
+        stage.dispose();
+        loader.dispose();
+    }
+
+    @Override
+    public void pause() {
+    }
+
+    @Override
+    public void resume() {
+    }
+
+    @Override
+    public void hide() {
+    }
+}
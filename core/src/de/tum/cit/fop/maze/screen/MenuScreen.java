@@ -5,7 +5,6 @@
 import com.badlogic.gdx.graphics.*;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.math.MathUtils;
@@ -21,11 +20,18 @@
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import de.tum.cit.fop.maze.MazeRunnerGame;
+import de.tum.cit.fop.maze.entity.ActorRecycler;
+import de.tum.cit.fop.maze.entity.AgentSystem;
+import de.tum.cit.fop.maze.entity.CollisionSystem;
 import de.tum.cit.fop.maze.entity.Player;
+import de.tum.cit.fop.maze.entity.SpatialGrid;
+import de.tum.cit.fop.maze.ai.PathRequestScheduler;
 import de.tum.cit.fop.maze.entity.obstacle.BmwEnemy;
 import de.tum.cit.fop.maze.entity.obstacle.Enemy;
 import de.tum.cit.fop.maze.system.AudioManager;
+import de.tum.cit.fop.maze.map.MapData;
 import de.tum.cit.fop.maze.map.MapLoader;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 import de.tum.cit.fop.maze.system.UiUtils;
 
 /**
@@ -52,10 +58,12 @@ public class MenuScreen implements Screen {
     private final Stage backgroundStage;
     /** Stage for vignette overlay. */
     private final Stage vignetteStage;
-    /** Collision layer for background actors. */
-    private final TiledMapTileLayer collisionLayer;
-    /** Road layer for background BMWs. */
-    private final TiledMapTileLayer roadLayer;
+    /** Moves police and BMWs along their paths after each update. */
+    private final AgentSystem agentSystem = new AgentSystem();
+    /** Finds the background objects touching the dummy player after each update. */
+    private final CollisionSystem collisionSystem = new CollisionSystem();
+    /** Walkability grid for background actors and BMWs. */
+    private final WalkabilityGrid walkabilityGrid;
     /** Background camera viewport height. */
     private static final float BACKGROUND_VIEW_HEIGHT = 100f;
     /** Background camera X offset. */
@@ -81,21 +89,21 @@ public MenuScreen(MazeRunnerGame game) {
         mapLoader = new MapLoader();
         String propertiesPath = "maps/level-6.properties";
         String templateMapPath = "Assets_Map/THE_MAP.tmx";
-        String outputPath = "assets/Assets_Map/generated-menu-level-6.tmx";
-        mapLoader.buildTmxFromProperties(propertiesPath, templateMapPath, outputPath);
-        backgroundMap = new TmxMapLoader().load(String.valueOf(Gdx.files.local(outputPath)));
+        MapData mapData = mapLoader.loadMapData(propertiesPath);
+        backgroundMap = mapLoader.buildTiledMap(mapData, templateMapPath);
         backgroundRenderer = new OrthogonalTiledMapRenderer(backgroundMap, 1 / 32f, game.getSpriteBatch());
         backgroundCamera = new OrthographicCamera();
         updateBackgroundCamera(graphicsManager.getWidth(), graphicsManager.getHeight());
         centerBackgroundCamera();
         backgroundStage = new Stage(new FitViewport(backgroundCamera.viewportWidth, backgroundCamera.viewportHeight, backgroundCamera), game.getSpriteBatch());
-        collisionLayer = mapLoader.buildCollisionLayerFromProperties(backgroundMap, propertiesPath);
-        roadLayer = mapLoader.buildRoadLayerFromProperties(backgroundMap, propertiesPath);
-        BmwEnemy.setRoadLayer(roadLayer);
-        MenuDummyPlayer dummyPlayer = new MenuDummyPlayer(collisionLayer, 0f, 0f);
+        walkabilityGrid = WalkabilityGrid.fromMapData(mapData);
+        SpatialGrid.forLevel(backgroundStage, walkabilityGrid);
+        BmwEnemy.setWalkabilityGrid(walkabilityGrid);
+        PathRequestScheduler.getShared().clear();
+        MenuDummyPlayer dummyPlayer = new MenuDummyPlayer(walkabilityGrid, 0f, 0f);
         backgroundStage.addActor(dummyPlayer);
         centerDummyPlayer(dummyPlayer);
-        Enemy.spawnRandomEnemies(dummyPlayer, backgroundStage, collisionLayer, 400);
+        Enemy.spawnRandomEnemies(dummyPlayer, backgroundStage, walkabilityGrid, 400);
         BmwEnemy.spawnRandomBmws(dummyPlayer, backgroundStage, 600);
 
         vignetteTexture = UiUtils.buildVignetteTexture(512, 512, 0.9f);
@@ -301,7 +309,12 @@ public void renderBackground(float delta) {
         centerBackgroundCamera();
         backgroundRenderer.setView(backgroundCamera);
         backgroundRenderer.render();
-        backgroundStage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f));
+        PathRequestScheduler.getShared().update();
+        float backgroundDelta = Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f);
+        backgroundStage.act(backgroundDelta);
+        agentSystem.update(backgroundStage, backgroundDelta);
+        collisionSystem.update(backgroundStage);
+        ActorRecycler.flush();
         backgroundStage.draw();
         vignetteStage.act(Math.min(Gdx.graphics.getDeltaTime(), 1 / 30f));
         vignetteStage.draw();
@@ -353,12 +366,12 @@ private static class MenuDummyPlayer extends Player {
         /**
          * Creates a dummy player for background animations.
          *
-         * @param collisionLayer collision layer for movement checks
+         * @param walkabilityGrid walkability grid for movement checks
          * @param x start x
          * @param y start y
          */
-        public MenuDummyPlayer(TiledMapTileLayer collisionLayer, float x, float y) {
-            super(collisionLayer, x, y, null);
+        public MenuDummyPlayer(WalkabilityGrid walkabilityGrid, float x, float y) {
+            super(walkabilityGrid, x, y, null);
             setVisible(false);
             setSize(0f, 0f);
         }
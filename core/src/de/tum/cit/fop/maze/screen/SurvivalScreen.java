@@ -11,22 +11,30 @@
 import com.badlogic.gdx.graphics.glutils.FrameBuffer;
 import com.badlogic.gdx.graphics.glutils.ShaderProgram;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
-import com.badlogic.gdx.maps.tiled.TmxMapLoader;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.math.GridPoint2;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
-import com.badlogic.gdx.scenes.scene2d.Actor;
 import com.badlogic.gdx.scenes.scene2d.Stage;
 import com.badlogic.gdx.utils.ScreenUtils;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
 import de.tum.cit.fop.maze.MazeRunnerGame;
+import de.tum.cit.fop.maze.ai.PathRequestScheduler;
+import de.tum.cit.fop.maze.entity.ActorRecycler;
+import de.tum.cit.fop.maze.entity.AgentSystem;
+import de.tum.cit.fop.maze.entity.CollisionSystem;
+import de.tum.cit.fop.maze.entity.InterpolatedPosition;
+import de.tum.cit.fop.maze.entity.FreeTileIndex;
 import de.tum.cit.fop.maze.entity.Player;
+import de.tum.cit.fop.maze.entity.SpatialGrid;
 import de.tum.cit.fop.maze.entity.obstacle.BmwEnemy;
 import de.tum.cit.fop.maze.entity.obstacle.Enemy;
+import de.tum.cit.fop.maze.map.LevelLoader;
+import de.tum.cit.fop.maze.map.LoadedLevel;
+import de.tum.cit.fop.maze.map.MapData;
 import de.tum.cit.fop.maze.map.MapLoader;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 import de.tum.cit.fop.maze.system.*;
 
 import java.util.ArrayList;
@@ -52,14 +60,6 @@ public class SurvivalScreen implements Screen {
      * Points awarded when regen triggers at full health.
      */
     private static final int REGEN_POINTS_ON_FULL = 100;
-    /**
-     * BMW spawn interval seconds.
-     */
-    private static final float BMW_SPAWN_INTERVAL_SECONDS = 8f;
-    /**
-     * Hard cap for policemen in endless mode, so that there is always a chance to beat the game and so that the game doesnt lag out
-     */
-    private static final int MAX_POLICEMEN = 20;
     /**
      * Initial delivery time limit.
      */
@@ -89,13 +89,9 @@ public class SurvivalScreen implements Screen {
      */
     private final TiledMap map;
     /**
-     * Collision layer for movement.
+     * Walkability grid for movement and AI.
      */
-    private final TiledMapTileLayer collisionLayer;
-    /**
-     * Road layer for BMW movement.
-     */
-    private final TiledMapTileLayer roadLayer;
+    private final WalkabilityGrid walkabilityGrid;
     /**
      * Map renderer for tiled map.
      */
@@ -128,6 +124,18 @@ public class SurvivalScreen implements Screen {
      * Map loader for generating layers and entities.
      */
     private final MapLoader mapLoader = new MapLoader();
+    /**
+     * Moves police and BMWs along their paths after each update.
+     */
+    private final AgentSystem agentSystem = new AgentSystem();
+    /**
+     * Finds the map objects touching the player after each update.
+     */
+    private final CollisionSystem collisionSystem = new CollisionSystem();
+    /**
+     * Splits frame time into fixed simulation ticks.
+     */
+    private final SimulationClock simulationClock = new SimulationClock();
     /**
      * HUD overlay.
      */
@@ -199,7 +207,7 @@ public class SurvivalScreen implements Screen {
     /**
      * Base map path.
      */
-    private String mapPath = "Assets_Map/THE_MAP.tmx";
+    private String mapPath;
     /**
      * Level number (0 for survival).
      */
@@ -208,6 +216,10 @@ public class SurvivalScreen implements Screen {
      * Properties file path for the level.
      */
     private final String propertiesPath;
+    /**
+     * Parsed map data for the level.
+     */
+    private final MapData mapData;
     /**
      * Current saved game state.
      */
@@ -220,10 +232,6 @@ public class SurvivalScreen implements Screen {
      * Regen timer accumulator.
      */
     private float regenTimer = 0f;
-    /**
-     * BMW spawn timer accumulator.
-     */
-    private float bmwSpawnTimer = 0f;
     /**
      * Current delivery time limit.
      */
@@ -237,32 +245,39 @@ public class SurvivalScreen implements Screen {
      */
     private boolean deliveryTimerActive = false;
     /**
-     * Spawn timing counter.
-     */
-    private int Delta = 0;
-    /**
-     * Spawn timing multiplier.
+     * Spawns police and BMWs.
      */
-    private float Adder = 1;
+    private final SurvivalSpawner spawner = new SurvivalSpawner();
     private int autosaveTimer = 0;
 
     /**
-     * Creates a new survival screen with a fresh state.
+     * Creates a new survival screen with a fresh state, loading the endless level synchronously.
      *
      * @param game game instance
      */
     public SurvivalScreen(MazeRunnerGame game) {
+        this(game, LevelLoader.loadNow(LevelLoader.propertiesPathFor(0), LevelLoader.DEFAULT_MAP_PATH));
+    }
+
+    /**
+     * Creates a new survival screen with a fresh state on an already loaded level.
+     *
+     * @param game        game instance
+     * @param loadedLevel loaded map and layers for the endless level
+     */
+    public SurvivalScreen(MazeRunnerGame game, LoadedLevel loadedLevel) {
         this.game = game;
         this.hud = new HUD(game);
         this.devConsole = new DevConsole(game);
         this.hud.setShowLevel(false);
         this.level = 0;
-        this.propertiesPath = toPropertiesPath(level);
+        this.mapPath = loadedLevel.getMapPath();
+        this.propertiesPath = loadedLevel.getPropertiesPath();
+        this.mapData = loadedLevel.getMapData();
         var graphicsManager = game.getGraphicsManager();
         Viewport viewport = new ExtendViewport(WORLD_WIDTH, WORLD_HEIGHT);
         stage = new Stage(viewport, game.getSpriteBatch());
-        String generatedMapPath = buildGeneratedTmx(mapPath, propertiesPath, level);
-        map = new TmxMapLoader().load(String.valueOf(Gdx.files.local(generatedMapPath)));
+        map = loadedLevel.getMap();
         mapRenderer = new OrthogonalTiledMapRenderer(map, 1 / 32f, game.getSpriteBatch());
         fbo = new FrameBuffer(Pixmap.Format.RGBA8888, graphicsManager.getWidth(), graphicsManager.getHeight(), false);
         fboRegion = new TextureRegion(fbo.getColorBufferTexture());
@@ -279,14 +294,15 @@ public SurvivalScreen(MazeRunnerGame game) {
         uiCamera = new OrthographicCamera(graphicsManager.getWidth(), graphicsManager.getHeight());
         pointManager = new PointManager(level);
 
-        collisionLayer = mapLoader.buildCollisionLayerFromProperties(map, this.propertiesPath);
-        roadLayer = mapLoader.buildRoadLayerFromProperties(map, this.propertiesPath);
-        de.tum.cit.fop.maze.entity.obstacle.BmwEnemy.setRoadLayer(roadLayer);
+        walkabilityGrid = loadedLevel.getWalkabilityGrid();
+        SpatialGrid.forLevel(stage, walkabilityGrid);
+        de.tum.cit.fop.maze.entity.obstacle.BmwEnemy.setWalkabilityGrid(walkabilityGrid);
+        PathRequestScheduler.getShared().clear();
 
-        GridPoint2 spawnPoint = mapLoader.findPlayerSpawnFromProperties(this.propertiesPath);
+        GridPoint2 spawnPoint = mapLoader.findPlayerSpawn(this.mapData);
         float spawnX = spawnPoint != null ? spawnPoint.x : 78f;
         float spawnY = spawnPoint != null ? spawnPoint.y : 46f;
-        player = new Player(collisionLayer, spawnX, spawnY, game::goToGameOverScreen);
+        player = new Player(walkabilityGrid, spawnX, spawnY, game::goToGameOverScreen);
         player.setAudioManager(game.getAudioManager());
         player.setDeathCauseListener(game::handlePlayerDeath);
 
@@ -295,30 +311,39 @@ public SurvivalScreen(MazeRunnerGame game) {
         this.driftParticleSystem = new DriftParticleSystem(player, game.getAudioManager());
         stage.addActor(driftParticleSystem);
         devConsole.setPlayer(player);
-        devConsole.setSpawnLayers(collisionLayer, roadLayer);
+        devConsole.setWalkabilityGrid(walkabilityGrid);
         devConsole.addToStage(hud.getStage());
         setDevConsole(game.isDevConsoleEnabled());
     }
 
     /**
-     * Creates a survival screen from a saved game state.
+     * Creates a survival screen from a saved game state, loading its level synchronously.
      *
      * @param game      game instance
      * @param gameState saved state to load
      */
     public SurvivalScreen(MazeRunnerGame game, GameState gameState) {
+        this(game, gameState, LevelLoader.loadNow(LevelLoader.propertiesPathFor(gameState.getLevel()), LevelLoader.mapPathFor(gameState)));
+    }
+
+    /**
+     * Creates a survival screen from a saved game state whose level has already been loaded.
+     *
+     * @param game        game instance
+     * @param gameState   saved state to load
+     * @param loadedLevel loaded map and layers for the saved level
+     */
+    public SurvivalScreen(MazeRunnerGame game, GameState gameState, LoadedLevel loadedLevel) {
         this.game = game;
         this.gameState = gameState;
         this.hud = new HUD(game);
         this.devConsole = new DevConsole(game);
         this.hud.setShowLevel(false);
-        if (gameState.getMapPath() != null) {
-            this.mapPath = gameState.getMapPath();
-        }
+        this.mapPath = loadedLevel.getMapPath();
         this.level = gameState.getLevel();
-        this.propertiesPath = toPropertiesPath(this.level);
-        String generatedMapPath = buildGeneratedTmx(this.mapPath, this.propertiesPath, this.level);
-        this.map = new TmxMapLoader().load(String.valueOf(Gdx.files.local(generatedMapPath)));
+        this.propertiesPath = loadedLevel.getPropertiesPath();
+        this.mapData = loadedLevel.getMapData();
+        this.map = loadedLevel.getMap();
 
         var graphicsManager = game.getGraphicsManager();
         Viewport viewport = new ExtendViewport(WORLD_WIDTH, WORLD_HEIGHT);
@@ -336,19 +361,20 @@ public SurvivalScreen(MazeRunnerGame game, GameState gameState) {
         combinedShader = new ShaderProgram(Gdx.files.internal("shaders/vertex.glsl"), Gdx.files.internal("shaders/combined.frag"));
         ((OrthographicCamera) stage.getCamera()).zoom = MAX_ZOOM;
         uiCamera = new OrthographicCamera(graphicsManager.getWidth(), graphicsManager.getHeight());
-        collisionLayer = mapLoader.buildCollisionLayerFromProperties(map, this.propertiesPath);
-        roadLayer = mapLoader.buildRoadLayerFromProperties(map, this.propertiesPath);
-        BmwEnemy.setRoadLayer(roadLayer);
-        GridPoint2 spawnPoint = mapLoader.findPlayerSpawnFromProperties(this.propertiesPath);
+        walkabilityGrid = loadedLevel.getWalkabilityGrid();
+        SpatialGrid.forLevel(stage, walkabilityGrid);
+        BmwEnemy.setWalkabilityGrid(walkabilityGrid);
+        PathRequestScheduler.getShared().clear();
+        GridPoint2 spawnPoint = mapLoader.findPlayerSpawn(this.mapData);
         float spawnX = spawnPoint != null ? spawnPoint.x : 78f;
         float spawnY = spawnPoint != null ? spawnPoint.y : 46f;
-        player = new Player(collisionLayer, spawnX, spawnY, game::goToGameOverScreen);
+        player = new Player(walkabilityGrid, spawnX, spawnY, game::goToGameOverScreen);
         player.setAudioManager(game.getAudioManager());
         player.setDeathCauseListener(game::handlePlayerDeath);
         player.setWorldBounds(WORLD_WIDTH, WORLD_HEIGHT);
         applyUpgrades();
         devConsole.setPlayer(player);
-        devConsole.setSpawnLayers(collisionLayer, roadLayer);
+        devConsole.setWalkabilityGrid(walkabilityGrid);
         devConsole.addToStage(hud.getStage());
         setDevConsole(game.isDevConsoleEnabled());
 
@@ -367,36 +393,6 @@ public SurvivalScreen(MazeRunnerGame game, GameState gameState) {
         ((OrthographicCamera) stage.getCamera()).zoom = MathUtils.clamp(gameState.getCameraZoom(), MIN_ZOOM, MAX_ZOOM);
     }
 
-    /**
-     * Builds a properties path for a level.
-     *
-     * @param levelNumber level number
-     * @return properties file path
-     */
-    private static String toPropertiesPath(int levelNumber) {
-        return String.format("maps/level-%d.properties", levelNumber);
-    }
-
-    /**
-     * Collects all walkable tiles from the collision layer.
-     *
-     * @param collisionLayer collision layer to scan
-     * @return list of walkable tile coordinates
-     */
-    private static List<GridPoint2> collectWalkableTiles(TiledMapTileLayer collisionLayer) {
-        List<GridPoint2> tiles = new ArrayList<>();
-        int width = collisionLayer.getWidth();
-        int height = collisionLayer.getHeight();
-        for (int x = 0; x < width; x++) {
-            for (int y = 0; y < height; y++) {
-                if (collisionLayer.getCell(x, y) == null) {
-                    tiles.add(new GridPoint2(x, y));
-                }
-            }
-        }
-        return tiles;
-    }
-
     /**
      * Checks whether spawning at a tile would collide with existing actors.
      *
@@ -409,14 +405,7 @@ private static boolean wouldCollideAt(Stage stage, float x, float y) {
         if (stage == null) {
             return true;
         }
-        Rectangle spawnBounds = new Rectangle(x, y, 1f, 1f);
-        for (Actor actor : stage.getActors()) {
-            Rectangle actorBounds = new Rectangle(actor.getX(), actor.getY(), actor.getWidth(), actor.getHeight());
-            if (spawnBounds.overlaps(actorBounds)) {
-                return true;
-            }
-        }
-        return false;
+        return SpatialGrid.forStage(stage).overlapsAny(x, y, 1f, 1f);
     }
 
     /**
@@ -433,20 +422,6 @@ public void adjustZoom(float amount) {
     // If I have more time ill make it, so this isn't polled every frame (the original idea was to make it fired in the upgrade classes),
     // But for now this also works
 
-    /**
-     * Generates a TMX file for the level based on properties.
-     *
-     * @param templateMapPath TMX template path
-     * @param propertiesPath  properties path for tiles
-     * @param level           level number
-     * @return output TMX path
-     */
-    private String buildGeneratedTmx(String templateMapPath, String propertiesPath, int level) {
-        String outputPath = String.format("assets/Assets_Map/generated-survival-level-%d.tmx", level);
-        mapLoader.buildTmxFromProperties(propertiesPath, templateMapPath, outputPath);
-        return outputPath;
-    }
-
     /**
      * Adjusts fog intensity by an amount.
      *
@@ -503,31 +478,28 @@ private void applyUpgrades() {
      */
     @Override
     public void render(float delta) {
-        Adder *= 1.0003;
-        Delta += Adder;
-
         ensureKeyAndExit();
 
-        enemies.removeIf(enemy -> enemy.getStage() == null);
-        while (Delta >= 80) {
-            Delta = -80;
-            int remainingSlots = MAX_POLICEMEN - enemies.size();
-            if (remainingSlots <= 0) {
-                break;
-            }
-            Enemy.spawnRandomEnemies(player, stage, collisionLayer, Math.min(1, remainingSlots), getCameraViewBounds(), enemies);
-        }
-
-
         hud.setShopButtonVisible(false);
 
         if (!paused) {
             applyUpgrades();
-            handleRegen(delta);
-            handleBmwSpawns(delta);
-            handleDeliveryTimer(delta);
-            stage.act(delta);
-            pointManager.act(delta);
+            int ticks = simulationClock.advance(delta);
+            // Once per frame: the budget is per frame, and publishing waits on the workers
+            PathRequestScheduler.getShared().update();
+            for (int i = 0; i < ticks; i++) {
+                float step = simulationClock.getStep();
+                spawner.update(step, player, stage, walkabilityGrid, enemies, getCameraViewBounds());
+                handleRegen(step);
+                handleDeliveryTimer(step);
+                stage.act(step);
+                agentSystem.update(stage, step);
+                collisionSystem.update(stage);
+                pointManager.act(step);
+                ActorRecycler.flush();
+            }
+        } else {
+            simulationClock.reset();
         }
         if (keyPreviewVisible) {
             renderKeyPreview(keyPreviewCenterX, keyPreviewCenterY);
@@ -538,8 +510,11 @@ public void render(float delta) {
         // Doing it through a listener is better, as this happens every frame, but this is easier
         noireMode = player.getHp() <= 1;
 
+        // The camera, the sprites and the fog centre all use the interpolated positions
+        InterpolatedPosition.setAlpha(simulationClock.getAlpha());
         Batch batch = stage.getBatch();
         OrthographicCamera camera = (OrthographicCamera) stage.getCamera();
+        camera.position.set(player.getDrawX() + player.getWidth() / 2f, player.getDrawY() + player.getHeight() / 2f, 0);
 
         float halfViewW = (camera.viewportWidth * camera.zoom) / 2f;
         float halfViewH = (camera.viewportHeight * camera.zoom) / 2f;
@@ -573,7 +548,8 @@ public void render(float delta) {
         batch.setShader(combinedShader);
         batch.begin();
         // Set uniforms for fog
-        combinedShader.setUniformf("u_playerWorldPos", player.getX() + player.getWidth() / 2f, player.getY() + player.getHeight() / 2f);
+        combinedShader.setUniformf("u_playerWorldPos", player.getDrawX() + player.getWidth() / 2f, player.getDrawY() + player.getHeight() / 2f);
+        InterpolatedPosition.setAlpha(1f);
         combinedShader.setUniformf("u_camWorldPos", camera.position.x, camera.position.y);
         combinedShader.setUniformf("u_worldViewSize", viewW, viewH);
         combinedShader.setUniformf("u_radiusWorld", fogIntensity);
@@ -686,7 +662,7 @@ public void show() {
         stage.addActor(player);
 
         if (enemies.isEmpty() && collectibles.isEmpty()) {
-            mapLoader.spawnEntitiesFromProperties(stage, pointManager, collisionLayer, roadLayer, propertiesPath, hud, enemies, collectibles, null, this::handleEndlessVictory, false);
+            mapLoader.spawnEntities(stage, pointManager, walkabilityGrid, mapData, hud, enemies, collectibles, null, this::handleEndlessVictory, false);
             collectibles.removeIf(collectible -> {
                 if (collectible instanceof de.tum.cit.fop.maze.entity.collectible.ExitDoor) {
                     collectible.remove();
@@ -805,19 +781,6 @@ private void handleRegen(float delta) {
         }
     }
 
-    /**
-     * Spawns BMW enemies at intervals.
-     *
-     * @param delta frame delta time
-     */
-    private void handleBmwSpawns(float delta) {
-        bmwSpawnTimer += delta;
-        if (bmwSpawnTimer >= BMW_SPAWN_INTERVAL_SECONDS) {
-            bmwSpawnTimer = 0f;
-            BmwEnemy.spawnRandomBmws(player, stage, 1, getCameraViewBounds());
-        }
-    }
-
     /**
      * Updates delivery timer and handles timeout death.
      *
@@ -896,7 +859,19 @@ private float computeNextDeliveryTimeLimit() {
      * Ensures that key and drop-off collectibles exist.
      */
     private void ensureKeyAndExit() {
-        collectibles.removeIf(collectible -> collectible.getPickedUp() && collectible.getStage() == null);
+        // Collected keys and drop-offs go back to their pools for the next deliveries
+        for (int i = collectibles.size() - 1; i >= 0; i--) {
+            de.tum.cit.fop.maze.entity.collectible.Collectible collectible = collectibles.get(i);
+            if (!collectible.getPickedUp() || collectible.getStage() != null) {
+                continue;
+            }
+            collectibles.remove(i);
+            if (collectible instanceof de.tum.cit.fop.maze.entity.collectible.Key key) {
+                de.tum.cit.fop.maze.entity.collectible.Key.free(key);
+            } else if (collectible instanceof de.tum.cit.fop.maze.entity.collectible.DropOff dropOff) {
+                de.tum.cit.fop.maze.entity.collectible.DropOff.free(dropOff);
+            }
+        }
         boolean hasKeyActor = false;
         boolean hasDropOffActor = false;
         for (de.tum.cit.fop.maze.entity.collectible.Collectible collectible : collectibles) {
@@ -929,7 +904,7 @@ private void spawnKeyAtRandomTile() {
         if (tile == null) {
             return;
         }
-        de.tum.cit.fop.maze.entity.collectible.Key key = new de.tum.cit.fop.maze.entity.collectible.Key(tile.x, tile.y, pointManager);
+        de.tum.cit.fop.maze.entity.collectible.Key key = de.tum.cit.fop.maze.entity.collectible.Key.obtain(tile.x, tile.y, pointManager);
         stage.addActor(key);
         collectibles.add(key);
         triggerKeyPreview(tile.x + 0.5f, tile.y + 0.5f);
@@ -943,7 +918,7 @@ private void spawnDropOffAtRandomTile() {
         if (tile == null) {
             return;
         }
-        de.tum.cit.fop.maze.entity.collectible.DropOff dropOff = new de.tum.cit.fop.maze.entity.collectible.DropOff(tile.x, tile.y, pointManager, this::handleEndlessVictory, false);
+        de.tum.cit.fop.maze.entity.collectible.DropOff dropOff = de.tum.cit.fop.maze.entity.collectible.DropOff.obtain(tile.x, tile.y, pointManager, this::handleEndlessVictory, false);
         stage.addActor(dropOff);
         collectibles.add(dropOff);
         triggerKeyPreview(tile.x + 0.5f, tile.y + 0.5f);
@@ -955,16 +930,17 @@ private void spawnDropOffAtRandomTile() {
      * @return tile position or {@code null} if none found
      */
     private GridPoint2 pickSpawnTile() {
-        List<GridPoint2> walkableTiles = collectWalkableTiles(collisionLayer);
-        if (walkableTiles.isEmpty()) {
-            return null;
-        }
-        int attempts = Math.min(200, walkableTiles.size());
-        for (int i = 0; i < attempts; i++) {
-            int index = MathUtils.random(walkableTiles.size() - 1);
-            GridPoint2 target = walkableTiles.get(index);
-            if (!wouldCollideAt(stage, target.x, target.y)) {
-                return target;
+        FreeTileIndex freeTiles = SpatialGrid.forStage(stage).getFreeTiles(walkabilityGrid);
+        int width = walkabilityGrid.getWidth();
+        for (int i = 0; i < 200; i++) {
+            int cell = freeTiles.randomFreeCell();
+            if (cell < 0) {
+                return null;
+            }
+            int x = cell % width;
+            int y = cell / width;
+            if (!wouldCollideAt(stage, x, y)) {
+                return new GridPoint2(x, y);
             }
         }
         return null;
@@ -26,6 +26,8 @@ public final class AchievementManager {
     private static boolean initialized = false;
     /** Popup screen for achievement notifications. */
     private static AchievementPopupScreen popupScreen;
+    /** Whether progress is ignored, e.g. while a headless simulation runs. */
+    private static boolean suspended = false;
 
     // The AchievementManager isnt tied to a game or a screen, its initialized upon the start of the gamea and always the same one
     /**
@@ -73,6 +75,9 @@ public static Achievement getAchievement(String id) {
      * @param amount amount to add to the progress
      */
     public static void incrementProgress(String id, int amount) {
+        if (suspended) {
+            return;
+        }
         init();
         Achievement achievement = ACHIEVEMENTS.get(id);
         if (achievement == null) {
@@ -98,6 +103,15 @@ public static void resetAll() {
         save();
     }
 
+    /**
+     * Suspends or resumes progress tracking. Simulated games must not unlock the player's achievements.
+     *
+     * @param suspended {@code true} to ignore progress
+     */
+    public static void setSuspended(boolean suspended) {
+        AchievementManager.suspended = suspended;
+    }
+
     /**
      * Sets the popup screen used to display achievement notifications.
      *
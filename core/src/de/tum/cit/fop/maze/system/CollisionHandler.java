@@ -1,23 +1,23 @@
 package de.tum.cit.fop.maze.system;
 
-import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import de.tum.cit.fop.maze.entity.Player;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
 
 /**
- * Handles collision checks against a tile collision layer.
+ * Handles collision checks against the level walkability grid.
  */
 public class CollisionHandler {
 
-    /** Tile layer containing collision cells. */
-    private final TiledMapTileLayer collisionLayer;
+    /** Walkability grid containing blocking tiles. */
+    private final WalkabilityGrid walkabilityGrid;
 
     /**
-     * Creates a collision handler for the given tile layer.
+     * Creates a collision handler for the given walkability grid.
      *
-     * @param collisionLayer tile layer used to test collisions
+     * @param walkabilityGrid grid used to test collisions
      */
-    public CollisionHandler(TiledMapTileLayer collisionLayer) {
-        this.collisionLayer = collisionLayer;
+    public CollisionHandler(WalkabilityGrid walkabilityGrid) {
+        this.walkabilityGrid = walkabilityGrid;
     }
 
     /**
@@ -29,8 +29,7 @@ public CollisionHandler(TiledMapTileLayer collisionLayer) {
      */
     private boolean isSolid(int x, int y) {
         if (x < 0 || y < 0) return true; // Treat out of bounds as solid
-        TiledMapTileLayer.Cell cell = collisionLayer.getCell(x, y);
-        return cell != null;
+        return walkabilityGrid.isBlocked(x, y);
     }
 
     /**
@@ -33,10 +33,8 @@ public class DevConsole {
     private boolean visible = false;
     /** Player instance for commands that affect the player. */
     private de.tum.cit.fop.maze.entity.Player player;
-    /** Collision layer used for enemy spawning. */
-    private com.badlogic.gdx.maps.tiled.TiledMapTileLayer collisionLayer;
-    /** Road layer used for BMW enemy spawning. */
-    private com.badlogic.gdx.maps.tiled.TiledMapTileLayer roadLayer;
+    /** Walkability grid used for enemy and BMW enemy spawning. */
+    private de.tum.cit.fop.maze.map.WalkabilityGrid walkabilityGrid;
     /** Whether the next typed character should be ignored. */
     private boolean ignoreNextTyped = false;
 
@@ -114,15 +112,12 @@ public void setPlayer(de.tum.cit.fop.maze.entity.Player player) {
     }
 
     /**
-     * Sets layers used for spawning entities.
+     * Sets the walkability grid used for spawning entities.
      *
-     * @param collisionLayer collision layer for enemy spawns
-     * @param roadLayer road layer for BMW spawns
+     * @param walkabilityGrid walkability grid for enemy and BMW spawns
      */
-    public void setSpawnLayers(com.badlogic.gdx.maps.tiled.TiledMapTileLayer collisionLayer,
-                               com.badlogic.gdx.maps.tiled.TiledMapTileLayer roadLayer) {
-        this.collisionLayer = collisionLayer;
-        this.roadLayer = roadLayer;
+    public void setWalkabilityGrid(de.tum.cit.fop.maze.map.WalkabilityGrid walkabilityGrid) {
+        this.walkabilityGrid = walkabilityGrid;
     }
 
     /**
@@ -206,7 +201,7 @@ private void execute(String raw) {
         String cmd = parts[0].toLowerCase();
 
         switch (cmd) {
-            case "help" -> appendLine("Commands: help, tp <x> <y>, speed <multiplier>, sethp <hp>, setmaxhp <hp>, setcredits <points>, openshop, godmode [on|off], giveenergydrink, givekey, spawn <enemy|trap|bmwdriver> <x> <y>, spawnbmws <amount>, spawnenemies <amount>, whereami");
+            case "help" -> appendLine("Commands: help, tp <x> <y>, speed <multiplier>, sethp <hp>, setmaxhp <hp>, setcredits <points>, openshop, godmode [on|off], giveenergydrink, givekey, spawn <enemy|trap|bmwdriver> <x> <y>, spawnbmws <amount>, spawnenemies <amount>, pathbudget [micros], pathworkers [threads], pathcache [reset], whereami");
             case "tp" -> {
                 if (parts.length < 3) {
                     appendLine("Usage: tp <x> <y>");
@@ -332,6 +327,48 @@ private void execute(String raw) {
                     }
                 }
             }
+            case "pathbudget" -> {
+                de.tum.cit.fop.maze.ai.PathRequestScheduler scheduler = de.tum.cit.fop.maze.ai.PathRequestScheduler.getShared();
+                try {
+                    if (parts.length >= 2) {
+                        scheduler.setBudgetMicros(Long.parseLong(parts[1]));
+                    }
+                    appendLine("path budget " + scheduler.getBudgetMicros() + " us/frame, " + scheduler.getPendingCount() + " waiting");
+                } catch (NumberFormatException ex) {
+                    appendLine("Invalid command.");
+                }
+            }
+            case "pathworkers" -> {
+                de.tum.cit.fop.maze.ai.PathRequestScheduler scheduler = de.tum.cit.fop.maze.ai.PathRequestScheduler.getShared();
+                try {
+                    if (parts.length >= 2) {
+                        int threads = Integer.parseInt(parts[1]);
+                        de.tum.cit.fop.maze.ai.PathService old = scheduler.getService();
+                        scheduler.setService(threads > 0 ? new de.tum.cit.fop.maze.ai.PathService(threads) : null);
+                        if (old != null) {
+                            old.dispose();
+                        }
+                    }
+                    de.tum.cit.fop.maze.ai.PathService service = scheduler.getService();
+                    appendLine(service == null ? "paths searched on the render thread"
+                        : "paths searched on " + service.getThreadCount() + " worker threads");
+                } catch (NumberFormatException ex) {
+                    appendLine("Invalid command.");
+                }
+            }
+            case "pathcache" -> {
+                de.tum.cit.fop.maze.ai.PathCache enemyCache = de.tum.cit.fop.maze.entity.obstacle.Enemy.getPathCache();
+                de.tum.cit.fop.maze.ai.PathCache bmwCache = de.tum.cit.fop.maze.entity.obstacle.BmwEnemy.getPathCache();
+                boolean reset = parts.length >= 2 && parts[1].equalsIgnoreCase("reset");
+                if (enemyCache != null && reset) {
+                    enemyCache.resetCounters();
+                }
+                if (bmwCache != null && reset) {
+                    bmwCache.resetCounters();
+                }
+                appendLine("enemy paths: " + (enemyCache == null ? "none" : enemyCache));
+                appendLine("bmw paths: " + (bmwCache == null ? "none" : bmwCache));
+            }
             case "whereami" -> appendLine("player at " + player.getX() + ", " + player.getY());
             default -> appendLine("Unknown command. Try: help");
         }
@@ -371,12 +408,12 @@ private void spawnEntity(String type, float x, float y) {
         }
         switch (type) {
             case "enemy" -> {
-                if (collisionLayer == null) {
-                    appendLine("Missing collision layer.");
+                if (walkabilityGrid == null) {
+                    appendLine("Missing walkability grid.");
                     return;
                 }
                 de.tum.cit.fop.maze.entity.obstacle.Enemy enemy =
-                        new de.tum.cit.fop.maze.entity.obstacle.Enemy(collisionLayer, x, y);
+                        new de.tum.cit.fop.maze.entity.obstacle.Enemy(walkabilityGrid, x, y);
                 player.getStage().addActor(enemy);
                 appendLine("spawned enemy at " + x + ", " + y);
             }
@@ -384,15 +421,18 @@ private void spawnEntity(String type, float x, float y) {
                 de.tum.cit.fop.maze.entity.obstacle.Trap trap =
                         new de.tum.cit.fop.maze.entity.obstacle.Trap(x, y);
                 player.getStage().addActor(trap);
+                if (walkabilityGrid != null) {
+                    walkabilityGrid.markTrap((int) x, (int) y);
+                }
                 appendLine("spawned trap at " + x + ", " + y);
             }
             case "bmwdriver", "bmw" -> {
-                if (roadLayer == null) {
-                    appendLine("Missing road layer.");
+                if (walkabilityGrid == null) {
+                    appendLine("Missing walkability grid.");
                     return;
                 }
                 de.tum.cit.fop.maze.entity.obstacle.BmwEnemy bmw =
-                        new de.tum.cit.fop.maze.entity.obstacle.BmwEnemy(roadLayer, x, y);
+                        new de.tum.cit.fop.maze.entity.obstacle.BmwEnemy(walkabilityGrid, x, y);
                 player.getStage().addActor(bmw);
                 appendLine("spawned bmwdriver at " + x + ", " + y);
             }
@@ -410,8 +450,8 @@ private void spawnBmws(int amount) {
             appendLine("No stage available.");
             return;
         }
-        if (roadLayer == null) {
-            appendLine("Missing road layer.");
+        if (walkabilityGrid == null) {
+            appendLine("Missing walkability grid.");
             return;
         }
         de.tum.cit.fop.maze.entity.obstacle.BmwEnemy.spawnRandomBmws(player, player.getStage(), amount);
@@ -428,11 +468,11 @@ private void spawnEnemies(int amount) {
             appendLine("No stage available.");
             return;
         }
-        if (collisionLayer == null) {
-            appendLine("Missing collision layer.");
+        if (walkabilityGrid == null) {
+            appendLine("Missing walkability grid.");
             return;
         }
-        de.tum.cit.fop.maze.entity.obstacle.Enemy.spawnRandomEnemies(player, player.getStage(), collisionLayer, amount);
+        de.tum.cit.fop.maze.entity.obstacle.Enemy.spawnRandomEnemies(player, player.getStage(), walkabilityGrid, amount);
         appendLine("spawned " + amount + " enemies");
     }
 }
@@ -0,0 +1,113 @@
+package de.tum.cit.fop.maze.system;
+
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import de.tum.cit.fop.maze.map.LevelLoader;
+
+/**
+ * Loads an upcoming level in the background, e.g. while a cutscene is showing,
+ * so the game screen can adopt it without waiting.
+ * <p>
+ * Holds at most one prefetched level. Asking for a different level drops the old one.
+ */
+public class LevelPrefetchService implements Disposable {
+    /** Executor running the CPU stage of the prefetch. */
+    private final AsyncExecutor executor;
+    /** Loader of the prefetched level, or {@code null} if nothing is prefetched. */
+    private LevelLoader prefetched;
+
+    /**
+     * Creates a prefetch service.
+     *
+     * @param executor executor running level loads
+     */
+    public LevelPrefetchService(AsyncExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts loading a level in the background. Does nothing if that level is already prefetched.
+     *
+     * @param propertiesPath path of the level properties file
+     * @param mapPath path of the TMX template
+     */
+    public void prefetch(String propertiesPath, String mapPath) {
+        if (matches(propertiesPath, mapPath)) {
+            return;
+        }
+        cancel();
+        prefetched = new LevelLoader(propertiesPath, mapPath);
+        prefetched.start(executor);
+    }
+
+    /**
+     * Uploads part of the prefetched level's textures. Must be called on the render thread.
+     *
+     * @param budgetMillis time budget for this call in milliseconds
+     */
+    public void update(long budgetMillis) {
+        if (prefetched == null) {
+            return;
+        }
+        try {
+            prefetched.update(budgetMillis);
+        } catch (RuntimeException ex) {
+            // The level will be loaded again when it is actually needed, which reports the error properly.
+            System.err.println("Prefetching " + prefetched.getPropertiesPath() + " failed: " + ex.getMessage());
+            cancel();
+        }
+    }
+
+    /**
+     * Hands over the prefetched level if it is the requested one.
+     * A prefetched level for anything else is dropped.
+     *
+     * @param propertiesPath path of the level properties file
+     * @param mapPath path of the TMX template
+     * @return the started loader for the level, or {@code null} if it was not prefetched
+     */
+    public LevelLoader take(String propertiesPath, String mapPath) {
+        if (!matches(propertiesPath, mapPath)) {
+            cancel();
+            return null;
+        }
+        LevelLoader loader = prefetched;
+        prefetched = null;
+        return loader;
+    }
+
+    /**
+     * Drops the prefetched level, if any.
+     */
+    public void cancel() {
+        if (prefetched != null) {
+            if (prefetched.getLevel() != null) {
+                // Finished but never taken, so nobody else owns the map.
+                prefetched.getLevel().getMap().dispose();
+            }
+            prefetched.dispose();
+            prefetched = null;
+        }
+    }
+
+    /**
+     * Drops the prefetched level.
+     */
+    @Override
+    public void dispose() {
+        cancel();
+    }
+
+    /**
+     * Checks whether the prefetched level is the given one.
+     *
+     * @param propertiesPath path of the level properties file
+     * @param mapPath path of the TMX template
+     * @return {@code true} if the prefetch matches
+     */
+    private boolean matches(String propertiesPath, String mapPath) {
+        return prefetched != null
+            && prefetched.getPropertiesPath().equals(propertiesPath)
+            && prefetched.getMapPath().equals(mapPath);
+    }
+}
@@ -0,0 +1,92 @@
+package de.tum.cit.fop.maze.system;
+
+/**
+ * Splits frame time into fixed simulation ticks.
+ * <p>
+ * Frame deltas are added to an accumulator and whole ticks are taken out of it, so game logic always steps
+ * by the same amount whatever the frame rate. A faster monitor draws more frames between ticks instead of
+ * running more of them. The time left over is exposed as {@link #getAlpha()} so positions can be drawn
+ * between the last two ticks. After a long stall at most {@link #MAX_TICKS_PER_FRAME} ticks are run and the
+ * rest is dropped, so a slow frame cannot snowball into ever slower ones.
+ */
+public class SimulationClock {
+    /** Default tick rate in ticks per second. */
+    public static final int DEFAULT_TICK_RATE = 60;
+    /** Largest number of ticks run for one frame. */
+    public static final int MAX_TICKS_PER_FRAME = 5;
+
+    /** Length of one tick in seconds. */
+    private final float step;
+    /** Frame time not yet consumed by a tick. */
+    private float accumulator = 0f;
+    /** Ticks run since the clock was created. */
+    private long tickCount = 0;
+
+    /**
+     * Creates a clock running at the default tick rate.
+     */
+    public SimulationClock() {
+        this(DEFAULT_TICK_RATE);
+    }
+
+    /**
+     * Creates a clock running at the given tick rate.
+     *
+     * @param tickRate ticks per second, at least 1
+     */
+    public SimulationClock(int tickRate) {
+        this.step = 1f / Math.max(1, tickRate);
+    }
+
+    /**
+     * Adds a frame's time and returns how many ticks to run for it.
+     *
+     * @param frameDelta frame delta time in seconds
+     * @return number of ticks, each {@link #getStep()} long
+     */
+    public int advance(float frameDelta) {
+        accumulator += Math.max(0f, frameDelta);
+        int ticks = (int) (accumulator / step);
+        if (ticks > MAX_TICKS_PER_FRAME) {
+            ticks = MAX_TICKS_PER_FRAME;
+            accumulator = step * ticks;
+        }
+        accumulator -= step * ticks;
+        tickCount += ticks;
+        return ticks;
+    }
+
+    /**
+     * Drops the time not yet consumed, e.g. after a pause.
+     */
+    public void reset() {
+        accumulator = 0f;
+    }
+
+    /**
+     * Returns the length of one tick.
+     *
+     * @return tick length in seconds
+     */
+    public float getStep() {
+        return step;
+    }
+
+    /**
+     * Returns how far the current frame lies between the last tick and the next one.
+     *
+     * @return share of a tick in {@code [0, 1)}
+     */
+    public float getAlpha() {
+        return Math.min(accumulator / step, 1f);
+    }
+
+    /**
+     * Returns the number of ticks run so far.
+     *
+     * @return tick count
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+}
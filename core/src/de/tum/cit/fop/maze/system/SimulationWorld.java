@@ -0,0 +1,341 @@
+package de.tum.cit.fop.maze.system;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.GridPoint2;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import de.tum.cit.fop.maze.ai.PathRequestScheduler;
+import de.tum.cit.fop.maze.entity.ActorRecycler;
+import de.tum.cit.fop.maze.entity.AgentSystem;
+import de.tum.cit.fop.maze.entity.CollisionSystem;
+import de.tum.cit.fop.maze.entity.Player;
+import de.tum.cit.fop.maze.entity.SpatialGrid;
+import de.tum.cit.fop.maze.entity.collectible.Collectible;
+import de.tum.cit.fop.maze.entity.collectible.DropOff;
+import de.tum.cit.fop.maze.entity.collectible.ExitDoor;
+import de.tum.cit.fop.maze.entity.collectible.Key;
+import de.tum.cit.fop.maze.entity.obstacle.BmwEnemy;
+import de.tum.cit.fop.maze.entity.obstacle.Enemy;
+import de.tum.cit.fop.maze.map.MapData;
+import de.tum.cit.fop.maze.map.MapLoader;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An endless game without rendering, for load tests and AI tuning.
+ * <p>
+ * The world loads only the level's map data, puts the player, the map's objects and the survival spawns
+ * on a stage that is never drawn, and advances it in fixed {@link SimulationClock} ticks as fast as the
+ * CPU allows. Sprites are loaded on the first draw, so no textures, framebuffers or shaders are created
+ * and no OpenGL context is needed; file access is still required, e.g. from a headless application. The
+ * player wanders in a random direction that changes every {@link #WANDER_INTERVAL_SECONDS}, deliveries
+ * and upgrades are not simulated, and achievement progress is suspended while the world exists.
+ * <p>
+ * Pathfinding, BMW roads and the path scheduler are shared with the game, so only one world may run at a
+ * time and never next to a game screen. Runs with the same seed play out the same way.
+ * <p>
+ * Nothing is drawn, so the time goes into game logic, mostly the police's chase field and route searches;
+ * expect a few game minutes per second on one core.
+ */
+public class SimulationWorld implements Disposable {
+    /** Width of the area the camera shows, in tiles. Spawns avoid it as they do in the game. */
+    private static final float VIEW_WIDTH = 13.5f;
+    /** Height of the area the camera shows, in tiles. */
+    private static final float VIEW_HEIGHT = 7.5f;
+    /** Seconds between changes of the player's wandering direction. */
+    private static final float WANDER_INTERVAL_SECONDS = 1f;
+
+    /** Walkability grid of the level. */
+    private final WalkabilityGrid walkabilityGrid;
+    /** Stage holding all actors, never drawn. */
+    private final Stage stage;
+    /** Simulated player. */
+    private final Player player;
+    /** Point manager for scoring. */
+    private final PointManager pointManager = new PointManager(0);
+    /** Moves police and BMWs along their paths after each tick. */
+    private final AgentSystem agentSystem = new AgentSystem();
+    /** Finds the map objects touching the player after each tick. */
+    private final CollisionSystem collisionSystem = new CollisionSystem();
+    /** Spawns police and BMWs. */
+    private final SurvivalSpawner spawner = new SurvivalSpawner();
+    /** Length of one tick. */
+    private final float step = new SimulationClock().getStep();
+    /** Active police. */
+    private final List<Enemy> enemies = new ArrayList<>();
+    /** Map collectibles. */
+    private final List<Collectible> collectibles = new ArrayList<>();
+    /** Camera view bounds, refreshed every tick. */
+    private final Rectangle cameraView = new Rectangle();
+    /** Ticks run so far. */
+    private long tickCount = 0;
+    /** Time until the player picks a new direction. */
+    private float wanderTimer = 0f;
+    /** Largest number of police on the stage at once. */
+    private int peakEnemies = 0;
+    /** Whether the player has died. */
+    private boolean gameOver = false;
+    /** Path scheduler budget of the game, restored on dispose. */
+    private final long savedBudgetMicros;
+
+    /**
+     * Creates a world on a level and spawns its objects.
+     *
+     * @param propertiesPath level properties path
+     * @param seed seed for all random decisions of the run
+     */
+    public SimulationWorld(String propertiesPath, long seed) {
+        MathUtils.random.setSeed(seed);
+        AchievementManager.setSuspended(true);
+        MapLoader mapLoader = new MapLoader();
+        MapData mapData = mapLoader.loadMapData(propertiesPath);
+        walkabilityGrid = WalkabilityGrid.fromMapData(mapData);
+        BmwEnemy.setWalkabilityGrid(walkabilityGrid);
+        // A time budget would make answers depend on CPU speed, so every request is served on its tick
+        PathRequestScheduler scheduler = PathRequestScheduler.getShared();
+        scheduler.clear();
+        savedBudgetMicros = scheduler.getBudgetMicros();
+        scheduler.setBudgetMicros(Long.MAX_VALUE / 1000L);
+
+        stage = new Stage(new HeadlessViewport(VIEW_WIDTH, VIEW_HEIGHT), createNoOpBatch());
+        SpatialGrid.forLevel(stage, walkabilityGrid);
+        GridPoint2 spawnPoint = mapLoader.findPlayerSpawn(mapData);
+        float spawnX = spawnPoint != null ? spawnPoint.x : 78f;
+        float spawnY = spawnPoint != null ? spawnPoint.y : 46f;
+        player = new Player(walkabilityGrid, spawnX, spawnY, () -> gameOver = true);
+        player.setWorldBounds(walkabilityGrid.getWidth(), walkabilityGrid.getHeight());
+        stage.addActor(player);
+
+        mapLoader.spawnEntities(stage, pointManager, walkabilityGrid, mapData, null, enemies, collectibles, null, null, false);
+        // Endless mode has no exit, and deliveries would save scores
+        collectibles.removeIf(collectible -> {
+            if (collectible instanceof ExitDoor || collectible instanceof Key || collectible instanceof DropOff) {
+                collectible.remove();
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Runs one tick, unless the player has died.
+     *
+     * @return {@code true} if the tick ran
+     */
+    public boolean tick() {
+        if (gameOver) {
+            return false;
+        }
+        wander();
+        updateCameraView();
+        spawner.update(step, player, stage, walkabilityGrid, enemies, cameraView);
+        PathRequestScheduler.getShared().update();
+        stage.act(step);
+        agentSystem.update(stage, step);
+        collisionSystem.update(stage);
+        pointManager.act(step);
+        ActorRecycler.flush();
+        peakEnemies = Math.max(peakEnemies, enemies.size());
+        tickCount++;
+        return true;
+    }
+
+    /**
+     * Runs ticks until the given game time has passed or the player died.
+     *
+     * @param seconds game time to simulate
+     * @return number of ticks run
+     */
+    public long run(float seconds) {
+        long ticks = (long) Math.ceil(seconds / step);
+        long ran = 0;
+        while (ran < ticks && tick()) {
+            ran++;
+        }
+        return ran;
+    }
+
+    /**
+     * Steers the player in a new random direction from time to time, standing still now and then.
+     */
+    private void wander() {
+        wanderTimer -= step;
+        if (wanderTimer > 0f) {
+            return;
+        }
+        wanderTimer = WANDER_INTERVAL_SECONDS;
+        int direction = MathUtils.random(8);
+        player.setMoveUp(direction == 0 || direction == 4 || direction == 5);
+        player.setMoveDown(direction == 1 || direction == 6 || direction == 7);
+        player.setMoveLeft(direction == 2 || direction == 4 || direction == 6);
+        player.setMoveRight(direction == 3 || direction == 5 || direction == 7);
+    }
+
+    /**
+     * Refreshes the camera view bounds from the camera following the player.
+     */
+    private void updateCameraView() {
+        Camera camera = stage.getCamera();
+        cameraView.set(camera.position.x - camera.viewportWidth / 2f, camera.position.y - camera.viewportHeight / 2f,
+            camera.viewportWidth, camera.viewportHeight);
+    }
+
+    /**
+     * Returns the simulated player.
+     *
+     * @return player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the stage holding the simulated actors.
+     *
+     * @return stage
+     */
+    public Stage getStage() {
+        return stage;
+    }
+
+    /**
+     * Returns the number of ticks run.
+     *
+     * @return tick count
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Returns the simulated game time.
+     *
+     * @return seconds
+     */
+    public float getSimulatedSeconds() {
+        return tickCount * step;
+    }
+
+    /**
+     * Returns the number of police on the stage.
+     *
+     * @return police count
+     */
+    public int getEnemyCount() {
+        return enemies.size();
+    }
+
+    /**
+     * Returns the largest number of police on the stage at once.
+     *
+     * @return peak police count
+     */
+    public int getPeakEnemyCount() {
+        return peakEnemies;
+    }
+
+    /**
+     * Returns the points scored.
+     *
+     * @return points
+     */
+    public int getPoints() {
+        return pointManager.getPoints();
+    }
+
+    /**
+     * Returns whether the player has died.
+     *
+     * @return {@code true} if the run is over
+     */
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    /**
+     * Removes all actors and restores the path budget and achievement progress.
+     */
+    @Override
+    public void dispose() {
+        PathRequestScheduler.getShared().clear();
+        PathRequestScheduler.getShared().setBudgetMicros(savedBudgetMicros);
+        stage.dispose();
+        AchievementManager.setSuspended(false);
+    }
+
+    /**
+     * Creates a batch that ignores every call. The stage needs one, but the world is never drawn.
+     *
+     * @return no-op batch
+     */
+    private static Batch createNoOpBatch() {
+        return (Batch) Proxy.newProxyInstance(Batch.class.getClassLoader(), new Class<?>[]{Batch.class}, (proxy, method, args) -> {
+            Class<?> type = method.getReturnType();
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            } else if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            } else if (method.getName().equals("toString")) {
+                return "NoOpBatch";
+            } else if (type == boolean.class) {
+                return false;
+            } else if (type == int.class) {
+                return 0;
+            } else if (type == float.class) {
+                return 0f;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Viewport of a fixed size that never touches OpenGL.
+     */
+    private static final class HeadlessViewport extends Viewport {
+        /**
+         * Creates a viewport showing the given area.
+         *
+         * @param worldWidth view width in tiles
+         * @param worldHeight view height in tiles
+         */
+        HeadlessViewport(float worldWidth, float worldHeight) {
+            setWorldSize(worldWidth, worldHeight);
+            setCamera(new OrthographicCamera());
+        }
+
+        /**
+         * Keeps the world size whatever the screen size.
+         *
+         * @param screenWidth ignored
+         * @param screenHeight ignored
+         * @param centerCamera whether to center the camera on the view
+         */
+        @Override
+        public void update(int screenWidth, int screenHeight, boolean centerCamera) {
+            apply(centerCamera);
+        }
+
+        /**
+         * Updates the camera without setting a GL viewport.
+         *
+         * @param centerCamera whether to center the camera on the view
+         */
+        @Override
+        public void apply(boolean centerCamera) {
+            Camera camera = getCamera();
+            camera.viewportWidth = getWorldWidth();
+            camera.viewportHeight = getWorldHeight();
+            if (centerCamera) {
+                camera.position.set(getWorldWidth() / 2f, getWorldHeight() / 2f, 0);
+            }
+            camera.update();
+        }
+    }
+}
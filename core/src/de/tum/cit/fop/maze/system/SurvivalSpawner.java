@@ -0,0 +1,78 @@
+package de.tum.cit.fop.maze.system;
+
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import de.tum.cit.fop.maze.entity.Player;
+import de.tum.cit.fop.maze.entity.obstacle.BmwEnemy;
+import de.tum.cit.fop.maze.entity.obstacle.Enemy;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.List;
+
+/**
+ * Spawns the police and BMWs that keep up the pressure in endless mode.
+ * <p>
+ * Police arrive at a rate that grows with every simulation tick, up to {@link #MAX_POLICEMEN} at once, and a
+ * BMW joins every {@link #BMW_SPAWN_INTERVAL_SECONDS}. Nothing spawns inside the camera view. Shared by the
+ * survival screen and the headless {@link SimulationWorld}, so both play by the same rules.
+ */
+public class SurvivalSpawner {
+    /**
+     * BMW spawn interval seconds.
+     */
+    public static final float BMW_SPAWN_INTERVAL_SECONDS = 8f;
+    /**
+     * Hard cap for policemen in endless mode, so that there is always a chance to beat the game and so that the game doesnt lag out
+     */
+    public static final int MAX_POLICEMEN = 20;
+
+    /**
+     * Spawn timing counter.
+     */
+    private int delta = 0;
+    /**
+     * Spawn timing multiplier.
+     */
+    private float adder = 1;
+    /**
+     * BMW spawn timer accumulator.
+     */
+    private float bmwSpawnTimer = 0f;
+
+    /**
+     * Advances the spawners by one simulation tick.
+     *
+     * @param step tick length in seconds
+     * @param player player to keep spawns away from
+     * @param stage stage to spawn on
+     * @param walkabilityGrid walkability grid of the level
+     * @param enemies police on the stage, extended with new ones; police that left the stage are freed
+     * @param cameraView camera view bounds to avoid, or {@code null}
+     */
+    public void update(float step, Player player, Stage stage, WalkabilityGrid walkabilityGrid, List<Enemy> enemies, Rectangle cameraView) {
+        adder *= 1.0003;
+        delta += adder;
+
+        // Police that left the stage go back to the pool for the next spawns
+        for (int i = enemies.size() - 1; i >= 0; i--) {
+            Enemy enemy = enemies.get(i);
+            if (enemy.getStage() == null) {
+                enemies.remove(i);
+                Enemy.free(enemy);
+            }
+        }
+        while (delta >= 80) {
+            delta = -80;
+            int remainingSlots = MAX_POLICEMEN - enemies.size();
+            if (remainingSlots <= 0) {
+                break;
+            }
+            Enemy.spawnRandomEnemies(player, stage, walkabilityGrid, Math.min(1, remainingSlots), cameraView, enemies);
+        }
+
+        bmwSpawnTimer += step;
+        if (bmwSpawnTimer >= BMW_SPAWN_INTERVAL_SECONDS) {
+            bmwSpawnTimer = 0f;
+            BmwEnemy.spawnRandomBmws(player, stage, 1, cameraView);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package de.tum.cit.fop.maze;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import de.tum.cit.fop.maze.map.LevelLoader;
+import de.tum.cit.fop.maze.system.SimulationWorld;
+
+/**
+ * Runs endless games without a window, for load tests and AI tuning.
+ * <p>
+ * Usage: {@code HeadlessSimulationLauncher [minutes] [seed] [level]}. Runs games on the level until the
+ * given game time has been simulated, starting a new one with the next seed whenever the player dies, and
+ * prints how fast the simulation ran.
+ */
+public class HeadlessSimulationLauncher {
+    /**
+     * Parses the arguments and starts a headless application running the simulation.
+     *
+     * @param args game minutes to simulate, first seed and level number (endless mode uses 0), all optional
+     */
+    public static void main(String[] args) {
+        float minutes = args.length > 0 ? Float.parseFloat(args[0]) : 60f;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 1L;
+        int level = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        // The simulation runs inside create(), so the loop never needs to render
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                simulate(minutes, seed, level);
+                Gdx.app.exit();
+            }
+        }, config);
+    }
+
+    /**
+     * Simulates games until the given game time has passed and prints the results.
+     *
+     * @param minutes game minutes to simulate
+     * @param seed seed of the first game
+     * @param level level number
+     */
+    private static void simulate(float minutes, long seed, int level) {
+        String propertiesPath = LevelLoader.propertiesPathFor(level);
+        float remainingSeconds = minutes * 60f;
+        long totalTicks = 0;
+        int games = 0;
+        long start = System.nanoTime();
+        while (remainingSeconds > 0f) {
+            SimulationWorld world = new SimulationWorld(propertiesPath, seed + games);
+            world.run(remainingSeconds);
+            remainingSeconds -= world.getSimulatedSeconds();
+            totalTicks += world.getTickCount();
+            games++;
+            System.out.printf("Game %d (seed %d): %.1f min, %s, peak police %d, %d points%n",
+                games, seed + games - 1, world.getSimulatedSeconds() / 60f,
+                world.isGameOver() ? "caught" : "survived", world.getPeakEnemyCount(), world.getPoints());
+            world.dispose();
+        }
+        float elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000f;
+        System.out.printf("Simulated %.1f min in %d ticks over %d games in %.2f s (%.1f game minutes per second)%n",
+            minutes, totalTicks, games, elapsedSeconds, minutes / Math.max(elapsedSeconds, 1e-6f));
+    }
+}
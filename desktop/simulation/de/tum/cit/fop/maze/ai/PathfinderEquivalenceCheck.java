@@ -0,0 +1,216 @@
+package de.tum.cit.fop.maze.ai;
+
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+import com.badlogic.gdx.files.FileHandle;
+import de.tum.cit.fop.maze.map.MapData;
+import de.tum.cit.fop.maze.map.MapLoader;
+import de.tum.cit.fop.maze.map.WalkabilityGrid;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that Jump Point Search and plain A* agree on every map in {@code maps/}.
+ * <p>
+ * For random start and goal tiles, both modes must produce paths of the same length that end at the same
+ * tile, and every JPS path must be a chain of adjacent walkable tiles. Road pathfinding is checked the
+ * same way on road tiles. A dev tool like the headless simulation, run with {@code gradle pathcheck}.
+ * <p>
+ * Usage: {@code PathfinderEquivalenceCheck [queries]}. Exits with status 1 if any query disagreed.
+ */
+public final class PathfinderEquivalenceCheck {
+    /** Directory holding the level files. */
+    private static final String MAPS_DIRECTORY = "maps";
+    /** Fixed seed, so a failing query can be reproduced. */
+    private static final long SEED = 20240117L;
+
+    /**
+     * Not instantiable.
+     */
+    private PathfinderEquivalenceCheck() {
+    }
+
+    /**
+     * Parses the arguments and runs the check inside a headless application, which provides the file
+     * access the map loader needs.
+     *
+     * @param args number of random queries per map and pathfinder, optional
+     */
+    public static void main(String[] args) {
+        int queries = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+
+        HeadlessApplicationConfiguration config = new HeadlessApplicationConfiguration();
+        // The check runs inside create(), so the loop never needs to render
+        config.updatesPerSecond = -1;
+        new HeadlessApplication(new ApplicationAdapter() {
+            @Override
+            public void create() {
+                List<String> report = run(queries);
+                report.forEach(System.out::println);
+                if (!report.get(report.size() - 1).startsWith("pathcheck passed")) {
+                    System.exit(1);
+                }
+                Gdx.app.exit();
+            }
+        }, config);
+    }
+
+    /**
+     * Runs the check on all maps.
+     *
+     * @param queriesPerMap number of random queries per map and pathfinder
+     * @return one report line per map plus a summary line
+     */
+    public static List<String> run(int queriesPerMap) {
+        List<String> report = new ArrayList<>();
+        FileHandle[] files = Gdx.files.local(MAPS_DIRECTORY).list(".properties");
+        Arrays.sort(files, Comparator.comparing(FileHandle::name));
+        MapLoader mapLoader = new MapLoader();
+        Random random = new Random(SEED);
+        int totalMismatches = 0;
+        for (FileHandle file : files) {
+            MapData mapData = mapLoader.loadMapData(MAPS_DIRECTORY + "/" + file.name());
+            WalkabilityGrid walkabilityGrid = WalkabilityGrid.fromMapData(mapData);
+            Result walk = compare(new Pathfinder(walkabilityGrid), walkabilityGrid, false, queriesPerMap, random);
+            Result road = compare(new RoadPathfinder(walkabilityGrid), walkabilityGrid, true, queriesPerMap, random);
+            totalMismatches += walk.mismatches + road.mismatches;
+            report.add(String.format("%s: walk %d/%d ok (A* %.2f ms, JPS %.2f ms), road %d/%d ok",
+                file.nameWithoutExtension(),
+                walk.queries - walk.mismatches, walk.queries, walk.averageMillis(walk.astarNanos), walk.averageMillis(walk.jumpNanos),
+                road.queries - road.mismatches, road.queries));
+        }
+        report.add(totalMismatches == 0
+            ? "pathcheck passed on " + files.length + " maps"
+            : "pathcheck FAILED: " + totalMismatches + " mismatches");
+        return report;
+    }
+
+    /**
+     * Compares both search modes of one pathfinder on random queries.
+     *
+     * @param pathfinder pathfinder to check
+     * @param walkabilityGrid grid the pathfinder runs on
+     * @param road whether queries should start and end on road tiles
+     * @param queries number of queries
+     * @param random random source
+     * @return comparison result
+     */
+    private static Result compare(Pathfinder pathfinder, WalkabilityGrid walkabilityGrid, boolean road,
+                                  int queries, Random random) {
+        Result result = new Result();
+        PathBuffer astarPath = new PathBuffer();
+        PathBuffer jumpPath = new PathBuffer();
+        for (int i = 0; i < queries; i++) {
+            int startCell = randomTile(walkabilityGrid, road, random);
+            int goalCell = randomTile(walkabilityGrid, road, random);
+            if (startCell < 0 || goalCell < 0) {
+                break;
+            }
+            int width = walkabilityGrid.getWidth();
+            int startX = startCell % width;
+            int startY = startCell / width;
+            int goalX = goalCell % width;
+            int goalY = goalCell / width;
+
+            long before = System.nanoTime();
+            pathfinder.findPath(startX, startY, goalX, goalY, astarPath, SearchMode.ASTAR);
+            long between = System.nanoTime();
+            pathfinder.findPath(startX, startY, goalX, goalY, jumpPath, SearchMode.JUMP_POINT);
+            result.astarNanos += between - before;
+            result.jumpNanos += System.nanoTime() - between;
+            result.queries++;
+            if (!matches(astarPath, jumpPath, startX, startY, walkabilityGrid, road)) {
+                result.mismatches++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks that a JPS path agrees with the A* path and is a valid walk.
+     *
+     * @param astarPath reference path
+     * @param jumpPath path to check
+     * @param startX start tile x
+     * @param startY start tile y
+     * @param walkabilityGrid grid the paths run on
+     * @param road whether the path must stay on road tiles
+     * @return {@code true} if the paths agree
+     */
+    private static boolean matches(PathBuffer astarPath, PathBuffer jumpPath, int startX, int startY,
+                                   WalkabilityGrid walkabilityGrid, boolean road) {
+        if (astarPath.size() != jumpPath.size()) {
+            return false;
+        }
+        if (jumpPath.isEmpty()) {
+            return true;
+        }
+        int last = jumpPath.size() - 1;
+        if (astarPath.getCell(last) != jumpPath.getCell(last)) {
+            return false;
+        }
+        int x = startX;
+        int y = startY;
+        for (int i = 0; i < jumpPath.size(); i++) {
+            int nx = jumpPath.getX(i);
+            int ny = jumpPath.getY(i);
+            boolean passable = road ? walkabilityGrid.isRoad(nx, ny) : walkabilityGrid.isWalkable(nx, ny);
+            if (!passable || Math.abs(nx - x) + Math.abs(ny - y) != 1) {
+                return false;
+            }
+            x = nx;
+            y = ny;
+        }
+        return true;
+    }
+
+    /**
+     * Picks a random walkable or road tile.
+     *
+     * @param walkabilityGrid grid to pick from
+     * @param road whether to pick a road tile
+     * @param random random source
+     * @return cell index, or -1 if none was found
+     */
+    private static int randomTile(WalkabilityGrid walkabilityGrid, boolean road, Random random) {
+        int width = walkabilityGrid.getWidth();
+        int height = walkabilityGrid.getHeight();
+        for (int attempt = 0; attempt < 10000; attempt++) {
+            int x = random.nextInt(width);
+            int y = random.nextInt(height);
+            if (road ? walkabilityGrid.isRoad(x, y) : walkabilityGrid.isWalkable(x, y)) {
+                return y * width + x;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Outcome of comparing one pathfinder on one map.
+     */
+    private static final class Result {
+        /** Number of queries run. */
+        private int queries;
+        /** Number of queries where the modes disagreed. */
+        private int mismatches;
+        /** Total time spent in A*. */
+        private long astarNanos;
+        /** Total time spent in JPS. */
+        private long jumpNanos;
+
+        /**
+         * Returns the average time per query.
+         *
+         * @param nanos total time in nanoseconds
+         * @return average milliseconds per query
+         */
+        private double averageMillis(long nanos) {
+            return queries == 0 ? 0 : nanos / 1e6 / queries;
+        }
+    }
+}